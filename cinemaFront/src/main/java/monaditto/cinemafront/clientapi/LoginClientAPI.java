@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import monaditto.cinemafront.config.BackendConfig;
 import monaditto.cinemafront.controller.DTO.AuthResponse;
 import monaditto.cinemafront.controller.DTO.LoginRequest;
+import monaditto.cinemafront.controller.DTO.RefreshRequest;
 import monaditto.cinemafront.databaseMapping.RoleDto;
 import monaditto.cinemafront.request.RequestBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -54,6 +55,30 @@ public class LoginClientAPI {
         return sendLoginRequest(request);
     }
 
+    public CompletableFuture<AuthResponse> refresh(String refreshToken) {
+        String requestBody;
+
+        try {
+            requestBody = objectMapper.writeValueAsString(new RefreshRequest(refreshToken));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+        HttpRequest request =
+                RequestBuilder.buildRequestPOST(backendConfig.getBaseUrl() + "/api/auth/refresh", requestBody);
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new RuntimeException("Failed to refresh the access token: " + response.body());
+                    }
+                    try {
+                        return objectMapper.readValue(response.body(), AuthResponse.class);
+                    } catch (JsonProcessingException e) {
+                        throw new RuntimeException("Error parsing refreshed tokens: " + e.getMessage(), e);
+                    }
+                });
+    }
+
     private CompletableFuture<HttpResponse<String>> sendLoginRequest(HttpRequest request){
         return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
     }
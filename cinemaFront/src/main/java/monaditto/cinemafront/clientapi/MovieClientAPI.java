@@ -9,6 +9,8 @@ import monaditto.cinemafront.databaseMapping.CategoryDto;
 import monaditto.cinemafront.databaseMapping.MovieDto;
 import monaditto.cinemafront.databaseMapping.MovieWithAverageRatingDto;
 import monaditto.cinemafront.databaseMapping.MovieWithCategoriesDto;
+import monaditto.cinemafront.databaseMapping.SimilarMovieDto;
+import monaditto.cinemafront.databaseMapping.TrendingMovieDto;
 import monaditto.cinemafront.request.RequestBuilder;
 import monaditto.cinemafront.response.ResponseResult;
 import org.springframework.stereotype.Component;
@@ -39,6 +41,10 @@ public class MovieClientAPI {
 
     private String topRatedUrl;
 
+    private String similarUrl;
+
+    private String trendingUrl;
+
     private String searchUrl;
 
     private String baseUrl;
@@ -71,6 +77,8 @@ public class MovieClientAPI {
         searchUrl = endpointUrl + "/search";
         recommendedUrl = endpointUrl + "/recommended";
         topRatedUrl = endpointUrl + "/top-rated";
+        similarUrl = endpointUrl + "/similar";
+        trendingUrl = endpointUrl + "/trending";
     }
 
     public CompletableFuture<ResponseResult> createMovie(MovieDto movieDto, List<CategoryDto> categories) {
@@ -157,6 +165,25 @@ public class MovieClientAPI {
                 });
     }
 
+    public CompletableFuture<List<MovieDto>> loadTrendingMovies() {
+        HttpRequest request = RequestBuilder.buildRequestGET(trendingUrl);
+
+        return sendLoadTrendingMoviesRequest(request);
+    }
+
+    private CompletableFuture<List<MovieDto>> sendLoadTrendingMoviesRequest(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(HttpResponse::body)
+                .thenApply(this::parseTrendingMovieList)
+                .thenApply(trendingMovies -> trendingMovies.stream()
+                        .map(TrendingMovieDto::movieDto)
+                        .toList())
+                .exceptionally(e -> {
+                    System.err.println("Error loading the movies: " + e.getMessage());
+                    return new ArrayList<>();
+                });
+    }
+
     public CompletableFuture<List<MovieWithAverageRatingDto>> loadTopRatedMovies() {
         HttpRequest request = RequestBuilder.buildRequestGET(topRatedUrl);
 
@@ -173,6 +200,22 @@ public class MovieClientAPI {
                 });
     }
 
+    public CompletableFuture<List<SimilarMovieDto>> loadSimilarMovies(Long movieId) {
+        HttpRequest request = RequestBuilder.buildRequestGET(similarUrl + "/" + movieId);
+
+        return sendLoadSimilarMoviesRequest(request);
+    }
+
+    private CompletableFuture<List<SimilarMovieDto>> sendLoadSimilarMoviesRequest(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(HttpResponse::body)
+                .thenApply(this::parseSimilarMovieList)
+                .exceptionally(e -> {
+                    System.err.println("Error loading similar movies: " + e.getMessage());
+                    return new ArrayList<>();
+                });
+    }
+
     public CompletableFuture<List<MovieDto>> loadMovies() {
         HttpRequest request = RequestBuilder.buildRequestGET(endpointUrl);
 
@@ -221,6 +264,22 @@ public class MovieClientAPI {
         }
     }
 
+    private List<TrendingMovieDto> parseTrendingMovieList(String responseBody) {
+        try {
+            return objectMapper.readValue(responseBody, new TypeReference<>() {});
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error parsing trending movie list: " + e.getMessage(), e);
+        }
+    }
+
+    private List<SimilarMovieDto> parseSimilarMovieList(String responseBody) {
+        try {
+            return objectMapper.readValue(responseBody, new TypeReference<>() {});
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error parsing similar movie list: " + e.getMessage(), e);
+        }
+    }
+
     private String serializeWrapperDto(MovieWithCategoriesDto wrapperDto) {
         try {
             return objectMapper.writeValueAsString(wrapperDto);
@@ -1,18 +1,22 @@
 package monaditto.cinemafront.clientapi;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import monaditto.cinemafront.config.BackendConfig;
-import monaditto.cinemafront.controller.admin.StatsPanel;
-import monaditto.cinemafront.databaseMapping.CategoryDto;
-import monaditto.cinemafront.databaseMapping.MovieWithEarningsDto;
-import monaditto.cinemafront.databaseMapping.PeriodType;
+import monaditto.cinemafront.databaseMapping.CohortRetentionDto;
+import monaditto.cinemafront.databaseMapping.OccupancyHeatmapDto;
+import monaditto.cinemafront.databaseMapping.StatisticsDashboardDto;
 import monaditto.cinemafront.request.RequestBuilder;
 import org.springframework.stereotype.Component;
 
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 public class StatsClientAPI {
@@ -25,75 +29,64 @@ public class StatsClientAPI {
 
     private final BackendConfig backendConfig;
 
-    private static final String REVENUE_ENDPOINT = "revenue/";
-    private static final String MOVIE_ENDPOINT = "most-popular-movie/";
-    private static final String CATEGORY_ENDPOINT = "most-popular-category/";
-    private static final String ATTENDANCE_ENDPOINT = "average-attendance/";
+    private static final String DASHBOARD_ENDPOINT = "dashboard";
+    private static final String OCCUPANCY_ENDPOINT = "occupancy";
+    private static final String COHORTS_ENDPOINT = "cohorts";
 
     public StatsClientAPI(HttpClient client, BackendConfig backendConfig) {
         this.httpClient = client;
         this.backendConfig = backendConfig;
-        objectMapper = new ObjectMapper();
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
         endpointUrl = backendConfig.getBaseUrl() + "/api/statistics/";
     }
 
-    public double getRevenueForPeriod(PeriodType periodType) {
-        HttpRequest request = RequestBuilder.buildRequestGET(endpointUrl + REVENUE_ENDPOINT + periodType);
+    public CompletableFuture<StatisticsDashboardDto> getDashboard() {
+        HttpRequest request = RequestBuilder.buildRequestGET(endpointUrl + DASHBOARD_ENDPOINT);
 
         return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
                 .thenApply(response -> {
-                    if (response.statusCode() == 200) {
-                        return Double.parseDouble(response.body());
-                    } else {
-                        throw new RuntimeException("Failed to fetch revenue: " + response.body());
+                    if (response.statusCode() != 200) {
+                        throw new RuntimeException("Failed to fetch statistics dashboard: " + response.body());
                     }
-                }).join();
+                    try {
+                        return objectMapper.readValue(response.body(), StatisticsDashboardDto.class);
+                    } catch (JsonProcessingException e) {
+                        throw new RuntimeException("Error parsing statistics dashboard: " + e.getMessage(), e);
+                    }
+                });
     }
 
-    public MovieWithEarningsDto getMostPopularMovieForPeriod(PeriodType periodType) {
-        HttpRequest request = RequestBuilder.buildRequestGET(endpointUrl + MOVIE_ENDPOINT + periodType.name());
+    public CompletableFuture<OccupancyHeatmapDto> getOccupancyHeatmap(LocalDate from, LocalDate to, int slotHours) {
+        String url = endpointUrl + OCCUPANCY_ENDPOINT + "?from=" + from + "&to=" + to + "&slotHours=" + slotHours;
+        HttpRequest request = RequestBuilder.buildRequestGET(url);
+
         return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
                 .thenApply(response -> {
-                    if (response.body() == null || response.body().isEmpty()) {
-                        return new MovieWithEarningsDto(0L, "Nie ma popularnego filmu", 0.0);
+                    if (response.statusCode() != 200) {
+                        throw new RuntimeException("Failed to fetch room occupancy: " + response.body());
                     }
                     try {
-                        return objectMapper.readValue(response.body(), MovieWithEarningsDto.class);
+                        return objectMapper.readValue(response.body(), OccupancyHeatmapDto.class);
                     } catch (JsonProcessingException e) {
-                        throw new RuntimeException("Error parsing movie data: " + periodType + " " + e.getMessage(), e);
+                        throw new RuntimeException("Error parsing room occupancy: " + e.getMessage(), e);
                     }
-                })
-                .join();
+                });
     }
 
-    public CategoryDto getMostPopularCategoryForPeriod(PeriodType periodType) {
-        HttpRequest request = RequestBuilder.buildRequestGET(endpointUrl + CATEGORY_ENDPOINT + periodType);
-        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                .thenApply(response -> {
-                    if (response.statusCode() == 200) {
-                        if (response.body() == null || response.body().isEmpty()) {
-                            return new CategoryDto(0L, "Nie ma popularnej opinii");
-                        }
-                        try {
-                            return objectMapper.readValue(response.body(), CategoryDto.class);
-                        } catch (JsonProcessingException e) {
-                            throw new RuntimeException("Error parsing category data: " + e.getMessage(), e);
-                        }
-                    } else {
-                        throw new RuntimeException("Failed to fetch popular category: " + response.body());
-                    }
-                }).join();
-    }
+    public CompletableFuture<List<CohortRetentionDto>> getCohortRetention(int cohorts, int months) {
+        String url = endpointUrl + COHORTS_ENDPOINT + "?cohorts=" + cohorts + "&months=" + months;
+        HttpRequest request = RequestBuilder.buildRequestGET(url);
 
-    public double getAverageAttendanceForPeriod(PeriodType periodType) {
-        HttpRequest request = RequestBuilder.buildRequestGET(endpointUrl + ATTENDANCE_ENDPOINT + periodType);
         return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
                 .thenApply(response -> {
-                    if (response.statusCode() == 200) {
-                        return Double.parseDouble(response.body());
-                    } else {
-                        throw new RuntimeException("Failed to fetch average attendance: " + response.body());
+                    if (response.statusCode() != 200) {
+                        throw new RuntimeException("Failed to fetch cohort retention: " + response.body());
+                    }
+                    try {
+                        return objectMapper.readValue(response.body(), new TypeReference<List<CohortRetentionDto>>() {});
+                    } catch (JsonProcessingException e) {
+                        throw new RuntimeException("Error parsing cohort retention: " + e.getMessage(), e);
                     }
-                }).join();
+                });
     }
 }
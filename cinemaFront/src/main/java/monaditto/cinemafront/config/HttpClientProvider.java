@@ -3,8 +3,6 @@ package monaditto.cinemafront.config;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.net.CookieManager;
-import java.net.CookiePolicy;
 import java.net.http.HttpClient;
 
 @Configuration
@@ -12,11 +10,7 @@ public class HttpClientProvider {
 
     @Bean
     public HttpClient httpClient(){
-        CookieManager cookieManager = new CookieManager();
-        cookieManager.setCookiePolicy(CookiePolicy.ACCEPT_ALL);
-
         return HttpClient.newBuilder()
-                .cookieHandler(cookieManager)
                 .build();
     }
 }
@@ -3,4 +3,4 @@ package monaditto.cinemafront.controller.DTO;
 import monaditto.cinemafront.databaseMapping.RoleDto;
 import java.util.List;
 
-public record AuthResponse(Long userID, String token, List<RoleDto> roles) {}
+public record AuthResponse(Long userID, String token, String refreshToken, long expiresIn, List<RoleDto> roles) {}
@@ -0,0 +1,3 @@
+package monaditto.cinemafront.controller.DTO;
+
+public record RefreshRequest(String refreshToken) {}
@@ -33,7 +33,8 @@ public enum FXMLResourceEnum {
     CASHIER_BUY_TICKETS,
     RATE_PANEL,
     USER_OPINIONS,
-    STATS_PANEL;
+    STATS_PANEL,
+    OCCUPANCY_PANEL;
 
     public Resource getResource() {
         String resourceUrl = switch(this) {
@@ -67,6 +68,7 @@ public enum FXMLResourceEnum {
             case RATE_PANEL -> "fxml/user/UserRatePanel.fxml";
             case USER_OPINIONS -> "fxml/user/UserOpinions.fxml";
             case STATS_PANEL -> "fxml/admin/StatsPanel.fxml";
+            case OCCUPANCY_PANEL -> "fxml/admin/OccupancyPanel.fxml";
         };
 
         return new ClassPathResource(resourceUrl);
@@ -15,6 +15,7 @@ import monaditto.cinemafront.StageInitializer;
 import monaditto.cinemafront.clientapi.LoginClientAPI;
 import monaditto.cinemafront.controller.handler.LoginHandler;
 import monaditto.cinemafront.session.SessionContext;
+import monaditto.cinemafront.session.TokenRefresher;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 
@@ -48,16 +49,20 @@ public class LoginController {
     private final SessionContext sessionContext;
 
     private final LoginClientAPI loginClientAPI;
+
+    private final TokenRefresher tokenRefresher;
     @Autowired
-    public LoginController(StageInitializer stageInitializer, LoginClientAPI loginClientAPI, SessionContext sessionContext) {
+    public LoginController(StageInitializer stageInitializer, LoginClientAPI loginClientAPI, SessionContext sessionContext,
+                           TokenRefresher tokenRefresher) {
         this.stageInitializer = stageInitializer;
         this.loginClientAPI = loginClientAPI;
         this.sessionContext = sessionContext;
+        this.tokenRefresher = tokenRefresher;
     }
 
     @FXML
     private void login(ActionEvent event) {
-        LoginHandler loginHandler = new LoginHandler(loginClientAPI, objectMapper, stageInitializer, lblLogin, sessionContext);
+        LoginHandler loginHandler = new LoginHandler(loginClientAPI, objectMapper, stageInitializer, lblLogin, sessionContext, tokenRefresher);
         loginHandler.handleLogin(getEmail(),getPassword());
     }
 
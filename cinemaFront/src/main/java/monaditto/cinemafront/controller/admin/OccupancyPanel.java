@@ -0,0 +1,137 @@
+package monaditto.cinemafront.controller.admin;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.geometry.Pos;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.Label;
+import javafx.scene.control.Tooltip;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.VBox;
+import monaditto.cinemafront.StageInitializer;
+import monaditto.cinemafront.clientapi.StatsClientAPI;
+import monaditto.cinemafront.controller.FXMLResourceEnum;
+import monaditto.cinemafront.databaseMapping.OccupancyHeatmapDto;
+import monaditto.cinemafront.databaseMapping.RoomOccupancyDto;
+import org.springframework.stereotype.Controller;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+@Controller
+public class OccupancyPanel {
+
+    private static final String[] WEEKDAYS = {"Pon", "Wt", "Śr", "Czw", "Pt", "Sob", "Nd"};
+
+    private final StageInitializer stageInitializer;
+
+    private final StatsClientAPI statsClientAPI;
+
+    @FXML
+    private DatePicker fromDatePicker;
+    @FXML
+    private DatePicker toDatePicker;
+    @FXML
+    private ComboBox<Integer> slotHoursComboBox;
+    @FXML
+    private Label statusLabel;
+    @FXML
+    private VBox heatmapsBox;
+
+    public OccupancyPanel(StatsClientAPI statsClientAPI, StageInitializer stageInitializer) {
+        this.statsClientAPI = statsClientAPI;
+        this.stageInitializer = stageInitializer;
+    }
+
+    @FXML
+    public void initialize() {
+        fromDatePicker.setValue(LocalDate.now().minusMonths(1));
+        toDatePicker.setValue(LocalDate.now());
+        slotHoursComboBox.setItems(FXCollections.observableArrayList(1, 2, 3, 4, 6));
+        slotHoursComboBox.setValue(2);
+        loadHeatmap();
+    }
+
+    @FXML
+    private void handleShow(ActionEvent event) {
+        loadHeatmap();
+    }
+
+    private void loadHeatmap() {
+        LocalDate from = fromDatePicker.getValue();
+        LocalDate to = toDatePicker.getValue();
+        if (from == null || to == null || from.isAfter(to)) {
+            statusLabel.setText("Niepoprawny zakres dat");
+            return;
+        }
+
+        statusLabel.setText("Ładowanie...");
+        statsClientAPI.getOccupancyHeatmap(from, to, slotHoursComboBox.getValue())
+                .thenAccept(heatmap -> Platform.runLater(() -> showHeatmap(heatmap)))
+                .exceptionally(e -> {
+                    Platform.runLater(() -> statusLabel.setText("Nie udało się pobrać obłożenia sal"));
+                    return null;
+                });
+    }
+
+    private void showHeatmap(OccupancyHeatmapDto heatmap) {
+        heatmapsBox.getChildren().clear();
+        statusLabel.setText(heatmap.rooms().isEmpty() ? "Brak seansów w wybranym okresie" : "");
+
+        for (RoomOccupancyDto room : heatmap.rooms()) {
+            Label roomLabel = new Label(room.roomName());
+            roomLabel.setStyle("-fx-font-size: 18px; -fx-font-weight: bold;");
+            heatmapsBox.getChildren().addAll(roomLabel, createRoomGrid(room, heatmap.slotHours()));
+        }
+    }
+
+    private GridPane createRoomGrid(RoomOccupancyDto room, int slotHours) {
+        GridPane grid = new GridPane();
+        grid.setHgap(2);
+        grid.setVgap(2);
+
+        int slots = 24 / slotHours;
+        for (int slot = 0; slot < slots; slot++) {
+            Label header = new Label(String.format("%02d", slot * slotHours));
+            header.setMinWidth(40);
+            header.setAlignment(Pos.CENTER);
+            grid.add(header, slot + 1, 0);
+        }
+
+        for (int day = 0; day < 7; day++) {
+            grid.add(new Label(WEEKDAYS[day]), 0, day + 1);
+            for (int slot = 0; slot < slots; slot++) {
+                grid.add(createCell(room.utilization()[day][slot], room.screenings()[day][slot]), slot + 1, day + 1);
+            }
+        }
+        return grid;
+    }
+
+    private Label createCell(Double utilization, int screenings) {
+        Label cell = new Label(utilization == null ? "" : String.format("%.0f%%", utilization * 100));
+        cell.setMinSize(40, 24);
+        cell.setAlignment(Pos.CENTER);
+
+        if (utilization == null) {
+            cell.setStyle("-fx-background-color: #e0e0e0;");
+        } else {
+            double value = Math.min(1, utilization);
+            int red = (int) (220 * (1 - value));
+            int green = (int) (60 + 160 * value);
+            cell.setStyle(String.format("-fx-background-color: rgb(%d, %d, 80); -fx-font-size: 10px;", red, green));
+            cell.setTooltip(new Tooltip("Seanse: " + screenings));
+        }
+        return cell;
+    }
+
+    public void handleGoBack(ActionEvent event) {
+        try {
+            stageInitializer.loadStage(FXMLResourceEnum.STATS_PANEL);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -1,21 +1,31 @@
 package monaditto.cinemafront.controller.admin;
 
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
+import javafx.scene.layout.GridPane;
 import monaditto.cinemafront.StageInitializer;
 import monaditto.cinemafront.clientapi.StatsClientAPI;
 import monaditto.cinemafront.controller.FXMLResourceEnum;
 import monaditto.cinemafront.databaseMapping.CategoryDto;
+import monaditto.cinemafront.databaseMapping.CohortRetentionDto;
 import monaditto.cinemafront.databaseMapping.MovieWithEarningsDto;
 import monaditto.cinemafront.databaseMapping.PeriodType;
+import monaditto.cinemafront.databaseMapping.StatisticsDashboardDto;
 import org.springframework.stereotype.Controller;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 
 @Controller
 public class StatsPanel {
 
+    private static final int COHORTS = 6;
+
+    private static final int RETENTION_MONTHS = 3;
+
     private final StageInitializer stageInitializer;
 
     private final StatsClientAPI statsClientAPI;
@@ -60,6 +70,9 @@ public class StatsPanel {
     @FXML
     private Label lastYearAvgTraffic;
 
+    @FXML
+    private GridPane cohortGrid;
+
     public StatsPanel(StatsClientAPI statsClientAPI, StageInitializer stageInitializer) {
         this.statsClientAPI = statsClientAPI;
         this.stageInitializer = stageInitializer;
@@ -67,48 +80,79 @@ public class StatsPanel {
 
     @FXML
     public void initialize() {
-        loadRevenueStats();
-        loadPopularMoviesStats();
-        loadPopularCategoriesStats();
-        loadAverageTrafficStats();
+        statsClientAPI.getDashboard()
+                .thenAccept(dashboard -> Platform.runLater(() -> {
+                    loadRevenueStats(dashboard);
+                    loadPopularMoviesStats(dashboard);
+                    loadPopularCategoriesStats(dashboard);
+                    loadAverageTrafficStats(dashboard);
+                }))
+                .exceptionally(e -> {
+                    System.err.println("Error loading the statistics: " + e.getMessage());
+                    return null;
+                });
+        statsClientAPI.getCohortRetention(COHORTS, RETENTION_MONTHS)
+                .thenAccept(cohorts -> Platform.runLater(() -> loadCohortRetention(cohorts)))
+                .exceptionally(e -> {
+                    System.err.println("Error loading the cohort retention: " + e.getMessage());
+                    return null;
+                });
     }
 
-    private void loadRevenueStats() {
-        currentWeekRevenue.setText(formatCurrency(statsClientAPI.getRevenueForPeriod(PeriodType.THIS_WEEK)));
-        lastWeekRevenue.setText(formatCurrency(statsClientAPI.getRevenueForPeriod(PeriodType.LAST_WEEK)));
-        currentMonthRevenue.setText(formatCurrency(statsClientAPI.getRevenueForPeriod(PeriodType.THIS_MONTH)));
-        lastMonthRevenue.setText(formatCurrency(statsClientAPI.getRevenueForPeriod(PeriodType.LAST_MONTH)));
-        currentYearRevenue.setText(formatCurrency(statsClientAPI.getRevenueForPeriod(PeriodType.THIS_YEAR)));
-        lastYearRevenue.setText(formatCurrency(statsClientAPI.getRevenueForPeriod(PeriodType.LAST_YEAR)));
+    private void loadRevenueStats(StatisticsDashboardDto dashboard) {
+        Map<PeriodType, Double> revenue = dashboard.revenue();
+        currentWeekRevenue.setText(formatCurrency(revenue.get(PeriodType.THIS_WEEK)));
+        lastWeekRevenue.setText(formatCurrency(revenue.get(PeriodType.LAST_WEEK)));
+        currentMonthRevenue.setText(formatCurrency(revenue.get(PeriodType.THIS_MONTH)));
+        lastMonthRevenue.setText(formatCurrency(revenue.get(PeriodType.LAST_MONTH)));
+        currentYearRevenue.setText(formatCurrency(revenue.get(PeriodType.THIS_YEAR)));
+        lastYearRevenue.setText(formatCurrency(revenue.get(PeriodType.LAST_YEAR)));
     }
 
-    private void loadPopularMoviesStats() {
-        MovieWithEarningsDto weekMovie = statsClientAPI.getMostPopularMovieForPeriod(PeriodType.WEEK);
-        MovieWithEarningsDto monthMovie = statsClientAPI.getMostPopularMovieForPeriod(PeriodType.MONTH);
-        MovieWithEarningsDto yearMovie = statsClientAPI.getMostPopularMovieForPeriod(PeriodType.YEAR);
+    private void loadPopularMoviesStats(StatisticsDashboardDto dashboard) {
+        Map<PeriodType, MovieWithEarningsDto> movies = dashboard.mostPopularMovies();
+        currentWeekTopMovie.setText(formatMovie(movies.get(PeriodType.WEEK)));
+        currentMonthTopMovie.setText(formatMovie(movies.get(PeriodType.MONTH)));
+        currentYearTopMovie.setText(formatMovie(movies.get(PeriodType.YEAR)));
+    }
 
-        currentWeekTopMovie.setText(formatMovie(weekMovie));
-        currentMonthTopMovie.setText(formatMovie(monthMovie));
-        currentYearTopMovie.setText(formatMovie(yearMovie));
+    private void loadPopularCategoriesStats(StatisticsDashboardDto dashboard) {
+        Map<PeriodType, CategoryDto> categories = dashboard.mostPopularCategories();
+        currentWeekTopCategory.setText(formatCategory(categories.get(PeriodType.WEEK)));
+        currentMonthTopCategory.setText(formatCategory(categories.get(PeriodType.MONTH)));
+        currentYearTopCategory.setText(formatCategory(categories.get(PeriodType.YEAR)));
     }
 
-    private void loadPopularCategoriesStats() {
-        CategoryDto weekCategory = statsClientAPI.getMostPopularCategoryForPeriod(PeriodType.WEEK);
-        CategoryDto monthCategory = statsClientAPI.getMostPopularCategoryForPeriod(PeriodType.MONTH);
-        CategoryDto yearCategory = statsClientAPI.getMostPopularCategoryForPeriod(PeriodType.YEAR);
+    private void loadAverageTrafficStats(StatisticsDashboardDto dashboard) {
+        Map<PeriodType, Double> attendance = dashboard.averageAttendance();
+        currentWeekAvgTraffic.setText(formatDouble(attendance.get(PeriodType.THIS_WEEK)));
+        lastWeekAvgTraffic.setText(formatDouble(attendance.get(PeriodType.LAST_WEEK)));
+        currentMonthAvgTraffic.setText(formatDouble(attendance.get(PeriodType.THIS_MONTH)));
+        lastMonthAvgTraffic.setText(formatDouble(attendance.get(PeriodType.LAST_MONTH)));
+        currentYearAvgTraffic.setText(formatDouble(attendance.get(PeriodType.THIS_YEAR)));
+        lastYearAvgTraffic.setText(formatDouble(attendance.get(PeriodType.LAST_YEAR)));
+    }
+
+    private void loadCohortRetention(List<CohortRetentionDto> cohorts) {
+        cohortGrid.getChildren().clear();
+        cohortGrid.add(new Label("Kohorta"), 0, 0);
+        cohortGrid.add(new Label("Klienci"), 1, 0);
+        for (int month = 0; month <= RETENTION_MONTHS; month++) {
+            cohortGrid.add(new Label("M+" + month), month + 2, 0);
+        }
 
-        currentWeekTopCategory.setText(weekCategory.categoryName());
-        currentMonthTopCategory.setText(monthCategory.categoryName());
-        currentYearTopCategory.setText(yearCategory.categoryName());
+        for (int row = 0; row < cohorts.size(); row++) {
+            CohortRetentionDto cohort = cohorts.get(row);
+            cohortGrid.add(new Label(cohort.cohort()), 0, row + 1);
+            cohortGrid.add(new Label(String.valueOf(cohort.size())), 1, row + 1);
+            for (int month = 0; month < cohort.retention().size(); month++) {
+                cohortGrid.add(new Label(formatPercent(cohort.retention().get(month))), month + 2, row + 1);
+            }
+        }
     }
 
-    private void loadAverageTrafficStats() {
-        currentWeekAvgTraffic.setText(formatDouble(statsClientAPI.getAverageAttendanceForPeriod(PeriodType.THIS_WEEK)));
-        lastWeekAvgTraffic.setText(formatDouble(statsClientAPI.getAverageAttendanceForPeriod(PeriodType.LAST_WEEK)));
-        currentMonthAvgTraffic.setText(formatDouble(statsClientAPI.getAverageAttendanceForPeriod(PeriodType.THIS_MONTH)));
-        lastMonthAvgTraffic.setText(formatDouble(statsClientAPI.getAverageAttendanceForPeriod(PeriodType.LAST_MONTH)));
-        currentYearAvgTraffic.setText(formatDouble(statsClientAPI.getAverageAttendanceForPeriod(PeriodType.THIS_YEAR)));
-        lastYearAvgTraffic.setText(formatDouble(statsClientAPI.getAverageAttendanceForPeriod(PeriodType.LAST_YEAR)));
+    private String formatPercent(double value) {
+        return String.format("%.0f%%", value * 100);
     }
 
     private String formatCurrency(double value) {
@@ -116,9 +160,16 @@ public class StatsPanel {
     }
 
     private String formatMovie(MovieWithEarningsDto movie) {
+        if (movie == null) {
+            return "Nie ma popularnego filmu";
+        }
         return movie.title() + " (" + formatCurrency(movie.earnings()) + ")";
     }
 
+    private String formatCategory(CategoryDto category) {
+        return category != null ? category.categoryName() : "Nie ma popularnej kategorii";
+    }
+
     private String formatDouble(double value) {
         return String.format("%.2f", value);
     }
@@ -130,4 +181,12 @@ public class StatsPanel {
             throw new RuntimeException(e);
         }
     }
+
+    public void handleOccupancy(ActionEvent event) {
+        try {
+            stageInitializer.loadStage(FXMLResourceEnum.OCCUPANCY_PANEL);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
 }
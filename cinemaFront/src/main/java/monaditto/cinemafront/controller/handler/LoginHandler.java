@@ -9,8 +9,8 @@ import monaditto.cinemafront.clientapi.LoginClientAPI;
 import monaditto.cinemafront.controller.FXMLResourceEnum;
 import monaditto.cinemafront.controller.DTO.AuthResponse;
 import monaditto.cinemafront.databaseMapping.RoleDto;
-import monaditto.cinemafront.request.RequestBuilder;
 import monaditto.cinemafront.session.SessionContext;
+import monaditto.cinemafront.session.TokenRefresher;
 
 import java.io.IOException;
 import java.net.http.HttpResponse;
@@ -24,6 +24,7 @@ public class LoginHandler {
     private final StageInitializer stageInitializer;
     private final Label lblLogin;
     private final SessionContext sessionContext;
+    private final TokenRefresher tokenRefresher;
 
     private static final List<String> ROLE_PRIORITY = List.of("user", "cashier", "admin");
 
@@ -34,12 +35,14 @@ public class LoginHandler {
     );
 
     public LoginHandler(LoginClientAPI loginClientAPI, ObjectMapper objectMapper,
-                        StageInitializer stageInitializer, Label lblLogin, SessionContext sessionContext) {
+                        StageInitializer stageInitializer, Label lblLogin, SessionContext sessionContext,
+                        TokenRefresher tokenRefresher) {
         this.loginClientAPI = loginClientAPI;
         this.objectMapper = objectMapper;
         this.stageInitializer = stageInitializer;
         this.lblLogin = lblLogin;
         this.sessionContext = sessionContext;
+        this.tokenRefresher = tokenRefresher;
     }
 
     public void handleLogin(String email, String password) {
@@ -65,8 +68,8 @@ public class LoginHandler {
 
     private void processSuccessfulLogin(HttpResponse<String> response) {
         try {
-            RequestBuilder.extractAndSetSessionId(response);
             AuthResponse authResponse = parseAuthResponse(response);
+            tokenRefresher.start(authResponse);
             String userRole = determineHighestPriorityRole(authResponse.roles());
             loadAppropriatePanel(userRole);
         } catch (IOException e) {
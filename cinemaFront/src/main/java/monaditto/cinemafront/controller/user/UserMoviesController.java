@@ -17,11 +17,13 @@ import monaditto.cinemafront.StageInitializer;
 import monaditto.cinemafront.controller.FXMLResourceEnum;
 import monaditto.cinemafront.clientapi.MovieClientAPI;
 import monaditto.cinemafront.databaseMapping.MovieDto;
+import monaditto.cinemafront.databaseMapping.SimilarMovieDto;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Locale;
 
 @Controller
 public class UserMoviesController {
@@ -30,6 +32,8 @@ public class UserMoviesController {
 
     private ObservableList<MovieDto> movieDtoList;
 
+    private ObservableList<SimilarMovieDto> similarMovieDtoList;
+
     private final UserRateMovieController userRateMovieController;
 
     @Autowired
@@ -38,6 +42,9 @@ public class UserMoviesController {
     @FXML
     private ListView<MovieDto> moviesListView;
 
+    @FXML
+    private ListView<SimilarMovieDto> similarMoviesListView;
+
     @FXML
     private TextField searchBar;
 
@@ -62,6 +69,7 @@ public class UserMoviesController {
     @FXML
     private void initialize() {
         initializeMovieListView();
+        initializeSimilarMoviesListView();
         initializeResponsiveness();
         initializeButtons();
     }
@@ -84,6 +92,39 @@ public class UserMoviesController {
         });
     }
 
+    private void initializeSimilarMoviesListView() {
+        similarMovieDtoList = FXCollections.observableArrayList();
+        similarMoviesListView.setItems(similarMovieDtoList);
+
+        similarMoviesListView.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(SimilarMovieDto similarMovieDto, boolean empty) {
+                super.updateItem(similarMovieDto, empty);
+                if (empty || similarMovieDto == null) {
+                    setText(null);
+                    setGraphic(null);
+                } else {
+                    MovieDto movieDto = similarMovieDto.movieDto();
+                    setText(String.format(Locale.ENGLISH, "%s (%d) - %.0f%% match",
+                            movieDto.title(), movieDto.releaseDate().getYear(), similarMovieDto.similarity() * 100));
+                }
+            }
+        });
+
+        moviesListView.getSelectionModel().selectedItemProperty()
+                .addListener((observable, oldMovie, newMovie) -> loadSimilarMovies(newMovie));
+    }
+
+    private void loadSimilarMovies(MovieDto movieDto) {
+        if (movieDto == null) {
+            similarMovieDtoList.clear();
+            return;
+        }
+
+        movieClientAPI.loadSimilarMovies(movieDto.id())
+                .thenAccept(similarMovies -> Platform.runLater(() -> similarMovieDtoList.setAll(similarMovies)));
+    }
+
     private void initializeResponsiveness() {
         backgroundRectangle.widthProperty().bind(rootPane.widthProperty());
         backgroundRectangle.heightProperty().bind(rootPane.heightProperty());
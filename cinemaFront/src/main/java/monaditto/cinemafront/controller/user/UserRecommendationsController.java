@@ -44,6 +44,11 @@ public class UserRecommendationsController {
     @FXML
     private ListView<MovieDto> comingSoonMoviesListView;
 
+    private ObservableList<MovieDto> trendingMovieDtoList;
+
+    @FXML
+    private ListView<MovieDto> trendingMoviesListView;
+
     private ObservableList<MovieWithAverageRatingDto> recommendedMovieDtoList;
 
     @FXML
@@ -87,6 +92,8 @@ public class UserRecommendationsController {
     private void initializeMovieListViews() {
         comingSoonMovieDtoList = FXCollections.observableArrayList();
         initializeMovieListView(comingSoonMovieDtoList, comingSoonMoviesListView);
+        trendingMovieDtoList = FXCollections.observableArrayList();
+        initializeMovieListView(trendingMovieDtoList, trendingMoviesListView);
         recommendedMovieDtoList = FXCollections.observableArrayList();
         initializeMovieWithRatingsListView(recommendedMovieDtoList, recommendedMoviesListView);
         highestRatedMovieDtoList = FXCollections.observableArrayList();
@@ -144,6 +151,10 @@ public class UserRecommendationsController {
                 .thenAccept(comingSoonMovieDtoList::addAll)
                 .thenRun(() -> comingSoonMoviesListView.setPrefHeight(130 * comingSoonMovieDtoList.size()));
 
+        movieClientAPI.loadTrendingMovies()
+                .thenAccept(trendingMovieDtoList::addAll)
+                .thenRun(() -> trendingMoviesListView.setPrefHeight(130 * trendingMovieDtoList.size()));
+
         movieClientAPI.loadRecommendedMovies(sessionContext.getUserId())
                 .thenAccept(recommendedMovieDtoList::addAll)
                 .thenRun(this::updateRecommendedMoviesView);
@@ -0,0 +1,11 @@
+package monaditto.cinemafront.databaseMapping;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record OccupancyHeatmapDto(
+        LocalDate from,
+        LocalDate to,
+        int slotHours,
+        List<RoomOccupancyDto> rooms
+) { }
@@ -0,0 +1,8 @@
+package monaditto.cinemafront.databaseMapping;
+
+public record RoomOccupancyDto(
+        Long roomId,
+        String roomName,
+        Double[][] utilization,
+        int[][] screenings
+) { }
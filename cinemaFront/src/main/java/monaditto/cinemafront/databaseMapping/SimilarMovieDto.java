@@ -0,0 +1,8 @@
+package monaditto.cinemafront.databaseMapping;
+
+public record SimilarMovieDto(
+
+        MovieDto movieDto,
+
+        Double similarity
+) {}
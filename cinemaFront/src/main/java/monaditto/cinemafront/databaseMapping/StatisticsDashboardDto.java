@@ -0,0 +1,10 @@
+package monaditto.cinemafront.databaseMapping;
+
+import java.util.Map;
+
+public record StatisticsDashboardDto(
+        Map<PeriodType, Double> revenue,
+        Map<PeriodType, Double> averageAttendance,
+        Map<PeriodType, MovieWithEarningsDto> mostPopularMovies,
+        Map<PeriodType, CategoryDto> mostPopularCategories
+) { }
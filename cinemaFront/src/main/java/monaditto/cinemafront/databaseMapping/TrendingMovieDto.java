@@ -0,0 +1,8 @@
+package monaditto.cinemafront.databaseMapping;
+
+public record TrendingMovieDto(
+
+        MovieDto movieDto,
+
+        Double score
+) {}
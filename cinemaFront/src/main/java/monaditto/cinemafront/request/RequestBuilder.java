@@ -2,22 +2,20 @@ package monaditto.cinemafront.request;
 
 import java.net.URI;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 
 public class RequestBuilder {
 
-    private static String sessionId;
+    private static volatile String accessToken;
 
-    public static void setSessionId(String id){
-        sessionId = id;
+    public static void setAccessToken(String token){
+        accessToken = token;
     }
 
     private static HttpRequest.Builder addHeaders(HttpRequest.Builder builder) {
         builder.header("Content-Type", "application/json");
-        if (sessionId != null && !sessionId.isEmpty()) {
-            builder.header("Cookie", "JSESSIONID=" + sessionId);
-        } else {
-            System.err.println("No session ID available");
+        String token = accessToken;
+        if (token != null && !token.isEmpty()) {
+            builder.header("Authorization", "Bearer " + token);
         }
         return builder;
     }
@@ -56,16 +54,4 @@ public class RequestBuilder {
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody));
         return addHeaders(builder).build();
     }
-
-    public static void extractAndSetSessionId(HttpResponse<?> response) {
-        response.headers()
-                .allValues("Set-Cookie")
-                .stream()
-                .filter(cookie -> cookie.startsWith("JSESSIONID="))
-                .findFirst()
-                .ifPresent(cookie -> {
-                    String id = cookie.split(";")[0].replace("JSESSIONID=", "");
-                    setSessionId(id);
-                });
-    }
 }
\ No newline at end of file
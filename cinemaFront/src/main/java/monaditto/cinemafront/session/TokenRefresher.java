@@ -0,0 +1,57 @@
+package monaditto.cinemafront.session;
+
+import jakarta.annotation.PreDestroy;
+import monaditto.cinemafront.clientapi.LoginClientAPI;
+import monaditto.cinemafront.controller.DTO.AuthResponse;
+import monaditto.cinemafront.request.RequestBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class TokenRefresher {
+
+    private static final double REFRESH_AT_FRACTION = 0.8;
+
+    private final LoginClientAPI loginClientAPI;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "token-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ScheduledFuture<?> scheduledRefresh;
+
+    @Autowired
+    public TokenRefresher(LoginClientAPI loginClientAPI) {
+        this.loginClientAPI = loginClientAPI;
+    }
+
+    public synchronized void start(AuthResponse authResponse) {
+        RequestBuilder.setAccessToken(authResponse.token());
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+        }
+        long delaySeconds = Math.max(1, (long) (authResponse.expiresIn() * REFRESH_AT_FRACTION));
+        scheduledRefresh = scheduler.schedule(() -> refresh(authResponse.refreshToken()), delaySeconds, TimeUnit.SECONDS);
+    }
+
+    private void refresh(String refreshToken) {
+        loginClientAPI.refresh(refreshToken)
+                .thenAccept(this::start)
+                .exceptionally(e -> {
+                    System.err.println("Error refreshing the session: " + e.getMessage());
+                    return null;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
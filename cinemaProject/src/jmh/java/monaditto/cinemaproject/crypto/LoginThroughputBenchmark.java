@@ -0,0 +1,63 @@
+package monaditto.cinemaproject.crypto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password verification throughput of a login burst, i.e. more concurrent logins than hashing threads. Logins go
+ * through {@link PasswordHasher}, so the numbers include queueing on the bounded hashing pool. The queue is large
+ * enough for all benchmark threads, so no login is rejected.
+ * <p>
+ * Run with {@code gradle jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class LoginThroughputBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"pbkdf2-sha256", "sha256"})
+    public String algorithm;
+
+    @Param({"25", "100"})
+    public long targetMillis;
+
+    @Param({"2"})
+    public int hashingThreads;
+
+    private PasswordHasher passwordHasher;
+
+    private String encodedPassword;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<PasswordHashAlgorithm> algorithms = List.of(
+                new Pbkdf2PasswordHashAlgorithm(targetMillis), new Sha256PasswordHashAlgorithm());
+        passwordHasher = new PasswordHasher(algorithms, algorithm, hashingThreads, 32, 2000);
+        encodedPassword = passwordHasher.hashPassword(PASSWORD);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Benchmark
+    public boolean login() {
+        return passwordHasher.matches(PASSWORD, encodedPassword);
+    }
+}
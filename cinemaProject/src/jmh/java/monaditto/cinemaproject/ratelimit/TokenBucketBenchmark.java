@@ -0,0 +1,42 @@
+package monaditto.cinemaproject.ratelimit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a rate-limit check when many request threads hit the same client's bucket, e.g. one client hammering the
+ * login endpoint. The refill rate is high enough that most checks take a token and the compare-and-set path is
+ * exercised.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenBucketBenchmark {
+
+    private TokenBucket bucket;
+
+    @Setup
+    public void setUp() {
+        bucket = new TokenBucket(1_000, 1_000_000, System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long uncontended() {
+        return bucket.tryConsume(System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long contended() {
+        return bucket.tryConsume(System.nanoTime());
+    }
+}
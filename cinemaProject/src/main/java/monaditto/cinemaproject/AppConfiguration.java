@@ -11,7 +11,7 @@ import monaditto.cinemaproject.movie.MovieWithCategoriesDto;
 import monaditto.cinemaproject.movieRoom.MovieRoomDto;
 import monaditto.cinemaproject.movieRoom.MovieRoomService;
 import monaditto.cinemaproject.moviedbapi.APIQuery;
-import monaditto.cinemaproject.moviedbapi.MovieAPIService;
+import monaditto.cinemaproject.moviedbapi.MovieImportService;
 import monaditto.cinemaproject.opinion.OpinionDto;
 import monaditto.cinemaproject.opinion.OpinionService;
 import monaditto.cinemaproject.purchase.PurchaseDto;
@@ -21,13 +21,19 @@ import monaditto.cinemaproject.role.RoleRepository;
 import monaditto.cinemaproject.role.RoleService;
 import monaditto.cinemaproject.screening.ScreeningDto;
 import monaditto.cinemaproject.screening.ScreeningService;
+import monaditto.cinemaproject.seed.SeedSnapshotExporter;
+import monaditto.cinemaproject.seed.SeedSnapshotLoader;
 import monaditto.cinemaproject.user.User;
 import monaditto.cinemaproject.user.UserDto;
 import monaditto.cinemaproject.user.UserService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -153,28 +159,61 @@ public class AppConfiguration {
             MovieRoomService movieRoomService,
             ScreeningService screeningService,
             OpinionService opinionService,
-            MovieAPIService movieAPIService,
-            PurchaseService purchaseService) {
+            MovieImportService movieImportService,
+            PurchaseService purchaseService,
+            SeedSnapshotLoader seedSnapshotLoader,
+            SeedSnapshotExporter seedSnapshotExporter,
+            PlatformTransactionManager transactionManager,
+            @Value("${seed.mode}") String seedMode) {
         return args -> {
+            if ("none".equals(seedMode)) {
+                return;
+            }
             if (userService.getUsers().isEmpty()) {
-                initMovieRooms(movieRoomService);
-                initCategories(categoryService);
+                boolean useSnapshot = "snapshot".equals(seedMode);
+                if (useSnapshot && seedSnapshotLoader.loadFirstAvailable()) {
+                    return;
+                }
+
+                // OMDb is queried before the transaction opens, so no connection is held during the round trips.
+                List<MovieWithCategoriesDto> releasedMovies = movieImportService.fetchMovies(releasedApiQueryList);
+                List<MovieWithCategoriesDto> futureMovies = movieImportService.fetchMovies(futureApiQueryList);
 
-                initUsers(userService, roleService, roleRepository, passwordHasher);
-//                initMovies(movieService);
-                initMoviesWithAPI(movieService, movieAPIService, releasedApiQueryList);
+                // The whole seed is one transaction: a failed attempt leaves no users behind, so the next boot seeds
+                // again instead of skipping a half-filled database.
+                seedSnapshotLoader.restartIdentities();
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    initMovieRooms(movieRoomService);
+                    initCategories(categoryService);
 
+                    initUsers(userService, roleService, roleRepository, passwordHasher);
+//                    initMovies(movieService);
+                    initMoviesWithAPI(movieImportService, releasedMovies);
 
-                addCategoriesToMovies(movieService ,categoryService);
 
-                initScreenings(screeningService);
-                initOpinions(opinionService);
+                    addCategoriesToMovies(movieService ,categoryService);
 
-//                initPurchases(purchaseService,userService,screeningService);
-                initMoviesWithAPI(movieService, movieAPIService, futureApiQueryList);
+                    initScreenings(screeningService);
+                    initOpinions(opinionService);
+
+//                    initPurchases(purchaseService,userService,screeningService);
+                    initMoviesWithAPI(movieImportService, futureMovies);
+                });
+
+                if (useSnapshot) {
+                    exportSeedSnapshot(seedSnapshotExporter);
+                }
             }
         };
     }
+
+    private static void exportSeedSnapshot(SeedSnapshotExporter seedSnapshotExporter) {
+        try {
+            System.out.println("Exported seed snapshot to " + seedSnapshotExporter.export());
+        } catch (IOException e) {
+            System.err.println("Failed to export seed snapshot: " + e.getMessage());
+        }
+    }
     private static Map<Long, Long> mapAllCategories(CategoryService categoryService){
         List<CategoryDto> categories = categoryService.getCategories();
         Map<Long, Long> categoryMap = new HashMap<>();
@@ -186,25 +225,13 @@ public class AppConfiguration {
         return categoryMap;
     }
 
-    private static void initMoviesWithAPI(MovieService movieService, MovieAPIService movieAPIService, List<APIQuery> apiQueryList) {
+    private static void initMoviesWithAPI(MovieImportService movieImportService,
+                                          List<MovieWithCategoriesDto> fetchedMovies) {
 
         HashSet<String> strings = new HashSet<>();
 
-        for (APIQuery apiQuery : apiQueryList) {
-            MovieWithCategoriesDto movieWithCategoriesDto = movieAPIService.fetchMovieByQuery(apiQuery);
-            if (movieWithCategoriesDto != null) {
-                List<String> categoriesNames = movieWithCategoriesDto.categories().stream()
-                        .map(categoryDto -> {
-//                            CategoryDto::categoryName
-                            strings.add(categoryDto.categoryName());
-                            return categoryDto.categoryName();
-                        })
-                        .toList();
-                CreateMovieStatus createMovieStatus = movieService.createMovieByNames(movieWithCategoriesDto.movieDto(), categoriesNames);
-                if (!createMovieStatus.isSuccess()) {
-                    System.err.println(createMovieStatus + " for movie: " + movieWithCategoriesDto.movieDto().title());
-                }
-            }
+        for (MovieWithCategoriesDto movieWithCategoriesDto : movieImportService.importFetchedMovies(fetchedMovies)) {
+            movieWithCategoriesDto.categories().forEach(categoryDto -> strings.add(categoryDto.categoryName()));
         }
 
         System.out.println("syzdtkie-------------");
@@ -3,8 +3,10 @@ package monaditto.cinemaproject;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class CinemaProjectApplication {
 
     public static void main(final String[] args) {
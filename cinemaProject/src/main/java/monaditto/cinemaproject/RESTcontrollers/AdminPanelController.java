@@ -1,10 +1,15 @@
 package monaditto.cinemaproject.RESTcontrollers;
 
 import jakarta.annotation.security.RolesAllowed;
+import monaditto.cinemaproject.archive.ArchiveResultDto;
+import monaditto.cinemaproject.archive.ArchiveService;
+import monaditto.cinemaproject.seed.SeedSnapshotExporter;
 import monaditto.cinemaproject.user.UserDto;
 import monaditto.cinemaproject.user.UserService;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -13,8 +18,16 @@ public class AdminPanelController {
 
     private final UserService userService;
 
-    public AdminPanelController(UserService userService) {
+    private final SeedSnapshotExporter seedSnapshotExporter;
+
+    private final ArchiveService archiveService;
+
+    public AdminPanelController(UserService userService,
+                                SeedSnapshotExporter seedSnapshotExporter,
+                                ArchiveService archiveService) {
         this.userService = userService;
+        this.seedSnapshotExporter = seedSnapshotExporter;
+        this.archiveService = archiveService;
     }
 
     @RolesAllowed("ADMIN")
@@ -28,4 +41,20 @@ public class AdminPanelController {
     public void deleteUser(@PathVariable Long id) {
         userService.deleteUserById(id);
     }
+
+    @RolesAllowed("ADMIN")
+    @PostMapping("/seed-snapshot")
+    public ResponseEntity<String> exportSeedSnapshot() {
+        try {
+            return ResponseEntity.ok(seedSnapshotExporter.export().toString());
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().body(e.getMessage());
+        }
+    }
+
+    @RolesAllowed("ADMIN")
+    @PostMapping("/archive")
+    public ArchiveResultDto archive() {
+        return archiveService.archive();
+    }
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package monaditto.cinemaproject.RESTcontrollers;
 
-import jakarta.servlet.http.HttpSession;
 import monaditto.cinemaproject.RESTcontrollers.DTO.AuthResponse;
 import monaditto.cinemaproject.RESTcontrollers.DTO.LoginRequest;
+import monaditto.cinemaproject.RESTcontrollers.DTO.RefreshRequest;
+import monaditto.cinemaproject.crypto.PasswordHashingRejectedException;
+import monaditto.cinemaproject.jwt.JwtService;
+import monaditto.cinemaproject.role.RoleDto;
 import monaditto.cinemaproject.role.RoleService;
 import monaditto.cinemaproject.user.CustomUserDetails;
 import monaditto.cinemaproject.user.UserDto;
@@ -15,10 +18,11 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Optional;
+
 
 
 @RestController
@@ -31,11 +35,15 @@ public class AuthController {
 
     private final AuthenticationManager authenticationManager;
 
+    private final JwtService jwtService;
+
     @Autowired
-    public AuthController(UserService userService, RoleService roleService, AuthenticationManager authenticationManager) {
+    public AuthController(UserService userService, RoleService roleService, AuthenticationManager authenticationManager,
+                          JwtService jwtService) {
         this.userService = userService;
         this.roleService = roleService;
         this.authenticationManager = authenticationManager;
+        this.jwtService = jwtService;
     }
 
     @GetMapping("/login")
@@ -44,7 +52,7 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest, HttpSession session) {
+    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
         try {
             // Let Spring Security handle the authentication
             Authentication authentication = authenticationManager.authenticate(
@@ -54,30 +62,38 @@ public class AuthController {
                     )
             );
 
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-
-            session.setAttribute(
-                    HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
-                    SecurityContextHolder.getContext()
-            );
-
-
             // Get the authenticated user details
             CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-            UserDto userDto = userService.findByEmail(userDetails.getUsername())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.add("Set-Cookie", "JSESSIONID=" + session.getId() + "; Path=/; HttpOnly");
 
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(new AuthResponse(userDto.id(), roleService.getUserRoles(userDto.id())));
+            return ResponseEntity.ok(issueTokens(userDetails.getUserId(), userDetails.getUsername(), userDetails.getRoles()));
 
+        } catch (PasswordHashingRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Too many concurrent logins, please try again");
         } catch (AuthenticationException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body("Invalid email or password");
         }
     }
-}
\ No newline at end of file
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequest refreshRequest) {
+        Optional<UserDto> user = jwtService.parse(refreshRequest.refreshToken(), JwtService.TokenType.REFRESH)
+                .flatMap(principal -> userService.findById(principal.userId()));
+
+        if (user.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Invalid refresh token");
+        }
+        UserDto userDto = user.get();
+        return ResponseEntity.ok(issueTokens(userDto.id(), userDto.email(), roleService.getUserRoles(userDto.id())));
+    }
+
+    private AuthResponse issueTokens(Long userId, String email, List<RoleDto> roles) {
+        String token = jwtService.issueAccessToken(userId, email, roles.stream().map(RoleDto::name).toList());
+        String refreshToken = jwtService.issueRefreshToken(userId, email);
+
+        return new AuthResponse(userId, token, refreshToken, jwtService.getAccessTokenSeconds(), roles);
+    }
+}
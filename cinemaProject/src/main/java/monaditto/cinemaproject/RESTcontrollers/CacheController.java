@@ -0,0 +1,42 @@
+package monaditto.cinemaproject.RESTcontrollers;
+
+import jakarta.annotation.security.RolesAllowed;
+import monaditto.cinemaproject.cache.CacheStats;
+import monaditto.cinemaproject.cache.InProcessRegionFactory;
+import monaditto.cinemaproject.cache.MonitoredCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/caches")
+public class CacheController {
+
+    private final List<MonitoredCache> caches;
+
+    private final InProcessRegionFactory regionFactory;
+
+    @Autowired
+    public CacheController(List<MonitoredCache> caches, InProcessRegionFactory regionFactory) {
+        this.caches = caches;
+        this.regionFactory = regionFactory;
+    }
+
+    @RolesAllowed({"ADMIN"})
+    @GetMapping
+    public ResponseEntity<List<CacheStats>> getCacheStats() {
+        return ResponseEntity.ok(caches.stream()
+                .map(MonitoredCache::stats)
+                .toList());
+    }
+
+    @RolesAllowed({"ADMIN"})
+    @GetMapping("/hibernate")
+    public ResponseEntity<List<CacheStats>> getHibernateCacheStats() {
+        return ResponseEntity.ok(regionFactory.stats());
+    }
+}
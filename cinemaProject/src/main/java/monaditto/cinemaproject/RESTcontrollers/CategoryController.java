@@ -1,11 +1,14 @@
 package monaditto.cinemaproject.RESTcontrollers;
 
 import jakarta.annotation.security.RolesAllowed;
+import monaditto.cinemaproject.catalog.CatalogReadModel;
 import monaditto.cinemaproject.category.CategoryCreateStatus;
 import monaditto.cinemaproject.category.CategoryDto;
 import monaditto.cinemaproject.category.CategoryService;
+import monaditto.cinemaproject.category.TrendingCategoryDto;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.web.bind.annotation.*;
@@ -20,14 +23,23 @@ public class CategoryController {
 
     private final CategoryService categoryService;
 
+    private final CatalogReadModel catalogReadModel;
+
     @Autowired
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, CatalogReadModel catalogReadModel) {
         this.categoryService = categoryService;
+        this.catalogReadModel = catalogReadModel;
     }
 
     @GetMapping()
-    public ResponseEntity<List<CategoryDto>> getCategories() {
-        return ResponseEntity.ok().body(categoryService.getCategories());
+    public ResponseEntity<byte[]> getCategories() {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(catalogReadModel.getCategoriesJson());
+    }
+
+    @RolesAllowed({"ADMIN","CASHIER", "USER"})
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingCategoryDto>> getTrendingCategories() {
+        return ResponseEntity.ok().body(categoryService.getTrendingCategories());
     }
 
     @RolesAllowed({"ADMIN","CASHIER", "USER"})
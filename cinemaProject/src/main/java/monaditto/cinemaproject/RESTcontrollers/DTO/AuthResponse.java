@@ -4,4 +4,4 @@ import monaditto.cinemaproject.role.RoleDto;
 
 import java.util.List;
 
-public record AuthResponse(Long userID, List<RoleDto> roles) {}
+public record AuthResponse(Long userID, String token, String refreshToken, long expiresIn, List<RoleDto> roles) {}
@@ -0,0 +1,3 @@
+package monaditto.cinemaproject.RESTcontrollers.DTO;
+
+public record RefreshRequest(String refreshToken) {}
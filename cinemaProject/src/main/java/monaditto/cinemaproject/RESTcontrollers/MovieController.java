@@ -1,11 +1,17 @@
 package monaditto.cinemaproject.RESTcontrollers;
 
 import jakarta.annotation.security.RolesAllowed;
+import monaditto.cinemaproject.catalog.CatalogReadModel;
 import monaditto.cinemaproject.category.CategoryDto;
 import monaditto.cinemaproject.movie.*;
+import monaditto.cinemaproject.moviedbapi.APIQuery;
+import monaditto.cinemaproject.moviedbapi.MovieImportJobDto;
+import monaditto.cinemaproject.moviedbapi.MovieImportService;
+import monaditto.cinemaproject.recommendation.RecommendationCache;
 import monaditto.cinemaproject.status.Status;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,15 +23,25 @@ public class MovieController {
 
     private final MovieService movieService;
 
+    private final RecommendationCache recommendationCache;
+
+    private final MovieImportService movieImportService;
+
+    private final CatalogReadModel catalogReadModel;
+
     @Autowired
-    public MovieController(MovieService movieService) {
+    public MovieController(MovieService movieService, RecommendationCache recommendationCache,
+                           MovieImportService movieImportService, CatalogReadModel catalogReadModel) {
         this.movieService = movieService;
+        this.recommendationCache = recommendationCache;
+        this.movieImportService = movieImportService;
+        this.catalogReadModel = catalogReadModel;
     }
 
     @RolesAllowed({"ADMIN","CASHIER", "USER"})
     @GetMapping()
-    public ResponseEntity<List<MovieDto>> getMovies() {
-        return ResponseEntity.ok().body(movieService.getMovies());
+    public ResponseEntity<byte[]> getMovies() {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(catalogReadModel.getMoviesJson());
     }
 
     @RolesAllowed({"ADMIN","CASHIER", "USER"})
@@ -38,7 +54,19 @@ public class MovieController {
     @RolesAllowed({"USER"})
     @GetMapping("/recommended/{id}")
     public ResponseEntity<List<MovieWithAverageRatingDto>> getRecommendedMovies(@PathVariable("id") Long id) {
-        return ResponseEntity.ok().body(movieService.getRecommendedMovies(id));
+        return ResponseEntity.ok().body(recommendationCache.getRecommendedMovies(id));
+    }
+
+    @RolesAllowed({"ADMIN","CASHIER", "USER"})
+    @GetMapping("/similar/{id}")
+    public ResponseEntity<List<SimilarMovieDto>> getSimilarMovies(@PathVariable("id") Long id) {
+        return ResponseEntity.ok().body(movieService.getSimilarMovies(id));
+    }
+
+    @RolesAllowed({"ADMIN","CASHIER", "USER"})
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingMovieDto>> getTrendingMovies() {
+        return ResponseEntity.ok().body(movieService.getTrendingMovies());
     }
 
     @RolesAllowed({"USER"})
@@ -94,4 +122,18 @@ public class MovieController {
 
         return ResponseEntity.ok().body(categories);
     }
+
+    @RolesAllowed({"ADMIN"})
+    @PostMapping("/import")
+    public ResponseEntity<MovieImportJobDto> importMovies(@RequestBody List<APIQuery> apiQueries) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(movieImportService.startImport(apiQueries));
+    }
+
+    @RolesAllowed({"ADMIN"})
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<MovieImportJobDto> getImportJob(@PathVariable Long jobId) {
+        return movieImportService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
 }
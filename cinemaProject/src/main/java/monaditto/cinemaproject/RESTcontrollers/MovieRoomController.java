@@ -1,14 +1,15 @@
 package monaditto.cinemaproject.RESTcontrollers;
 
 import jakarta.annotation.security.RolesAllowed;
+import monaditto.cinemaproject.catalog.CatalogReadModel;
 import monaditto.cinemaproject.movieRoom.MovieRoomDto;
 import monaditto.cinemaproject.movieRoom.MovieRoomService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -17,14 +18,17 @@ public class MovieRoomController {
 
     private final MovieRoomService movieRoomService;
 
+    private final CatalogReadModel catalogReadModel;
+
     @Autowired
-    public MovieRoomController(MovieRoomService movieRoomService) {
+    public MovieRoomController(MovieRoomService movieRoomService, CatalogReadModel catalogReadModel) {
         this.movieRoomService = movieRoomService;
+        this.catalogReadModel = catalogReadModel;
     }
 
     @GetMapping
-    public ResponseEntity<List<MovieRoomDto>> getAllMovieRooms() {
-        return ResponseEntity.ok().body(movieRoomService.getAllMovieRooms());
+    public ResponseEntity<byte[]> getAllMovieRooms() {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(catalogReadModel.getMovieRoomsJson());
     }
 
     @RolesAllowed({"ADMIN","CASHIER"})
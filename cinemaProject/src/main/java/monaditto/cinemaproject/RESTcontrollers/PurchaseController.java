@@ -1,6 +1,7 @@
 package monaditto.cinemaproject.RESTcontrollers;
 
 import jakarta.annotation.security.RolesAllowed;
+import monaditto.cinemaproject.archive.ArchiveService;
 import monaditto.cinemaproject.purchase.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -20,20 +21,20 @@ public class PurchaseController {
     @Autowired
     private PurchaseService purchaseService;
 
+    @Autowired
+    private ArchiveService archiveService;
+
     @GetMapping
     public ResponseEntity<List<PurchaseResponseDto>> getAllPurchases() {
-        List<PurchaseResponseDto> purchases = purchaseService.findAll()
-                .stream()
-                .map(PurchaseResponseDto::fromEntity)
-                .toList();
+        List<PurchaseResponseDto> purchases = purchaseService.findAll();
         return ResponseEntity.ok(purchases);
     }
 
     @RolesAllowed({"ADMIN","CASHIER"})
     @GetMapping("/{id}")
     public ResponseEntity<PurchaseResponseDto> getPurchaseById(@PathVariable Long id) {
-        Purchase purchase = purchaseService.findById(id);
-        return purchase != null ? ResponseEntity.ok(PurchaseResponseDto.fromEntity(purchase))
+        PurchaseResponseDto purchase = purchaseService.findById(id);
+        return purchase != null ? ResponseEntity.ok(purchase)
                 : ResponseEntity.notFound().build();
     }
 
@@ -41,8 +42,8 @@ public class PurchaseController {
     @PostMapping
     public ResponseEntity<PurchaseResponseDto> createPurchase(@RequestBody PurchaseDto purchaseDto) {
         try {
-            Purchase purchase = purchaseService.create(purchaseDto);
-            return ResponseEntity.ok(PurchaseResponseDto.fromEntity(purchase));
+            Long purchaseId = purchaseService.create(purchaseDto).getId();
+            return ResponseEntity.ok(purchaseService.findById(purchaseId));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         } catch (IllegalStateException e) {
@@ -65,20 +66,20 @@ public class PurchaseController {
     @RolesAllowed({"ADMIN","CASHIER", "USER"})
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<PurchaseResponseDto>> getPurchasesByUser(@PathVariable Long userId) {
-        List<PurchaseResponseDto> purchases = purchaseService.findByUser(userId)
-                .stream()
-                .map(PurchaseResponseDto::fromEntity)
-                .toList();
+        List<PurchaseResponseDto> purchases = purchaseService.findByUser(userId);
         return ResponseEntity.ok(purchases);
     }
 
+    @RolesAllowed({"ADMIN","CASHIER", "USER"})
+    @GetMapping("/user/{userId}/history")
+    public ResponseEntity<List<PurchaseResponseDto>> getPurchaseHistoryByUser(@PathVariable Long userId) {
+        return ResponseEntity.ok(archiveService.getPurchaseHistory(userId));
+    }
+
     @RolesAllowed({"ADMIN","CASHIER", "USER"})
     @GetMapping("/screening/{screeningId}")
     public ResponseEntity<List<PurchaseResponseDto>> getPurchasesByScreening(@PathVariable Long screeningId) {
-        List<PurchaseResponseDto> purchases = purchaseService.findByScreening(screeningId)
-                .stream()
-                .map(PurchaseResponseDto::fromEntity)
-                .toList();
+        List<PurchaseResponseDto> purchases = purchaseService.findByScreening(screeningId);
         return ResponseEntity.ok(purchases);
     }
 
@@ -86,10 +87,7 @@ public class PurchaseController {
     @GetMapping("/status/{status}")
     public ResponseEntity<List<PurchaseResponseDto>> getPurchasesByStatus(
             @PathVariable ReservationStatus status) {
-        List<PurchaseResponseDto> purchases = purchaseService.findByStatus(status)
-                .stream()
-                .map(PurchaseResponseDto::fromEntity)
-                .toList();
+        List<PurchaseResponseDto> purchases = purchaseService.findByStatus(status);
         return ResponseEntity.ok(purchases);
     }
 
@@ -98,8 +96,7 @@ public class PurchaseController {
     public ResponseEntity<PurchaseResponseDto> confirmPurchase(@PathVariable Long id) {
         try {
             purchaseService.confirmPayment(id);
-            Purchase purchase = purchaseService.findById(id);
-            return ResponseEntity.ok(PurchaseResponseDto.fromEntity(purchase));
+            return ResponseEntity.ok(purchaseService.findById(id));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         } catch (IllegalStateException e) {
@@ -113,8 +110,7 @@ public class PurchaseController {
     public ResponseEntity<PurchaseResponseDto> cancelPurchase(@PathVariable Long id) {
         try {
             purchaseService.cancelPurchase(id);
-            Purchase purchase = purchaseService.findById(id);
-            return ResponseEntity.ok(PurchaseResponseDto.fromEntity(purchase));
+            return ResponseEntity.ok(purchaseService.findById(id));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         } catch (IllegalStateException e) {
@@ -0,0 +1,38 @@
+package monaditto.cinemaproject.RESTcontrollers;
+
+import jakarta.annotation.security.RolesAllowed;
+import monaditto.cinemaproject.querystats.EndpointQueryStats;
+import monaditto.cinemaproject.querystats.QueryStatsRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/query-stats")
+public class QueryStatsController {
+
+    private final QueryStatsRegistry registry;
+
+    @Autowired
+    public QueryStatsController(QueryStatsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @RolesAllowed({"ADMIN"})
+    @GetMapping
+    public ResponseEntity<List<EndpointQueryStats>> getQueryStats() {
+        return ResponseEntity.ok(registry.stats());
+    }
+
+    @RolesAllowed({"ADMIN"})
+    @DeleteMapping
+    public ResponseEntity<Void> resetQueryStats() {
+        registry.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
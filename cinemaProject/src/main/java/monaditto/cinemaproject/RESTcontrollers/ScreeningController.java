@@ -1,10 +1,12 @@
 package monaditto.cinemaproject.RESTcontrollers;
 
 import jakarta.annotation.security.RolesAllowed;
+import monaditto.cinemaproject.catalog.CatalogReadModel;
 import monaditto.cinemaproject.screening.Screening;
 import monaditto.cinemaproject.screening.ScreeningDto;
 import monaditto.cinemaproject.screening.ScreeningService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,11 +22,13 @@ public class ScreeningController {
     @Autowired
     private ScreeningService screeningService;
 
+    @Autowired
+    private CatalogReadModel catalogReadModel;
+
     @RolesAllowed({"ADMIN","CASHIER", "USER"})
     @GetMapping
-    public ResponseEntity<List<ScreeningDto>> getAllScreenings() {
-        List<ScreeningDto> screenings = screeningService.getAllScreenings();
-        return ResponseEntity.ok(screenings);
+    public ResponseEntity<byte[]> getAllScreenings() {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(catalogReadModel.getScreeningsJson());
     }
 
     @RolesAllowed({"ADMIN"})
@@ -37,7 +41,7 @@ public class ScreeningController {
     @RolesAllowed({"ADMIN","CASHIER", "USER"})
     @GetMapping("/{id}")
     public ResponseEntity<ScreeningDto> getScreeningById(@PathVariable Long id) {
-        Optional<ScreeningDto> screening = screeningService.getScreeningById(id);
+        Optional<ScreeningDto> screening = catalogReadModel.getScreeningById(id);
         return screening.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -60,14 +64,14 @@ public class ScreeningController {
     @RolesAllowed({"ADMIN","CASHIER", "USER"})
     @GetMapping("/by-date")
     public ResponseEntity<List<ScreeningDto>> getScreeningsByDate(@RequestParam LocalDate date) {
-        List<ScreeningDto> screenings = screeningService.getScreeningsByDate(date);
+        List<ScreeningDto> screenings = catalogReadModel.getScreeningsByDate(date);
         return ResponseEntity.ok(screenings);
     }
 
     @RolesAllowed({"ADMIN","CASHIER", "USER"})
     @GetMapping("/upcoming")
     public ResponseEntity<List<ScreeningDto>> getUpcomingScreenings(@RequestParam LocalDateTime dateTime) {
-        List<ScreeningDto> screenings = screeningService.getUpcomingScreeningsAfter(dateTime);
+        List<ScreeningDto> screenings = catalogReadModel.getUpcomingScreeningsAfter(dateTime);
         return ResponseEntity.ok(screenings);
     }
 }
@@ -2,16 +2,35 @@ package monaditto.cinemaproject.RESTcontrollers;
 
 import jakarta.annotation.security.RolesAllowed;
 import monaditto.cinemaproject.category.CategoryDto;
+import monaditto.cinemaproject.statistics.CohortRetentionDto;
+import monaditto.cinemaproject.statistics.CohortService;
+import monaditto.cinemaproject.statistics.MovieSeatsEstimateDto;
 import monaditto.cinemaproject.statistics.MovieWithEarningsDto;
+import monaditto.cinemaproject.statistics.OccupancyHeatmapDto;
 import monaditto.cinemaproject.statistics.PeriodType;
+import monaditto.cinemaproject.statistics.SalesRollupService;
+import monaditto.cinemaproject.statistics.SketchAnalyticsService;
+import monaditto.cinemaproject.statistics.StatisticsCache;
+import monaditto.cinemaproject.statistics.StatisticsDashboardDto;
+import monaditto.cinemaproject.statistics.StatisticsDashboardService;
 import monaditto.cinemaproject.statistics.StatisticsService;
+import monaditto.cinemaproject.statistics.TicketDistributionsDto;
+import monaditto.cinemaproject.statistics.TimeBucket;
+import monaditto.cinemaproject.statistics.TimeSeriesPointDto;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/statistics")
 public class StatisticsController {
@@ -19,6 +38,27 @@ public class StatisticsController {
     @Autowired
     private StatisticsService statisticsService;
 
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private StatisticsDashboardService statisticsDashboardService;
+
+    @Autowired
+    private SketchAnalyticsService sketchAnalyticsService;
+
+    @Autowired
+    private CohortService cohortService;
+
+    @Autowired
+    private StatisticsCache statisticsCache;
+
+    @RolesAllowed({"ADMIN"})
+    @GetMapping("/dashboard")
+    public StatisticsDashboardDto getDashboard() {
+        return statisticsDashboardService.getDashboard();
+    }
+
     @RolesAllowed({"ADMIN"})
     @GetMapping("/revenue/{periodType}")
     public ResponseEntity<Double> getRevenueForPeriod(@PathVariable PeriodType periodType) {
@@ -44,4 +84,82 @@ public class StatisticsController {
         double averageAttendance = statisticsService.getAverageAttendanceForPeriod(periodType);
         return ResponseEntity.ok(averageAttendance);
     }
+
+    @RolesAllowed({"ADMIN"})
+    @PostMapping("/rollups/backfill")
+    public ResponseEntity<Void> backfillRollups() {
+        salesRollupService.backfill();
+        statisticsCache.invalidateAll();
+        return ResponseEntity.ok().build();
+    }
+
+    @RolesAllowed({"ADMIN"})
+    @GetMapping("/series")
+    public ResponseEntity<List<TimeSeriesPointDto>> getSalesSeries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam TimeBucket bucket,
+            @RequestParam(required = false) Long movieId,
+            @RequestParam(required = false) Long roomId) {
+        try {
+            return ResponseEntity.ok(statisticsService.getSalesSeries(from, to, bucket, movieId, roomId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @RolesAllowed({"ADMIN"})
+    @GetMapping("/unique-buyers")
+    public ResponseEntity<Long> getUniqueBuyers(@RequestParam LocalDate from, @RequestParam LocalDate to) {
+        try {
+            return ResponseEntity.ok(sketchAnalyticsService.getUniqueBuyers(from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @RolesAllowed({"ADMIN"})
+    @GetMapping("/top-movies-estimate")
+    public ResponseEntity<List<MovieSeatsEstimateDto>> getTopMovieEstimates(@RequestParam LocalDate from,
+                                                                            @RequestParam LocalDate to,
+                                                                            @RequestParam(defaultValue = "5") int limit) {
+        try {
+            return ResponseEntity.ok(sketchAnalyticsService.getTopMovieEstimates(from, to, Math.min(limit, 20)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @RolesAllowed({"ADMIN"})
+    @GetMapping("/ticket-distributions")
+    public ResponseEntity<TicketDistributionsDto> getTicketDistributions(@RequestParam LocalDate from,
+                                                                         @RequestParam LocalDate to) {
+        try {
+            return ResponseEntity.ok(sketchAnalyticsService.getTicketDistributions(from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @RolesAllowed({"ADMIN"})
+    @GetMapping("/occupancy")
+    public ResponseEntity<OccupancyHeatmapDto> getOccupancyHeatmap(@RequestParam LocalDate from,
+                                                                   @RequestParam LocalDate to,
+                                                                   @RequestParam(defaultValue = "1") int slotHours) {
+        try {
+            return ResponseEntity.ok(statisticsService.getOccupancyHeatmap(from, to, slotHours));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @RolesAllowed({"ADMIN"})
+    @GetMapping("/cohorts")
+    public ResponseEntity<List<CohortRetentionDto>> getCohortRetention(@RequestParam(defaultValue = "6") int cohorts,
+                                                                       @RequestParam(defaultValue = "6") int months) {
+        if (cohorts < 1 || cohorts > 60 || months < 0 || months > 60) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(cohortService.getRetention(cohorts, months));
+    }
 }
@@ -3,17 +3,23 @@ package monaditto.cinemaproject;
 
 import monaditto.cinemaproject.crypto.CustomPasswordEncoder;
 import monaditto.cinemaproject.crypto.PasswordHasher;
+import monaditto.cinemaproject.jwt.JwtAuthenticationFilter;
+import monaditto.cinemaproject.jwt.JwtService;
 import monaditto.cinemaproject.user.CustomUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 
 
@@ -29,11 +35,14 @@ public class SecurityConfig {
 
     private final CustomUserDetailsService customUserDetailsService;
     private final PasswordHasher passwordHasher;
+    private final JwtService jwtService;
 
     @Autowired
-    public SecurityConfig(CustomUserDetailsService customUserDetailsService, PasswordHasher passwordHasher) {
+    public SecurityConfig(CustomUserDetailsService customUserDetailsService, PasswordHasher passwordHasher,
+                          JwtService jwtService) {
         this.customUserDetailsService = customUserDetailsService;
         this.passwordHasher = passwordHasher;
+        this.jwtService = jwtService;
     }
 
     @Bean
@@ -41,30 +50,30 @@ public class SecurityConfig {
 
         http
             .authorizeHttpRequests((requests) -> requests
-                .requestMatchers("/api/auth/login","/api/registration").permitAll()
+                .requestMatchers("/api/auth/login","/api/auth/refresh","/api/registration").permitAll()
                 .anyRequest().authenticated()
             )
             .csrf(AbstractHttpConfigurer::disable)
             .cors(withDefaults())
             .sessionManagement(sessionManagement -> sessionManagement
-                    .sessionCreationPolicy(SessionCreationPolicy.ALWAYS)
+                    .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
-            .httpBasic(withDefaults());
+            .exceptionHandling(exceptionHandling -> exceptionHandling
+                    .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
+            )
+            .addFilterBefore(new JwtAuthenticationFilter(jwtService), UsernamePasswordAuthenticationFilter.class);
 
-        http.authenticationManager(authenticationManager(http));
+        http.authenticationManager(authenticationManager());
 
         return http.build();
     }
 
     @Bean
-    public AuthenticationManager authenticationManager(HttpSecurity http) throws Exception {
-        AuthenticationManagerBuilder authBuilder =
-                http.getSharedObject(AuthenticationManagerBuilder.class);
-
-        authBuilder
-                .userDetailsService(customUserDetailsService)
-                .passwordEncoder(passwordEncoder());
-        return authBuilder.build();
+    public AuthenticationManager authenticationManager() {
+        DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider(passwordEncoder());
+        authenticationProvider.setUserDetailsService(customUserDetailsService);
+        authenticationProvider.setUserDetailsPasswordService(customUserDetailsService);
+        return new ProviderManager(authenticationProvider);
     }
 
     @Bean
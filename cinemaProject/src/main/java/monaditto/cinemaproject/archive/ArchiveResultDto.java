@@ -0,0 +1,6 @@
+package monaditto.cinemaproject.archive;
+
+public record ArchiveResultDto(
+        int screenings,
+        int purchases
+) {}
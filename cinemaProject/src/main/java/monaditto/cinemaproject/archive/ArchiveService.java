@@ -0,0 +1,127 @@
+package monaditto.cinemaproject.archive;
+
+import jakarta.annotation.PreDestroy;
+import monaditto.cinemaproject.purchase.PurchaseResponseDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class ArchiveService {
+
+    private final ArchivedScreeningRepository archivedScreeningRepository;
+
+    private final ArchivedPurchaseRepository archivedPurchaseRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final boolean enabled;
+
+    private final int horizonDays;
+
+    private final int chunkSize;
+
+    private final long intervalHours;
+
+    private final ScheduledExecutorService archiveExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "archive");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public ArchiveService(ArchivedScreeningRepository archivedScreeningRepository,
+                          ArchivedPurchaseRepository archivedPurchaseRepository,
+                          PlatformTransactionManager transactionManager,
+                          ApplicationEventPublisher eventPublisher,
+                          @Value("${archive.enabled}") boolean enabled,
+                          @Value("${archive.horizon-days}") int horizonDays,
+                          @Value("${archive.chunk-size}") int chunkSize,
+                          @Value("${archive.interval-hours}") long intervalHours) {
+        this.archivedScreeningRepository = archivedScreeningRepository;
+        this.archivedPurchaseRepository = archivedPurchaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.horizonDays = horizonDays;
+        this.chunkSize = chunkSize;
+        this.intervalHours = intervalHours;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleArchival() {
+        if (enabled) {
+            archiveExecutor.scheduleWithFixedDelay(this::archiveQuietly, 0, intervalHours, TimeUnit.HOURS);
+        }
+    }
+
+    public synchronized ArchiveResultDto archive() {
+        LocalDateTime cutoff = LocalDate.now().minusDays(horizonDays).atStartOfDay();
+        List<Long> archivedScreeningIds = new ArrayList<>();
+        int purchases = 0;
+
+        while (true) {
+            ArchiveResultDto chunk = transactionTemplate.execute(status -> archiveChunk(cutoff, archivedScreeningIds));
+            if (chunk == null || chunk.screenings() == 0) {
+                break;
+            }
+            purchases += chunk.purchases();
+        }
+
+        if (!archivedScreeningIds.isEmpty()) {
+            eventPublisher.publishEvent(new ScreeningsArchivedEvent(List.copyOf(archivedScreeningIds)));
+        }
+        return new ArchiveResultDto(archivedScreeningIds.size(), purchases);
+    }
+
+    public List<PurchaseResponseDto> getPurchaseHistory(Long userId) {
+        return archivedPurchaseRepository.findHistoryByUserId(userId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        archiveExecutor.shutdownNow();
+    }
+
+    private ArchiveResultDto archiveChunk(LocalDateTime cutoff, List<Long> archivedScreeningIds) {
+        List<Long> screeningIds = archivedScreeningRepository.findLiveIdsStartedBefore(cutoff, chunkSize);
+        if (screeningIds.isEmpty()) {
+            return new ArchiveResultDto(0, 0);
+        }
+
+        LocalDateTime archivedAt = LocalDateTime.now();
+        int purchases = archivedPurchaseRepository.copyFromLive(screeningIds, archivedAt);
+        archivedScreeningRepository.copyFromLive(screeningIds, archivedAt);
+        archivedPurchaseRepository.deleteLive(screeningIds);
+        archivedScreeningRepository.deleteLive(screeningIds);
+        archivedScreeningIds.addAll(screeningIds);
+        return new ArchiveResultDto(screeningIds.size(), purchases);
+    }
+
+    private void archiveQuietly() {
+        try {
+            ArchiveResultDto result = archive();
+            if (result.screenings() > 0) {
+                System.out.println("Archived " + result.screenings() + " screenings and "
+                        + result.purchases() + " purchases");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Archival failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package monaditto.cinemaproject.archive;
+
+import jakarta.persistence.*;
+import monaditto.cinemaproject.purchase.ReservationStatus;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = ArchivedPurchase.TABLE_NAME)
+public class ArchivedPurchase {
+
+    public static final String TABLE_NAME = "purchases_archive";
+
+    @Id
+    @Column(name = "purchase_id")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "screening_id", nullable = false)
+    private Long screeningId;
+
+    @Column(name = "bought_seats", nullable = false)
+    private int boughtSeats;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reservation_status", nullable = false)
+    private ReservationStatus reservationStatus;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    public ArchivedPurchase() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getScreeningId() {
+        return screeningId;
+    }
+
+    public int getBoughtSeats() {
+        return boughtSeats;
+    }
+
+    public ReservationStatus getReservationStatus() {
+        return reservationStatus;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
@@ -0,0 +1,67 @@
+package monaditto.cinemaproject.archive;
+
+import monaditto.cinemaproject.purchase.PurchaseResponseDto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ArchivedPurchaseRepository extends JpaRepository<ArchivedPurchase, Long> {
+
+    @Query("SELECT new monaditto.cinemaproject.purchase.PurchaseResponseDto(" +
+            "p.id, p.userId, s.id, CONCAT(u.firstName, ' ', u.lastName), m.title, s.start, " +
+            "p.boughtSeats, p.reservationStatus) " +
+            "FROM ArchivedPurchase p JOIN ArchivedScreening s ON s.id = p.screeningId " +
+            "LEFT JOIN User u ON u.id = p.userId LEFT JOIN Movie m ON m.id = s.movieId " +
+            "WHERE p.userId = :userId ORDER BY s.start DESC")
+    List<PurchaseResponseDto> findHistoryByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT DISTINCT s.movieId, p.userId FROM ArchivedPurchase p " +
+            "JOIN ArchivedScreening s ON s.id = p.screeningId WHERE p.reservationStatus = 'PAID'")
+    List<Object[]> findPaidMovieUserPairs();
+
+    @Query("SELECT DISTINCT s.movieId, p.userId FROM ArchivedPurchase p " +
+            "JOIN ArchivedScreening s ON s.id = p.screeningId WHERE p.reservationStatus = 'PAID' " +
+            "AND s.movieId IN :movieIds AND p.userId IN :userIds")
+    List<Object[]> findPaidMovieUserPairsAmong(@Param("movieIds") Collection<Long> movieIds,
+                                               @Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT s.start, s.id, s.movieId, s.roomId, p.boughtSeats, s.price, p.userId FROM ArchivedPurchase p " +
+            "JOIN ArchivedScreening s ON s.id = p.screeningId WHERE p.reservationStatus = 'PAID'")
+    List<Object[]> findPaidSales();
+
+    @Query("SELECT s.start, s.id, s.movieId, s.roomId, p.boughtSeats, s.price, p.userId FROM ArchivedPurchase p " +
+            "JOIN ArchivedScreening s ON s.id = p.screeningId WHERE p.reservationStatus = 'PAID' " +
+            "AND s.start >= :start AND s.start < :end")
+    List<Object[]> findPaidSalesBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT DISTINCT p.userId FROM ArchivedPurchase p JOIN ArchivedScreening s ON s.id = p.screeningId " +
+            "WHERE p.reservationStatus = 'PAID' AND s.start >= :start AND s.start < :end")
+    List<Long> findPaidUserIdsBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT COUNT(p) > 0 FROM ArchivedPurchase p JOIN ArchivedScreening s ON s.id = p.screeningId " +
+            "WHERE p.userId = :userId AND s.movieId = :movieId AND p.reservationStatus = 'PAID'")
+    boolean existsPaidByUserIdAndMovieId(@Param("userId") Long userId, @Param("movieId") Long movieId);
+
+    @Query("SELECT COUNT(p) > 0 FROM ArchivedPurchase p JOIN ArchivedScreening s ON s.id = p.screeningId " +
+            "WHERE p.userId = :userId AND p.reservationStatus = 'PAID' " +
+            "AND s.start >= :start AND s.start < :end")
+    boolean existsPaidByUserIdBetween(@Param("userId") Long userId,
+                                      @Param("start") LocalDateTime start,
+                                      @Param("end") LocalDateTime end);
+
+    @Modifying
+    @Query(value = "INSERT INTO purchases_archive " +
+            "(purchase_id, user_id, screening_id, bought_seats, reservation_status, archived_at) " +
+            "SELECT purchase_id, user_id, screening_id, bought_seats, reservation_status, :archivedAt FROM purchases " +
+            "WHERE screening_id IN (:screeningIds)", nativeQuery = true)
+    int copyFromLive(@Param("screeningIds") List<Long> screeningIds, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query(value = "DELETE FROM purchases WHERE screening_id IN (:screeningIds)", nativeQuery = true)
+    int deleteLive(@Param("screeningIds") List<Long> screeningIds);
+}
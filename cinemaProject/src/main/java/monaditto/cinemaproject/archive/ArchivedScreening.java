@@ -0,0 +1,57 @@
+package monaditto.cinemaproject.archive;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = ArchivedScreening.TABLE_NAME)
+public class ArchivedScreening {
+
+    public static final String TABLE_NAME = "screenings_archive";
+
+    @Id
+    @Column(name = "screening_id")
+    private Long id;
+
+    @Column(name = "movie_id", nullable = false)
+    private Long movieId;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(nullable = false)
+    private LocalDateTime start;
+
+    @Column(nullable = false)
+    private Double price;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    public ArchivedScreening() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getMovieId() {
+        return movieId;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
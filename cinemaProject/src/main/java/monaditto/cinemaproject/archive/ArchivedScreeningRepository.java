@@ -0,0 +1,28 @@
+package monaditto.cinemaproject.archive;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ArchivedScreeningRepository extends JpaRepository<ArchivedScreening, Long> {
+
+    List<ArchivedScreening> findByStartBetweenOrderByStart(LocalDateTime dateFrom, LocalDateTime dateTo);
+
+    @Query(value = "SELECT screening_id FROM screenings WHERE start < :cutoff " +
+            "ORDER BY start, screening_id LIMIT :limit", nativeQuery = true)
+    List<Long> findLiveIdsStartedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO screenings_archive (screening_id, movie_id, room_id, start, price, archived_at) " +
+            "SELECT screening_id, movie_id, room_id, start, price, :archivedAt FROM screenings " +
+            "WHERE screening_id IN (:ids)", nativeQuery = true)
+    int copyFromLive(@Param("ids") List<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query(value = "DELETE FROM screenings WHERE screening_id IN (:ids)", nativeQuery = true)
+    int deleteLive(@Param("ids") List<Long> ids);
+}
@@ -0,0 +1,7 @@
+package monaditto.cinemaproject.archive;
+
+import java.util.List;
+
+public record ScreeningsArchivedEvent(
+        List<Long> screeningIds
+) {}
@@ -0,0 +1,17 @@
+package monaditto.cinemaproject.cache;
+
+public record CacheStats(
+        String name,
+        long size,
+        long maxSize,
+        long hits,
+        long misses,
+        long evictions,
+        double hitRate
+) {
+    public static CacheStats of(String name, long size, long maxSize, long hits, long misses, long evictions) {
+        long requests = hits + misses;
+        double hitRate = requests == 0 ? 0.0 : (double) hits / requests;
+        return new CacheStats(name, size, maxSize, hits, misses, evictions, hitRate);
+    }
+}
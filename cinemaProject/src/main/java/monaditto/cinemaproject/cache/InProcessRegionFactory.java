@@ -0,0 +1,68 @@
+package monaditto.cinemaproject.cache;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+public class InProcessRegionFactory extends RegionFactoryTemplate {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient SecondLevelCacheProperties properties;
+
+    private final transient Map<String, LruStorageAccess> regions = new ConcurrentSkipListMap<>();
+
+    public InProcessRegionFactory(SecondLevelCacheProperties properties) {
+        this.properties = properties;
+    }
+
+    public List<CacheStats> stats() {
+        return regions.values().stream()
+                .map(LruStorageAccess::stats)
+                .toList();
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        regions.clear();
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regions.values().forEach(LruStorageAccess::release);
+        regions.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return register(regionConfig.getRegionName(), properties.maxSizeOf(regionConfig.getRegionName()));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return register(regionName, properties.maxSizeOf(regionName));
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        // an evicted timestamp would make a stale query result look up to date
+        return register(regionName, LruStorageAccess.UNBOUNDED);
+    }
+
+    private LruStorageAccess register(String regionName, int maxSize) {
+        LruStorageAccess storageAccess = new LruStorageAccess(regionName, maxSize);
+        regions.put(regionName, storageAccess);
+        return storageAccess;
+    }
+}
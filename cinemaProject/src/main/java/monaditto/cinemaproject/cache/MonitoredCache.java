@@ -0,0 +1,6 @@
+package monaditto.cinemaproject.cache;
+
+public interface MonitoredCache {
+
+    CacheStats stats();
+}
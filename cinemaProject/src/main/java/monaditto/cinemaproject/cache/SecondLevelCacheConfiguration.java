@@ -0,0 +1,24 @@
+package monaditto.cinemaproject.cache;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SecondLevelCacheConfiguration {
+
+    @Bean
+    InProcessRegionFactory inProcessRegionFactory(SecondLevelCacheProperties properties) {
+        return new InProcessRegionFactory(properties);
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCache(InProcessRegionFactory regionFactory) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, regionFactory);
+        };
+    }
+}
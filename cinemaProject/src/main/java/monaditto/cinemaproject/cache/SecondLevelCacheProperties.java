@@ -0,0 +1,16 @@
+package monaditto.cinemaproject.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "second-level-cache")
+public record SecondLevelCacheProperties(
+        @DefaultValue("1000") int defaultMaxSize,
+        @DefaultValue Map<String, Integer> regions
+) {
+    public int maxSizeOf(String regionName) {
+        return regions.getOrDefault(regionName, defaultMaxSize);
+    }
+}
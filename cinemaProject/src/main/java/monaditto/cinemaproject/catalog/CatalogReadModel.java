@@ -0,0 +1,241 @@
+package monaditto.cinemaproject.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import monaditto.cinemaproject.archive.ScreeningsArchivedEvent;
+import monaditto.cinemaproject.category.CategoryChangedEvent;
+import monaditto.cinemaproject.category.CategoryDto;
+import monaditto.cinemaproject.category.CategoryRepository;
+import monaditto.cinemaproject.movie.MovieChangedEvent;
+import monaditto.cinemaproject.movie.MovieDto;
+import monaditto.cinemaproject.movie.MovieRepository;
+import monaditto.cinemaproject.movieRoom.MovieRoomChangedEvent;
+import monaditto.cinemaproject.movieRoom.MovieRoomDto;
+import monaditto.cinemaproject.movieRoom.MovieRoomRepository;
+import monaditto.cinemaproject.screening.ScreeningChangedEvent;
+import monaditto.cinemaproject.screening.ScreeningDto;
+import monaditto.cinemaproject.screening.ScreeningRepository;
+import monaditto.cinemaproject.seed.SeedLoadedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+@Component
+public class CatalogReadModel {
+
+    private static final Comparator<ScreeningDto> BY_START = Comparator
+            .comparing(ScreeningDto::start)
+            .thenComparing(ScreeningDto::id);
+
+    private final MovieRepository movieRepository;
+
+    private final CategoryRepository categoryRepository;
+
+    private final MovieRoomRepository movieRoomRepository;
+
+    private final ScreeningRepository screeningRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private volatile CatalogSnapshot snapshot;
+
+    @Autowired
+    public CatalogReadModel(MovieRepository movieRepository,
+                            CategoryRepository categoryRepository,
+                            MovieRoomRepository movieRoomRepository,
+                            ScreeningRepository screeningRepository,
+                            PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper) {
+        this.movieRepository = movieRepository;
+        this.categoryRepository = categoryRepository;
+        this.movieRoomRepository = movieRoomRepository;
+        this.screeningRepository = screeningRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+    }
+
+    public byte[] getMoviesJson() {
+        return current().movies().json();
+    }
+
+    public byte[] getCategoriesJson() {
+        return current().categories().json();
+    }
+
+    public byte[] getMovieRoomsJson() {
+        return current().rooms().json();
+    }
+
+    public byte[] getScreeningsJson() {
+        return current().screenings().json();
+    }
+
+    public Optional<ScreeningDto> getScreeningById(Long id) {
+        return Optional.ofNullable(current().screenings().byId().get(id));
+    }
+
+    public List<ScreeningDto> getScreeningsByDate(LocalDate date) {
+        return List.copyOf(current().screeningsByStart().subSet(
+                probe(date.atStartOfDay(), Long.MIN_VALUE), true,
+                probe(date.atTime(23, 59, 59), Long.MAX_VALUE), true));
+    }
+
+    public List<ScreeningDto> getUpcomingScreeningsAfter(LocalDateTime dateTime) {
+        return List.copyOf(current().screeningsByStart().tailSet(probe(dateTime, Long.MAX_VALUE), false));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @EventListener
+    public void onSeedLoaded(SeedLoadedEvent event) {
+        if (snapshot != null) {
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        patch(current -> movieRepository.findById(event.movieId())
+                .map(movie -> withMovies(current, put(current.movies(), event.movieId(), MovieDto.movieToMovieDto(movie))))
+                .orElseGet(() -> withScreenings(
+                        withMovies(current, remove(current.movies(), event.movieId())),
+                        removeIf(current.screenings(), screening -> event.movieId().equals(screening.movieId())))));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        patch(current -> {
+            NavigableMap<Long, CategoryDto> categories = categoryRepository.findById(event.categoryId())
+                    .map(category -> put(current.categories(), event.categoryId(), CategoryDto.categoryToCategoryDto(category)))
+                    .orElseGet(() -> remove(current.categories(), event.categoryId()));
+            return new CatalogSnapshot(current.movies(), section(categories), current.rooms(),
+                    current.screenings(), current.screeningsByStart());
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieRoomChanged(MovieRoomChangedEvent event) {
+        patch(current -> movieRoomRepository.findById(event.movieRoomId())
+                .map(room -> withRooms(current, put(current.rooms(), event.movieRoomId(), MovieRoomDto.movieRoomtoMovieRoomDto(room))))
+                .orElseGet(() -> withScreenings(
+                        withRooms(current, remove(current.rooms(), event.movieRoomId())),
+                        removeIf(current.screenings(), screening -> event.movieRoomId().equals(screening.movieRoomId())))));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScreeningChanged(ScreeningChangedEvent event) {
+        patch(current -> withScreenings(current, screeningRepository.findDtoById(event.screeningId())
+                .map(screening -> put(current.screenings(), event.screeningId(), screening))
+                .orElseGet(() -> remove(current.screenings(), event.screeningId()))));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScreeningsArchived(ScreeningsArchivedEvent event) {
+        Set<Long> archived = new HashSet<>(event.screeningIds());
+        patch(current -> withScreenings(current, removeIf(current.screenings(), screening -> archived.contains(screening.id()))));
+    }
+
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        snapshot = transactionTemplate.execute(status -> {
+            NavigableMap<Long, ScreeningDto> screenings = index(screeningRepository.findAllDtos(), ScreeningDto::id);
+            return new CatalogSnapshot(
+                    section(index(movieRepository.findAllDtos(), MovieDto::id)),
+                    section(index(categoryRepository.findAll().stream().map(CategoryDto::categoryToCategoryDto).toList(), CategoryDto::id)),
+                    section(index(movieRoomRepository.findAll().stream().map(MovieRoomDto::movieRoomtoMovieRoomDto).toList(), MovieRoomDto::id)),
+                    section(screenings),
+                    byStart(screenings.values()));
+        });
+        System.out.println("Built catalog read model in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private CatalogSnapshot current() {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            rebuild();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private synchronized void patch(Function<CatalogSnapshot, CatalogSnapshot> change) {
+        if (snapshot == null) {
+            return;
+        }
+        snapshot = transactionTemplate.execute(status -> change.apply(snapshot));
+    }
+
+    private CatalogSnapshot withMovies(CatalogSnapshot current, NavigableMap<Long, MovieDto> movies) {
+        return new CatalogSnapshot(section(movies), current.categories(), current.rooms(),
+                current.screenings(), current.screeningsByStart());
+    }
+
+    private CatalogSnapshot withRooms(CatalogSnapshot current, NavigableMap<Long, MovieRoomDto> rooms) {
+        return new CatalogSnapshot(current.movies(), current.categories(), section(rooms),
+                current.screenings(), current.screeningsByStart());
+    }
+
+    private CatalogSnapshot withScreenings(CatalogSnapshot current, NavigableMap<Long, ScreeningDto> screenings) {
+        return new CatalogSnapshot(current.movies(), current.categories(), current.rooms(),
+                section(screenings), byStart(screenings.values()));
+    }
+
+    private <T> CatalogSection<T> section(NavigableMap<Long, T> byId) {
+        List<T> values = List.copyOf(byId.values());
+        try {
+            return new CatalogSection<>(Collections.unmodifiableNavigableMap(byId), values,
+                    objectMapper.writeValueAsBytes(values));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize catalog section", e);
+        }
+    }
+
+    private static <T> NavigableMap<Long, T> index(List<T> values, Function<T, Long> id) {
+        NavigableMap<Long, T> byId = new TreeMap<>();
+        values.forEach(value -> byId.put(id.apply(value), value));
+        return byId;
+    }
+
+    private static <T> NavigableMap<Long, T> put(CatalogSection<T> section, Long id, T value) {
+        NavigableMap<Long, T> byId = new TreeMap<>(section.byId());
+        byId.put(id, value);
+        return byId;
+    }
+
+    private static <T> NavigableMap<Long, T> remove(CatalogSection<T> section, Long id) {
+        NavigableMap<Long, T> byId = new TreeMap<>(section.byId());
+        byId.remove(id);
+        return byId;
+    }
+
+    private static <T> NavigableMap<Long, T> removeIf(CatalogSection<T> section, Predicate<T> filter) {
+        NavigableMap<Long, T> byId = new TreeMap<>(section.byId());
+        byId.values().removeIf(filter);
+        return byId;
+    }
+
+    private static NavigableSet<ScreeningDto> byStart(Collection<ScreeningDto> screenings) {
+        NavigableSet<ScreeningDto> byStart = new TreeSet<>(BY_START);
+        byStart.addAll(screenings);
+        return Collections.unmodifiableNavigableSet(byStart);
+    }
+
+    private static ScreeningDto probe(LocalDateTime start, long id) {
+        return new ScreeningDto(id, null, null, start, null);
+    }
+}
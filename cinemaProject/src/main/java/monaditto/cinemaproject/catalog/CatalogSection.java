@@ -0,0 +1,10 @@
+package monaditto.cinemaproject.catalog;
+
+import java.util.List;
+import java.util.NavigableMap;
+
+record CatalogSection<T>(
+        NavigableMap<Long, T> byId,
+        List<T> values,
+        byte[] json
+) {}
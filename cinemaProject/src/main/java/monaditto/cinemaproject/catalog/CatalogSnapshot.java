@@ -0,0 +1,16 @@
+package monaditto.cinemaproject.catalog;
+
+import monaditto.cinemaproject.category.CategoryDto;
+import monaditto.cinemaproject.movie.MovieDto;
+import monaditto.cinemaproject.movieRoom.MovieRoomDto;
+import monaditto.cinemaproject.screening.ScreeningDto;
+
+import java.util.NavigableSet;
+
+record CatalogSnapshot(
+        CatalogSection<MovieDto> movies,
+        CatalogSection<CategoryDto> categories,
+        CatalogSection<MovieRoomDto> rooms,
+        CatalogSection<ScreeningDto> screenings,
+        NavigableSet<ScreeningDto> screeningsByStart
+) {}
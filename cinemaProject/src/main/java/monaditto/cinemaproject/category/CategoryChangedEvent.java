@@ -0,0 +1,5 @@
+package monaditto.cinemaproject.category;
+
+public record CategoryChangedEvent(
+        Long categoryId
+) {}
@@ -1,7 +1,10 @@
 package monaditto.cinemaproject.category;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
@@ -9,8 +12,16 @@ import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Category> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Category> findByCategoryName(String categoryName);
 
+    @Query("SELECT c.id FROM Movie m JOIN m.categories c WHERE m.id = :movieId")
+    List<Long> findCategoryIdsByMovieId(@Param("movieId") Long movieId);
+
     @Query(
             value = "SELECT c.category_id, COUNT(*) AS category_count " +
                     "FROM purchases p " +
@@ -1,13 +1,14 @@
 package monaditto.cinemaproject.category;
 
+import monaditto.cinemaproject.trending.RankedItem;
+import monaditto.cinemaproject.trending.TrendingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -15,9 +16,16 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
 
+    private final TrendingService trendingService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     @Autowired
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, TrendingService trendingService,
+                           ApplicationEventPublisher eventPublisher) {
         this.categoryRepository = categoryRepository;
+        this.trendingService = trendingService;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<CategoryDto> getCategories() {
@@ -26,12 +34,29 @@ public class CategoryService {
                 .toList();
     }
 
+    public List<TrendingCategoryDto> getTrendingCategories() {
+        int maxSize = 5;
+
+        List<RankedItem> trendingCategories = trendingService.getTrendingCategories(maxSize);
+        Map<Long, Category> categoriesById = categoryRepository.findAllById(
+                        trendingCategories.stream().map(RankedItem::id).toList()).stream()
+                .collect(Collectors.toMap(Category::getCategoryId, category -> category));
+
+        return trendingCategories.stream()
+                .filter(rankedItem -> categoriesById.containsKey(rankedItem.id()))
+                .map(rankedItem -> new TrendingCategoryDto(
+                        CategoryDto.categoryToCategoryDto(categoriesById.get(rankedItem.id())),
+                        rankedItem.score()))
+                .toList();
+    }
+
     public CategoryCreateStatus createCategory(CategoryDto categoryDto) {
         if (categoryRepository.findByCategoryName(categoryDto.categoryName()).isPresent()) {
             return CategoryCreateStatus.CATEGORY_NAME_TAKEN;
         }
         Category category = new Category(categoryDto.categoryName());
         categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getCategoryId()));
         return CategoryCreateStatus.SUCCESS;
     }
 
@@ -64,6 +89,7 @@ public class CategoryService {
             Category category = optionalCategory.get();
             category.setCategoryName(categoryDto.categoryName());
             categoryRepository.save(category);
+            eventPublisher.publishEvent(new CategoryChangedEvent(id));
             return CategoryCreateStatus.SUCCESS;
         }
         return CategoryCreateStatus.INCORRECT_ID;
@@ -74,6 +100,8 @@ public class CategoryService {
         if (optionalCategory.isPresent()) {
             Category category = optionalCategory.get();
             categoryRepository.delete(category);
+            trendingService.removeCategory(id);
+            eventPublisher.publishEvent(new CategoryChangedEvent(id));
             return true;
         }
         return false;
@@ -0,0 +1,8 @@
+package monaditto.cinemaproject.category;
+
+public record TrendingCategoryDto(
+
+        CategoryDto categoryDto,
+
+        Double score
+) {}
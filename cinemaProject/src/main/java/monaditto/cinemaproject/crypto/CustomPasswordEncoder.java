@@ -1,15 +1,11 @@
 package monaditto.cinemaproject.crypto;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.stereotype.Component;
 
-@Component
 public class CustomPasswordEncoder implements PasswordEncoder {
 
     private final PasswordHasher passwordHasher;
 
-    @Autowired
     public CustomPasswordEncoder(PasswordHasher passwordHasher) {
         this.passwordHasher = passwordHasher;
     }
@@ -22,6 +18,11 @@ public class CustomPasswordEncoder implements PasswordEncoder {
 
     @Override
     public boolean matches(CharSequence rawPassword, String encodedPassword) {
-        return encode(rawPassword).equals(encodedPassword);
+        return passwordHasher.matches(rawPassword.toString(), encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordHasher.needsRehash(encodedPassword);
     }
 }
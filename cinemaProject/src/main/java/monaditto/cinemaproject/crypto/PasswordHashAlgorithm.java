@@ -0,0 +1,14 @@
+package monaditto.cinemaproject.crypto;
+
+public interface PasswordHashAlgorithm {
+
+    String id();
+
+    boolean supports(String encodedPassword);
+
+    String hash(String rawPassword);
+
+    boolean verify(String rawPassword, String encodedPassword);
+
+    boolean needsRehash(String encodedPassword);
+}
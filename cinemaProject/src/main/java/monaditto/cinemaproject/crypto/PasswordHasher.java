@@ -1,38 +1,93 @@
 package monaditto.cinemaproject.crypto;
 
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.concurrent.*;
 
 @Component
 public class PasswordHasher {
 
-    //yes i did hardcode pepper, problem?
-    private final String PEPPER = "THE MOST SECURE PEEPER EVER!!!!1!1!1!!";
+    private final List<PasswordHashAlgorithm> algorithms;
 
-    public String hashPassword(String password) {
-        try {
-            String pepperedPassword = password + PEPPER;
+    private final PasswordHashAlgorithm currentAlgorithm;
 
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
+    private final ThreadPoolExecutor hashingExecutor;
 
-            byte[] hashBytes = md.digest(pepperedPassword.getBytes());
+    private final long maxWaitMillis;
 
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hashBytes) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
+    @Autowired
+    public PasswordHasher(List<PasswordHashAlgorithm> algorithms,
+                          @Value("${security.password.algorithm:pbkdf2-sha256}") String algorithm,
+                          @Value("${security.password.hashing-threads:2}") int threads,
+                          @Value("${security.password.queue-capacity:32}") int queueCapacity,
+                          @Value("${security.password.max-wait-millis:2000}") long maxWaitMillis) {
+        this.algorithms = algorithms;
+        this.currentAlgorithm = algorithms.stream()
+                .filter(candidate -> candidate.id().equals(algorithm))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown password hashing algorithm: " + algorithm));
+        this.maxWaitMillis = maxWaitMillis;
+        this.hashingExecutor = new ThreadPoolExecutor(
+                threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
 
-                hexString.append(hex);
-            }
+    public String hashPassword(String password) {
+        return run(() -> currentAlgorithm.hash(password));
+    }
 
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Error: Hashing algorithm not found.", e);
+    public boolean matches(String password, String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
         }
+        PasswordHashAlgorithm algorithm = algorithmFor(encodedPassword);
+        return algorithm != null && run(() -> algorithm.verify(password, encodedPassword));
+    }
+
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        PasswordHashAlgorithm algorithm = algorithmFor(encodedPassword);
+        return algorithm != currentAlgorithm || currentAlgorithm.needsRehash(encodedPassword);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdownNow();
+    }
+
+    private PasswordHashAlgorithm algorithmFor(String encodedPassword) {
+        return algorithms.stream()
+                .filter(algorithm -> algorithm.supports(encodedPassword))
+                .findFirst()
+                .orElse(null);
     }
 
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = hashingExecutor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingRejectedException("Password hashing queue is full");
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new PasswordHashingRejectedException("Password hashing timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new PasswordHashingRejectedException("Password hashing interrupted");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new RuntimeException(e.getCause());
+        }
+    }
 }
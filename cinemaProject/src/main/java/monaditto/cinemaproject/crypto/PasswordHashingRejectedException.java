@@ -0,0 +1,12 @@
+package monaditto.cinemaproject.crypto;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+public class PasswordHashingRejectedException extends AuthenticationServiceException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,110 @@
+package monaditto.cinemaproject.crypto;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+@Component
+public class Pbkdf2PasswordHashAlgorithm implements PasswordHashAlgorithm {
+
+    private static final String ID = "pbkdf2-sha256";
+
+    private static final String PREFIX = "$" + ID + "$";
+
+    private static final int SALT_BYTES = 16;
+
+    private static final int KEY_BITS = 256;
+
+    private static final int MIN_ITERATIONS = 10_000;
+
+    private static final int MAX_ITERATIONS = 5_000_000;
+
+    private static final int CALIBRATION_ROUNDS = 30;
+
+    private static final Duration CALIBRATION_BUDGET = Duration.ofSeconds(2);
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final int iterations;
+
+    @Autowired
+    public Pbkdf2PasswordHashAlgorithm(@Value("${security.password.target-millis:100}") long targetMillis) {
+        this.iterations = calibrate(Duration.ofMillis(targetMillis));
+    }
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public boolean supports(String encodedPassword) {
+        return encodedPassword.startsWith(PREFIX);
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + encoder.encodeToString(salt) + "$"
+                + encoder.encodeToString(derive(rawPassword, salt, iterations));
+    }
+
+    @Override
+    public boolean verify(String rawPassword, String encodedPassword) {
+        String[] parts = encodedPassword.substring(PREFIX.length()).split("\\$");
+        if (parts.length != 3) {
+            return false;
+        }
+        try {
+            Base64.Decoder decoder = Base64.getDecoder();
+            byte[] expected = decoder.decode(parts[2]);
+            return MessageDigest.isEqual(expected, derive(rawPassword, decoder.decode(parts[1]), Integer.parseInt(parts[0])));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        String[] parts = encodedPassword.substring(PREFIX.length()).split("\\$");
+        try {
+            return Integer.parseInt(parts[0]) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static int calibrate(Duration target) {
+        byte[] salt = new byte[SALT_BYTES];
+        long best = Long.MAX_VALUE;
+        long deadline = System.nanoTime() + CALIBRATION_BUDGET.toNanos();
+        for (int round = 0; round < CALIBRATION_ROUNDS && System.nanoTime() < deadline; round++) {
+            long start = System.nanoTime();
+            derive("calibration", salt, MIN_ITERATIONS);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        long scaled = MIN_ITERATIONS * target.toNanos() / Math.max(best, 1);
+        return Math.clamp(scaled / 1000 * 1000, MIN_ITERATIONS, MAX_ITERATIONS);
+    }
+
+    private static byte[] derive(String rawPassword, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(rawPassword.toCharArray(), salt, iterations, KEY_BITS);
+        try {
+            return SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Error: Hashing algorithm not found.", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package monaditto.cinemaproject.crypto;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+@Component
+public class Sha256PasswordHashAlgorithm implements PasswordHashAlgorithm {
+
+    //yes i did hardcode pepper, problem?
+    private final String PEPPER = "THE MOST SECURE PEEPER EVER!!!!1!1!1!!";
+
+    @Override
+    public String id() {
+        return "sha256";
+    }
+
+    @Override
+    public boolean supports(String encodedPassword) {
+        return !encodedPassword.startsWith("$");
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        return HexFormat.of().formatHex(digest(rawPassword));
+    }
+
+    @Override
+    public boolean verify(String rawPassword, String encodedPassword) {
+        try {
+            return MessageDigest.isEqual(digest(rawPassword), HexFormat.of().parseHex(encodedPassword));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        return false;
+    }
+
+    private byte[] digest(String rawPassword) {
+        try {
+            String pepperedPassword = rawPassword + PEPPER;
+
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+
+            return md.digest(pepperedPassword.getBytes());
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Error: Hashing algorithm not found.", e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package monaditto.cinemaproject.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local replacement for real replication: keeps two H2 copies of the primary and, every sync interval, rebuilds
+ * the idle one from a {@code SCRIPT} dump before switching readers over to it, so reads in flight on the other
+ * copy are not disturbed.
+ */
+public class H2ReplicationStandIn implements ReadReplica, AutoCloseable {
+
+    private final DataSource primary;
+
+    private final HikariDataSource[] copies = new HikariDataSource[2];
+
+    private final Duration syncInterval;
+
+    private final ScheduledExecutorService syncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile int current = -1;
+
+    private volatile Instant syncedAt;
+
+    public H2ReplicationStandIn(DataSource primary, ReplicaProperties properties) {
+        this.primary = primary;
+        this.syncInterval = properties.syncInterval();
+        for (int i = 0; i < copies.length; i++) {
+            copies[i] = new HikariDataSource();
+            copies[i].setPoolName("replica-" + i);
+            copies[i].setJdbcUrl(properties.url().formatted(i));
+            copies[i].setUsername(properties.username());
+            copies[i].setPassword(properties.password());
+            copies[i].setReadOnly(true);
+        }
+    }
+
+    public void start() {
+        syncExecutor.scheduleWithFixedDelay(this::syncQuietly, 0, syncInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public DataSource dataSource() {
+        return copies[current];
+    }
+
+    @Override
+    public Duration lag() {
+        Instant synced = syncedAt;
+        return synced == null ? null : Duration.between(synced, Instant.now());
+    }
+
+    @Override
+    public void close() {
+        syncExecutor.shutdownNow();
+        for (HikariDataSource copy : copies) {
+            copy.close();
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (SQLException | RuntimeException e) {
+            System.err.println("Replica sync failed: " + e.getMessage());
+        }
+    }
+
+    private void sync() throws SQLException {
+        int target = current == 0 ? 1 : 0;
+        Instant snapshotAt = Instant.now();
+
+        try (Connection source = primary.getConnection();
+             Connection destination = copies[target].getConnection();
+             Statement dump = source.createStatement();
+             Statement load = destination.createStatement()) {
+            destination.setReadOnly(false);
+            load.execute("DROP ALL OBJECTS");
+            try (ResultSet script = dump.executeQuery("SCRIPT NOPASSWORDS NOSETTINGS")) {
+                while (script.next()) {
+                    load.execute(script.getString(1));
+                }
+            }
+            destination.setReadOnly(true);
+        }
+
+        current = target;
+        syncedAt = snapshotAt;
+    }
+}
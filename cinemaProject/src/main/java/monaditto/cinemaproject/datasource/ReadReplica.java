@@ -0,0 +1,14 @@
+package monaditto.cinemaproject.datasource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+public interface ReadReplica {
+
+    DataSource dataSource();
+
+    /**
+     * How far the replica is behind the primary, or {@code null} while it holds no usable copy yet.
+     */
+    Duration lag();
+}
@@ -0,0 +1,48 @@
+package monaditto.cinemaproject.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Sends connections requested inside a read-only transaction to the replica, as long as it is not lagging more
+ * than {@code maxLag}; everything else goes to the primary. Needs to sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the connection is only taken once
+ * the transaction's read-only flag has been set.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+
+    private final ReadReplica replica;
+
+    private final Duration maxLag;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReadReplica replica, Duration maxLag) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLag = maxLag;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return determineTarget().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return determineTarget().getConnection(username, password);
+    }
+
+    private DataSource determineTarget() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primary;
+        }
+        Duration lag = replica.lag();
+        return lag != null && lag.compareTo(maxLag) <= 0 ? replica.dataSource() : primary;
+    }
+}
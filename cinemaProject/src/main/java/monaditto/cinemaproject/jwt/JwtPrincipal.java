@@ -0,0 +1,16 @@
+package monaditto.cinemaproject.jwt;
+
+import java.security.Principal;
+import java.util.List;
+
+public record JwtPrincipal(
+        Long userId,
+        String email,
+        List<String> roles
+) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
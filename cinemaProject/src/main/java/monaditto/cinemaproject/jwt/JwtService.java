@@ -0,0 +1,114 @@
+package monaditto.cinemaproject.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.DecodingException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class JwtService {
+
+    public enum TokenType {
+        ACCESS,
+        REFRESH
+    }
+
+    private static final String USER_ID_CLAIM = "uid";
+
+    private static final String ROLES_CLAIM = "roles";
+
+    private static final String TYPE_CLAIM = "typ";
+
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final Key signingKey;
+
+    private final JwtParser parser;
+
+    private final Duration accessTokenTtl;
+
+    private final Duration refreshTokenTtl;
+
+    @Autowired
+    public JwtService(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.access-token-minutes:15}") long accessTokenMinutes,
+                      @Value("${jwt.refresh-token-days:7}") long refreshTokenDays) {
+        this.signingKey = Keys.hmacShaKeyFor(decodeSecret(secret));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.accessTokenTtl = Duration.ofMinutes(accessTokenMinutes);
+        this.refreshTokenTtl = Duration.ofDays(refreshTokenDays);
+    }
+
+    private static byte[] decodeSecret(String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("jwt.secret is not set. Provide a base64 encoded key of at least "
+                    + MIN_SECRET_BYTES + " bytes in the JWT_SECRET environment variable, "
+                    + "or run with the dev profile for local development");
+        }
+        byte[] key;
+        try {
+            key = Decoders.BASE64.decode(secret.trim());
+        } catch (DecodingException e) {
+            throw new IllegalStateException("jwt.secret is not valid base64", e);
+        }
+        if (key.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("jwt.secret is too short: " + key.length + " bytes, at least "
+                    + MIN_SECRET_BYTES + " are required for HS256");
+        }
+        return key;
+    }
+
+    public String issueAccessToken(Long userId, String email, List<String> roles) {
+        return issue(userId, email, roles, TokenType.ACCESS, accessTokenTtl);
+    }
+
+    public String issueRefreshToken(Long userId, String email) {
+        return issue(userId, email, List.of(), TokenType.REFRESH, refreshTokenTtl);
+    }
+
+    public long getAccessTokenSeconds() {
+        return accessTokenTtl.toSeconds();
+    }
+
+    public Optional<JwtPrincipal> parse(String token, TokenType expectedType) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (!expectedType.name().equals(claims.get(TYPE_CLAIM, String.class))) {
+                return Optional.empty();
+            }
+            List<?> roles = claims.get(ROLES_CLAIM, List.class);
+            return Optional.of(new JwtPrincipal(
+                    claims.get(USER_ID_CLAIM, Long.class),
+                    claims.getSubject(),
+                    roles == null ? List.of() : roles.stream().map(String::valueOf).toList()));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private String issue(Long userId, String email, List<String> roles, TokenType type, Duration ttl) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setSubject(email)
+                .claim(USER_ID_CLAIM, userId)
+                .claim(ROLES_CLAIM, roles)
+                .claim(TYPE_CLAIM, type.name())
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(ttl)))
+                .signWith(signingKey)
+                .compact();
+    }
+}
@@ -0,0 +1,144 @@
+package monaditto.cinemaproject.migration;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.*;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+@Component
+public class SchemaMigrator implements InitializingBean {
+
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+    private static final String HISTORY_TABLE = "schema_version";
+
+    private record Migration(int version, String description, long checksum, Resource resource) {}
+
+    private final DataSource dataSource;
+
+    private final String location;
+
+    @Autowired
+    public SchemaMigrator(DataSource dataSource,
+                          @Value("${schema.migration.location}") String location) {
+        this.dataSource = dataSource;
+        this.location = location;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        List<Migration> migrations = findMigrations();
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                Map<Integer, Long> applied = readHistory(connection);
+                for (Migration migration : migrations) {
+                    Long checksum = applied.get(migration.version());
+                    if (checksum == null) {
+                        apply(connection, migration);
+                    } else if (checksum != migration.checksum()) {
+                        throw new IllegalStateException("Migration V" + migration.version() + " ("
+                                + migration.description() + ") was modified after it had been applied");
+                    }
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private List<Migration> findMigrations() throws IOException {
+        List<Migration> migrations = new ArrayList<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(location)) {
+            Matcher matcher = SCRIPT_NAME.matcher(Objects.requireNonNull(resource.getFilename()));
+            if (!matcher.matches()) {
+                continue;
+            }
+            CRC32 crc = new CRC32();
+            try (InputStream inputStream = resource.getInputStream()) {
+                crc.update(StreamUtils.copyToByteArray(inputStream));
+            }
+            migrations.add(new Migration(Integer.parseInt(matcher.group(1)),
+                    matcher.group(2).replace('_', ' '), crc.getValue(), resource));
+        }
+        migrations.sort(Comparator.comparingInt(Migration::version));
+
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).version() == migrations.get(i - 1).version()) {
+                throw new IllegalStateException("Duplicate migration version V" + migrations.get(i).version());
+            }
+        }
+        return migrations;
+    }
+
+    private Map<Integer, Long> readHistory(Connection connection) throws SQLException {
+        if (!tableExists(connection, HISTORY_TABLE)) {
+            if (tableExists(connection, "users")) {
+                throw new IllegalStateException("Database schema was not created by migrations; "
+                        + "remove the old database files so it can be rebuilt");
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE " + HISTORY_TABLE + " ("
+                        + "version INTEGER PRIMARY KEY, "
+                        + "description VARCHAR(255) NOT NULL, "
+                        + "checksum BIGINT NOT NULL, "
+                        + "installed_on TIMESTAMP NOT NULL, "
+                        + "execution_millis BIGINT NOT NULL)");
+            }
+            connection.commit();
+        }
+
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT version, checksum FROM " + HISTORY_TABLE)) {
+            while (resultSet.next()) {
+                applied.put(resultSet.getInt(1), resultSet.getLong(2));
+            }
+        }
+        return applied;
+    }
+
+    private void apply(Connection connection, Migration migration) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            ScriptUtils.executeSqlScript(connection, migration.resource());
+
+            try (PreparedStatement statement = connection.prepareStatement("INSERT INTO " + HISTORY_TABLE
+                    + " (version, description, checksum, installed_on, execution_millis) VALUES (?, ?, ?, ?, ?)")) {
+                statement.setInt(1, migration.version());
+                statement.setString(2, migration.description());
+                statement.setLong(3, migration.checksum());
+                statement.setTimestamp(4, new Timestamp(System.currentTimeMillis()));
+                statement.setLong(5, (System.nanoTime() - start) / 1_000_000);
+                statement.executeUpdate();
+            }
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        }
+        System.out.println("Applied migration V" + migration.version() + " (" + migration.description() + ")");
+    }
+
+    private static boolean tableExists(Connection connection, String table) throws SQLException {
+        try (ResultSet resultSet = connection.getMetaData()
+                .getTables(null, connection.getSchema(), table.toUpperCase(), new String[]{"TABLE"})) {
+            return resultSet.next();
+        }
+    }
+}
@@ -6,6 +6,8 @@ import jakarta.persistence.*;
 import monaditto.cinemaproject.category.Category;
 import monaditto.cinemaproject.opinion.Opinion;
 import monaditto.cinemaproject.screening.Screening;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.cglib.core.Local;
 
 import java.time.LocalDate;
@@ -51,6 +53,7 @@ public class Movie {
             inverseJoinColumns = @JoinColumn(name = "category_id")
     )
     @JsonManagedReference
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movie-categories")
     private Set<Category> categories = new HashSet<>();
 
     @OneToMany(mappedBy = "movie", cascade = CascadeType.ALL)
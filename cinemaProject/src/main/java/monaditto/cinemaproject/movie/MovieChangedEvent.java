@@ -0,0 +1,5 @@
+package monaditto.cinemaproject.movie;
+
+public record MovieChangedEvent(
+        Long movieId
+) {}
@@ -1,7 +1,11 @@
 package monaditto.cinemaproject.movie;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
@@ -10,6 +14,13 @@ import java.util.List;
 
 public interface MovieRepository extends JpaRepository<Movie,Long> {
 
+    @Query("SELECT new monaditto.cinemaproject.movie.MovieDto(" +
+            "m.id, m.title, m.description, m.duration, m.posterUrl, m.releaseDate) FROM Movie m")
+    List<MovieDto> findAllDtos();
+
+    @Query("SELECT DISTINCT m FROM Movie m LEFT JOIN FETCH m.categories")
+    List<Movie> findAllWithCategories();
+
     @Query("SELECT m FROM Movie m WHERE m.releaseDate > :today ORDER BY m.releaseDate")
     List<Movie> findComingSoonMovies(@Param("today") LocalDate today);
 
@@ -60,4 +71,13 @@ public interface MovieRepository extends JpaRepository<Movie,Long> {
                                                         @Param("localDateTime") LocalDateTime localDateTime);
 
     boolean existsByIdAndReleaseDateBefore(Long aLong, LocalDate date);
+
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "movie_category"))
+    @Query(value = "DELETE FROM movie_category WHERE movie_id = :movieId", nativeQuery = true)
+    int deleteCategoryLinks(@Param("movieId") Long movieId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Movie m WHERE m.id = :id")
+    int deleteMovieById(@Param("id") Long id);
 }
@@ -6,8 +6,16 @@ import monaditto.cinemaproject.category.CategoryRepository;
 import monaditto.cinemaproject.category.CategoryService;
 import monaditto.cinemaproject.opinion.OpinionRepository;
 import monaditto.cinemaproject.purchase.PurchaseService;
+import monaditto.cinemaproject.screening.ScreeningRepository;
 import monaditto.cinemaproject.search.Trie;
+import monaditto.cinemaproject.seed.SeedLoadedEvent;
+import monaditto.cinemaproject.similarity.SimilarMovie;
+import monaditto.cinemaproject.similarity.SimilarMoviesIndex;
+import monaditto.cinemaproject.trending.RankedItem;
+import monaditto.cinemaproject.trending.TrendingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,6 +34,8 @@ public class MovieService {
 
     private final OpinionRepository opinionRepository;
 
+    private final ScreeningRepository screeningRepository;
+
     private final CategoryService categoryService;
 
     private final PurchaseService purchaseService;
@@ -34,37 +44,62 @@ public class MovieService {
 
     private final Trie trie;
 
+    private final SimilarMoviesIndex similarMoviesIndex;
+
+    private final TrendingService trendingService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     @Autowired
     public MovieService(MovieRepository movieRepository,
                         CategoryRepository categoryRepository,
                         OpinionRepository opinionRepository,
+                        ScreeningRepository screeningRepository,
                         MovieValidator movieValidator,
                         CategoryService categoryService,
                         PurchaseService purchaseService,
-                        Trie trie) {
+                        Trie trie,
+                        SimilarMoviesIndex similarMoviesIndex,
+                        TrendingService trendingService,
+                        ApplicationEventPublisher eventPublisher) {
         this.movieRepository = movieRepository;
         this.categoryRepository = categoryRepository;
         this.opinionRepository = opinionRepository;
+        this.screeningRepository = screeningRepository;
         this.movieValidator = movieValidator;
         this.categoryService = categoryService;
         this.purchaseService = purchaseService;
         this.trie = trie;
+        this.similarMoviesIndex = similarMoviesIndex;
+        this.trendingService = trendingService;
+        this.eventPublisher = eventPublisher;
+
+        buildTrie();
+        buildSimilarMoviesIndex();
+    }
 
+    @EventListener
+    public void onSeedLoaded(SeedLoadedEvent event) {
         buildTrie();
+        buildSimilarMoviesIndex();
     }
 
     private void buildTrie() {
-        movieRepository.findAll().stream()
-                .map(MovieDto::movieToMovieDto)
-                .forEach(trie::insert);
+        movieRepository.findAllDtos().forEach(trie::insert);
+    }
+
+    private void buildSimilarMoviesIndex() {
+        movieRepository.findAllWithCategories().forEach(similarMoviesIndex::update);
+        purchaseService.getPaidMoviePurchasers()
+                .forEach(pair -> similarMoviesIndex.addPurchaser((Long) pair[0], (Long) pair[1]));
     }
 
+    @Transactional(readOnly = true)
     public List<MovieDto> getMovies() {
-        return movieRepository.findAll().stream()
-                .map(MovieDto::movieToMovieDto)
-                .toList();
+        return movieRepository.findAllDtos();
     }
 
+    @Transactional(readOnly = true)
     public List<MovieDto> getComingSoonMovies() {
         return movieRepository.findComingSoonMovies(LocalDate.now()).stream()
                 .map(MovieDto::movieToMovieDto)
@@ -72,6 +107,7 @@ public class MovieService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<MovieWithAverageRatingDto> getTopRatedMovies() {
         List<Object[]> topRatedMovies = movieRepository.findTopRatedMovies();
         return topRatedMovies.stream()
@@ -84,6 +120,24 @@ public class MovieService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public List<TrendingMovieDto> getTrendingMovies() {
+        int maxSize = 7;
+
+        List<RankedItem> trendingMovies = trendingService.getTrendingMovies(maxSize);
+        Map<Long, Movie> moviesById = movieRepository.findAllById(
+                        trendingMovies.stream().map(RankedItem::id).toList()).stream()
+                .collect(Collectors.toMap(Movie::getId, movie -> movie));
+
+        return trendingMovies.stream()
+                .filter(rankedItem -> moviesById.containsKey(rankedItem.id()))
+                .map(rankedItem -> new TrendingMovieDto(
+                        MovieDto.movieToMovieDto(moviesById.get(rankedItem.id())),
+                        rankedItem.score()))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
     public List<MovieWithAverageRatingDto> getRecommendedMovies(Long userId) {
         int maxSize = 7;
 
@@ -134,15 +188,34 @@ public class MovieService {
         return moviesWithAverageRating;
     }
 
+    @Transactional(readOnly = true)
+    public List<SimilarMovieDto> getSimilarMovies(Long movieId) {
+        int maxSize = 7;
+
+        List<SimilarMovie> similarMovies = similarMoviesIndex.findSimilar(movieId, maxSize);
+        Map<Long, Movie> moviesById = movieRepository.findAllById(
+                        similarMovies.stream().map(SimilarMovie::movieId).toList()).stream()
+                .collect(Collectors.toMap(Movie::getId, movie -> movie));
+
+        return similarMovies.stream()
+                .filter(similarMovie -> moviesById.containsKey(similarMovie.movieId()))
+                .map(similarMovie -> new SimilarMovieDto(
+                        MovieDto.movieToMovieDto(moviesById.get(similarMovie.movieId())),
+                        similarMovie.similarity()))
+                .toList();
+    }
+
     public List<MovieDto> searchMovies(String query) {
         return trie.search(query);
     }
 
+    @Transactional(readOnly = true)
     public Optional<MovieDto> getMovieById(Long id) {
         return movieRepository.findById(id)
                 .map(MovieDto::movieToMovieDto);
     }
 
+    @Transactional(readOnly = true)
     public List<CategoryDto> getMovieCategories(Long id) {
         return movieRepository.findById(id)
                 .map(Movie::getCategories)
@@ -222,6 +295,7 @@ public class MovieService {
         movieRepository.save(movie);
         trie.remove(oldMovieDto);
         trie.insert(MovieDto.movieToMovieDto(movie));
+        eventPublisher.publishEvent(new MovieChangedEvent(movieId));
 
         return CreateMovieStatus.SUCCESS;
     }
@@ -232,8 +306,17 @@ public class MovieService {
             return false;
         }
 
-        movieRepository.delete(movie.get());
-        trie.remove(MovieDto.movieToMovieDto(movie.get()));
+        MovieDto movieDto = MovieDto.movieToMovieDto(movie.get());
+        purchaseService.deletePurchasesOfMovie(id);
+        screeningRepository.deleteByMovieId(id);
+        opinionRepository.deleteByMovieId(id);
+        movieRepository.deleteCategoryLinks(id);
+        movieRepository.deleteMovieById(id);
+
+        trie.remove(movieDto);
+        similarMoviesIndex.remove(id);
+        trendingService.removeMovie(id);
+        eventPublisher.publishEvent(new MovieChangedEvent(id));
         return true;
     }
 
@@ -257,6 +340,8 @@ public class MovieService {
         movie.clearCategories();
         categories.forEach(movie::addCategory);
         movieRepository.save(movie);
+        similarMoviesIndex.update(movie);
+        eventPublisher.publishEvent(new MovieChangedEvent(movieId));
 
         return CreateMovieStatus.SUCCESS;
     }
@@ -0,0 +1,8 @@
+package monaditto.cinemaproject.movie;
+
+public record SimilarMovieDto(
+
+        MovieDto movieDto,
+
+        Double similarity
+) {}
@@ -0,0 +1,8 @@
+package monaditto.cinemaproject.movie;
+
+public record TrendingMovieDto(
+
+        MovieDto movieDto,
+
+        Double score
+) {}
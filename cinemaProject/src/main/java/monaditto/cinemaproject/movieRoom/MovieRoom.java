@@ -3,11 +3,15 @@ package monaditto.cinemaproject.movieRoom;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import monaditto.cinemaproject.screening.Screening;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movie-rooms")
 @Table(name = MovieRoom.TABLE_NAME)
 public class MovieRoom {
 
@@ -0,0 +1,5 @@
+package monaditto.cinemaproject.movieRoom;
+
+public record MovieRoomChangedEvent(
+        Long movieRoomId
+) {}
@@ -1,13 +1,29 @@
 package monaditto.cinemaproject.movieRoom;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface MovieRoomRepository extends JpaRepository<MovieRoom, Long> {
 
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<MovieRoom> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<MovieRoom> findByMovieRoomName(String movieRoomName);
 
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM MovieRoom r WHERE r.id = :id")
+    int deleteMovieRoomById(@Param("id") Long id);
+
 }
@@ -1,7 +1,11 @@
 package monaditto.cinemaproject.movieRoom;
 
+import monaditto.cinemaproject.purchase.PurchaseService;
+import monaditto.cinemaproject.screening.ScreeningRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -14,14 +18,27 @@ public class MovieRoomService {
 
     private final MovieRoomRepository movieRoomRepository;
 
+    private final ScreeningRepository screeningRepository;
+
+    private final PurchaseService purchaseService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     @Autowired
-    public MovieRoomService(MovieRoomRepository movieRoomRepository) {
+    public MovieRoomService(MovieRoomRepository movieRoomRepository,
+                            ScreeningRepository screeningRepository,
+                            PurchaseService purchaseService,
+                            ApplicationEventPublisher eventPublisher) {
         this.movieRoomRepository = movieRoomRepository;
+        this.screeningRepository = screeningRepository;
+        this.purchaseService = purchaseService;
+        this.eventPublisher = eventPublisher;
     }
 
     public MovieRoom save(MovieRoomDto movieRoomDto) {
-        MovieRoom movieRoom = new MovieRoom(movieRoomDto.movieRoomName(), movieRoomDto.maxSeats());
-        return movieRoomRepository.save(movieRoom);
+        MovieRoom movieRoom = movieRoomRepository.save(new MovieRoom(movieRoomDto.movieRoomName(), movieRoomDto.maxSeats()));
+        eventPublisher.publishEvent(new MovieRoomChangedEvent(movieRoom.getMovieRoomId()));
+        return movieRoom;
     }
 
     public MovieRoomCreateStatus createMovieRoom(MovieRoomDto movieRoomDto) {
@@ -33,6 +50,7 @@ public class MovieRoomService {
                 movieRoomDto.maxSeats());
 
         movieRoomRepository.save(movieRoom);
+        eventPublisher.publishEvent(new MovieRoomChangedEvent(movieRoom.getMovieRoomId()));
         return MovieRoomCreateStatus.SUCCESS;
     }
 
@@ -63,16 +81,19 @@ public class MovieRoomService {
             movieRoom.setMovieRoomName(movieRoomDto.movieRoomName());
             movieRoom.setMaxSeats(movieRoomDto.maxSeats());
             movieRoomRepository.save(movieRoom);
+            eventPublisher.publishEvent(new MovieRoomChangedEvent(id));
             return MovieRoomCreateStatus.SUCCESS;
         }
         return MovieRoomCreateStatus.INCORRECT_ID;
     }
 
+    @Transactional
     public boolean deleteMovieRoom(Long id) {
-        Optional<MovieRoom> optionalMovieRoom = movieRoomRepository.findById(id);
-        if(optionalMovieRoom.isPresent()) {
-            MovieRoom movieRoom = optionalMovieRoom.get();
-            movieRoomRepository.delete(movieRoom);
+        if (movieRoomRepository.existsById(id)) {
+            purchaseService.deletePurchasesOfRoom(id);
+            screeningRepository.deleteByRoomId(id);
+            movieRoomRepository.deleteMovieRoomById(id);
+            eventPublisher.publishEvent(new MovieRoomChangedEvent(id));
             return true;
         }
         return false;
@@ -5,50 +5,150 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import monaditto.cinemaproject.category.CategoryDto;
 import monaditto.cinemaproject.movie.MovieDto;
 import monaditto.cinemaproject.movie.MovieWithCategoriesDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.net.URI;
+import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.*;
 
 @Component
 public class MovieAPIService {
-    private static final String API_URL = "http://www.omdbapi.com/";
-    private static final String API_KEY = "cd9a8e0b";
+    private static final String FILE_SCHEME = "file:";
+    private final String baseUrl;
+    private final String apiKey;
+    private final Path cacheDirectory;
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
-
-    public MovieAPIService() {
+    private final Semaphore requestPermits;
+    private final long requestIntervalNanos;
+    private long nextRequestAtNanos = System.nanoTime();
+
+    @Autowired
+    public MovieAPIService(@Value("${omdb.base-url:http://www.omdbapi.com/}") String baseUrl,
+                           @Value("${omdb.api-key:cd9a8e0b}") String apiKey,
+                           @Value("${omdb.cache-dir:}") String cacheDirectory,
+                           @Value("${omdb.max-concurrency:8}") int maxConcurrency,
+                           @Value("${omdb.requests-per-second:10}") double requestsPerSecond) {
+        this.baseUrl = baseUrl;
+        this.apiKey = apiKey;
+        this.cacheDirectory = cacheDirectory.isBlank() ? null : Path.of(cacheDirectory);
         this.httpClient = HttpClient.newHttpClient();
         this.objectMapper = new ObjectMapper();
+        this.requestPermits = new Semaphore(maxConcurrency);
+        this.requestIntervalNanos = (long) (1_000_000_000L / requestsPerSecond);
     }
 
     private String appendParams(String url, APIQuery apiQuery) {
         String yearQuery = apiQuery.year() != 0 ? "&y=" + apiQuery.year()  : "";
-        return url + "&t=" + apiQuery.title().replace(" ", "+") + yearQuery;
+        return url + "&t=" + URLEncoder.encode(apiQuery.title(), StandardCharsets.UTF_8) + yearQuery;
     }
 
     public MovieWithCategoriesDto fetchMovieByQuery(APIQuery apiQuery) {
-        String url = API_URL + "?apikey=" + API_KEY;
+        try {
+            return parseMovieResponse(fetchResponse(apiQuery));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Interrupted while fetching the movie " + apiQuery.title());
+        } catch (Exception e) {
+            System.err.println("Failed to fetch the movie " + apiQuery.title() + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    public List<MovieWithCategoriesDto> fetchMovies(List<APIQuery> apiQueries, Runnable onFetched) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<MovieWithCategoriesDto>> futures = apiQueries.stream()
+                    .map(apiQuery -> executor.submit(() -> {
+                        try {
+                            return fetchMovieByQuery(apiQuery);
+                        } finally {
+                            onFetched.run();
+                        }
+                    }))
+                    .toList();
+
+            List<MovieWithCategoriesDto> movies = new ArrayList<>(futures.size());
+            for (Future<MovieWithCategoriesDto> future : futures) {
+                movies.add(future.get());
+            }
+            return movies;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Movie import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Movie import failed", e.getCause());
+        }
+    }
+
+    private String fetchResponse(APIQuery apiQuery) throws IOException, InterruptedException {
+        Path cached = cacheDirectory != null ? cacheDirectory.resolve(fileNameFor(apiQuery)) : null;
+        if (cached != null && Files.exists(cached)) {
+            return Files.readString(cached);
+        }
+
+        String body = baseUrl.startsWith(FILE_SCHEME)
+                ? Files.readString(Path.of(baseUrl.substring(FILE_SCHEME.length())).resolve(fileNameFor(apiQuery)))
+                : request(apiQuery);
+
+        if (cached != null && isMovie(body)) {
+            Files.createDirectories(cacheDirectory);
+            Path temporary = Files.createTempFile(cacheDirectory, "omdb", ".tmp");
+            Files.writeString(temporary, body);
+            Files.move(temporary, cached, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return body;
+    }
+
+    private String request(APIQuery apiQuery) throws IOException, InterruptedException {
+        String url = baseUrl + "?apikey=" + apiKey;
         url = appendParams(url, apiQuery);
 
         HttpRequest request = getHttpRequest(url);
 
+        requestPermits.acquire();
         try {
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            return parseMovieResponse(response.body());
-        } catch (Exception e) {
-            System.err.println("Failed to fetch the movie " + apiQuery.title());
-            e.printStackTrace();
+            awaitRequestSlot();
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        } finally {
+            requestPermits.release();
         }
-        return null;
+    }
+
+    private void awaitRequestSlot() throws InterruptedException {
+        long slot;
+        synchronized (this) {
+            slot = Math.max(System.nanoTime(), nextRequestAtNanos);
+            nextRequestAtNanos = slot + requestIntervalNanos;
+        }
+        long waitNanos = slot - System.nanoTime();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    private boolean isMovie(String responseBody) throws IOException {
+        JsonNode jsonNode = objectMapper.readTree(responseBody);
+        return jsonNode.has("Title") && !jsonNode.has("Error");
+    }
+
+    private static String fileNameFor(APIQuery apiQuery) {
+        String slug = apiQuery.title().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+        return slug + "-" + Integer.toHexString(apiQuery.title().hashCode()) + "_" + apiQuery.year() + ".json";
     }
 
     private static HttpRequest getHttpRequest(String url) {
@@ -0,0 +1,72 @@
+package monaditto.cinemaproject.moviedbapi;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class MovieImportJob {
+
+    private final Long id;
+
+    private final int total;
+
+    private final AtomicInteger fetched = new AtomicInteger();
+
+    private final AtomicInteger imported = new AtomicInteger();
+
+    private final AtomicInteger failed = new AtomicInteger();
+
+    private volatile MovieImportStatus status = MovieImportStatus.PENDING;
+
+    private volatile LocalDateTime startedAt;
+
+    private volatile LocalDateTime finishedAt;
+
+    private volatile String error;
+
+    MovieImportJob(Long id, int total) {
+        this.id = id;
+        this.total = total;
+    }
+
+    Long getId() {
+        return id;
+    }
+
+    void start() {
+        startedAt = LocalDateTime.now();
+        status = MovieImportStatus.RUNNING;
+    }
+
+    void markFetched() {
+        fetched.incrementAndGet();
+    }
+
+    void markImported() {
+        imported.incrementAndGet();
+    }
+
+    void markFailed() {
+        failed.incrementAndGet();
+    }
+
+    void complete() {
+        finishedAt = LocalDateTime.now();
+        status = MovieImportStatus.COMPLETED;
+    }
+
+    void fail(String message) {
+        error = message;
+        finishedAt = LocalDateTime.now();
+        status = MovieImportStatus.FAILED;
+    }
+
+    boolean isFinishedBy(LocalDateTime time) {
+        LocalDateTime finished = finishedAt;
+        return finished != null && !finished.isAfter(time);
+    }
+
+    MovieImportJobDto toDto() {
+        return new MovieImportJobDto(id, status, total, fetched.get(), imported.get(), failed.get(),
+                startedAt, finishedAt, error);
+    }
+}
@@ -0,0 +1,15 @@
+package monaditto.cinemaproject.moviedbapi;
+
+import java.time.LocalDateTime;
+
+public record MovieImportJobDto(
+        Long id,
+        MovieImportStatus status,
+        int total,
+        int fetched,
+        int imported,
+        int failed,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        String error
+) {}
@@ -0,0 +1,141 @@
+package monaditto.cinemaproject.moviedbapi;
+
+import jakarta.annotation.PreDestroy;
+import monaditto.cinemaproject.category.CategoryDto;
+import monaditto.cinemaproject.movie.CreateMovieStatus;
+import monaditto.cinemaproject.movie.MovieService;
+import monaditto.cinemaproject.movie.MovieWithCategoriesDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class MovieImportService {
+
+    private final MovieAPIService movieAPIService;
+
+    private final MovieService movieService;
+
+    private final Map<Long, MovieImportJob> jobs = new ConcurrentHashMap<>();
+
+    private final AtomicLong jobIds = new AtomicLong();
+
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor();
+
+    private final Duration jobRetention;
+
+    @Autowired
+    public MovieImportService(MovieAPIService movieAPIService, MovieService movieService,
+                              @Value("${movie-import.job-retention-minutes:60}") long jobRetentionMinutes) {
+        this.movieAPIService = movieAPIService;
+        this.movieService = movieService;
+        this.jobRetention = Duration.ofMinutes(jobRetentionMinutes);
+    }
+
+    public MovieImportJobDto startImport(List<APIQuery> apiQueries) {
+        MovieImportJob job = createJob(apiQueries);
+        jobExecutor.execute(() -> {
+            try {
+                runImport(job, apiQueries);
+            } catch (RuntimeException e) {
+                System.err.println("Movie import " + job.getId() + " failed: " + e.getMessage());
+            }
+        });
+        return job.toDto();
+    }
+
+    public List<MovieWithCategoriesDto> importMovies(List<APIQuery> apiQueries) {
+        return runImport(createJob(apiQueries), apiQueries);
+    }
+
+    /**
+     * Fetches the movies without storing them, so a caller can keep the OMDb round trips out of its transaction and
+     * store the result afterwards with {@link #importFetchedMovies(List)}.
+     */
+    public List<MovieWithCategoriesDto> fetchMovies(List<APIQuery> apiQueries) {
+        return movieAPIService.fetchMovies(apiQueries, () -> {});
+    }
+
+    public List<MovieWithCategoriesDto> importFetchedMovies(List<MovieWithCategoriesDto> movies) {
+        List<MovieWithCategoriesDto> imported = new ArrayList<>();
+        for (MovieWithCategoriesDto movie : movies) {
+            if (movie != null && store(movie)) {
+                imported.add(movie);
+            }
+        }
+        return imported;
+    }
+
+    public Optional<MovieImportJobDto> getJob(Long jobId) {
+        expireFinishedJobs();
+        return Optional.ofNullable(jobs.get(jobId)).map(MovieImportJob::toDto);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+
+    /**
+     * Drops jobs that finished longer than the retention ago, so polling clients can still read the outcome but the
+     * registry does not grow with every import ever run. Jobs that are pending or running are always kept.
+     */
+    private void expireFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.isFinishedBy(cutoff));
+    }
+
+    private MovieImportJob createJob(List<APIQuery> apiQueries) {
+        expireFinishedJobs();
+        MovieImportJob job = new MovieImportJob(jobIds.incrementAndGet(), apiQueries.size());
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    private List<MovieWithCategoriesDto> runImport(MovieImportJob job, List<APIQuery> apiQueries) {
+        job.start();
+        try {
+            List<MovieWithCategoriesDto> imported = new ArrayList<>();
+            for (MovieWithCategoriesDto movie : movieAPIService.fetchMovies(apiQueries, job::markFetched)) {
+                if (movie == null) {
+                    job.markFailed();
+                    continue;
+                }
+
+                if (store(movie)) {
+                    imported.add(movie);
+                    job.markImported();
+                } else {
+                    job.markFailed();
+                }
+            }
+            job.complete();
+            return imported;
+        } catch (RuntimeException e) {
+            job.fail(e.getMessage());
+            throw e;
+        }
+    }
+
+    private boolean store(MovieWithCategoriesDto movie) {
+        List<String> categoryNames = movie.categories().stream()
+                .map(CategoryDto::categoryName)
+                .toList();
+        CreateMovieStatus createMovieStatus = movieService.createMovieByNames(movie.movieDto(), categoryNames);
+        if (!createMovieStatus.isSuccess()) {
+            System.err.println(createMovieStatus + " for movie: " + movie.movieDto().title());
+        }
+        return createMovieStatus.isSuccess();
+    }
+}
@@ -0,0 +1,8 @@
+package monaditto.cinemaproject.moviedbapi;
+
+public enum MovieImportStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package monaditto.cinemaproject.opinion;
+
+public record OpinionChangedEvent(
+        Long userId,
+        Long movieId
+) {}
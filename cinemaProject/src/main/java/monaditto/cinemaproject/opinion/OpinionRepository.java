@@ -1,6 +1,7 @@
 package monaditto.cinemaproject.opinion;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -9,11 +10,26 @@ import java.util.List;
 public interface OpinionRepository extends JpaRepository<Opinion, OpinionId> {
     boolean existsByUserIdAndMovieId(Long userId, Long movieId);
 
-    List<Opinion> findByMovieId(Long movieId);
+    String DTO_QUERY = "SELECT new monaditto.cinemaproject.opinion.OpinionDto(" +
+            "o.user.id, o.movie.id, o.rating, o.comment) FROM Opinion o ";
 
-    List<Opinion> findByUserId(Long userId);
+    @Query(DTO_QUERY)
+    List<OpinionDto> findAllDtos();
 
+    @Query(DTO_QUERY + "WHERE o.movie.id = :movieId")
+    List<OpinionDto> findDtosByMovieId(@Param("movieId") Long movieId);
+
+    @Query(DTO_QUERY + "WHERE o.user.id = :userId")
+    List<OpinionDto> findDtosByUserId(@Param("userId") Long userId);
 
     @Query("SELECT AVG(o.rating) FROM Opinion o WHERE o.movie.id = :movieId")
     Double findAverageRatingByMovieId(@Param("movieId") Long movieId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Opinion o WHERE o.movie.id = :movieId")
+    int deleteByMovieId(@Param("movieId") Long movieId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Opinion o WHERE o.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
 }
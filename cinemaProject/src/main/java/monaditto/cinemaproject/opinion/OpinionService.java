@@ -6,7 +6,9 @@ import monaditto.cinemaproject.movie.MovieRepository;
 import monaditto.cinemaproject.user.User;
 import monaditto.cinemaproject.user.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -23,6 +25,9 @@ public class OpinionService {
     @Autowired
     private MovieRepository movieRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public void addOpinion(OpinionDto opinionDto) {
         boolean exists = opinionRepository.existsByUserIdAndMovieId(opinionDto.userId(), opinionDto.movieId());
 
@@ -45,12 +50,15 @@ public class OpinionService {
 
         Opinion opinion = new Opinion(user, movie, opinionDto.rating(), opinionDto.comment());
         opinionRepository.save(opinion);
+        eventPublisher.publishEvent(new OpinionChangedEvent(opinionDto.userId(), opinionDto.movieId()));
     }
 
+    @Transactional(readOnly = true)
     public List<OpinionDto> getAllOpinions() {
-        return opinionRepository.findAll().stream().map(OpinionDto::opinionToOpinionDto).toList();
+        return opinionRepository.findAllDtos();
     }
 
+    @Transactional(readOnly = true)
     public OpinionDto getOpinion(Long userId, Long movieId) {
         OpinionId opinionId = getOpinionId(userId, movieId);
 
@@ -63,9 +71,9 @@ public class OpinionService {
         return new OpinionId(new User(userId), new Movie(movieId));
     }
 
+    @Transactional(readOnly = true)
     public List<OpinionDto> getOpinionsForMovie(Long movieId) {
-        List<Opinion> opinions = opinionRepository.findByMovieId(movieId);
-        return opinions.stream().map(OpinionDto::opinionToOpinionDto).toList();
+        return opinionRepository.findDtosByMovieId(movieId);
     }
 
     public void updateOpinion(Long userId, Long movieId, OpinionDto opinionDTO) {
@@ -77,6 +85,7 @@ public class OpinionService {
         opinion.setComment(opinionDTO.comment());
 
         opinionRepository.save(opinion);
+        eventPublisher.publishEvent(new OpinionChangedEvent(userId, movieId));
     }
 
     public void deleteOpinion(Long userId, Long movieId) {
@@ -86,10 +95,11 @@ public class OpinionService {
 
         OpinionId opinionId = getOpinionId(userId, movieId);
         opinionRepository.deleteById(opinionId);
+        eventPublisher.publishEvent(new OpinionChangedEvent(userId, movieId));
     }
 
+    @Transactional(readOnly = true)
     public List<OpinionDto> getOpinionsForUser(Long userId) {
-        List<Opinion> opinions = opinionRepository.findByUserId(userId);
-        return opinions.stream().map(OpinionDto::opinionToOpinionDto).toList();
+        return opinionRepository.findDtosByUserId(userId);
     }
 }
@@ -1,40 +1,145 @@
 package monaditto.cinemaproject.purchase;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface PurchaseRepository extends JpaRepository<Purchase, Long> {
-    List<Purchase> findByUserId(Long userId);
-    List<Purchase> findByScreeningId(Long screeningId);
-    List<Purchase> findByReservationStatus(ReservationStatus status);
 
-    @Query("SELECT SUM(p.boughtSeats * s.price) FROM Purchase p " +
+    String RESPONSE_DTO_QUERY = "SELECT new monaditto.cinemaproject.purchase.PurchaseResponseDto(" +
+            "p.id, u.id, s.id, CONCAT(u.firstName, ' ', u.lastName), m.title, s.start, " +
+            "p.boughtSeats, p.reservationStatus) " +
+            "FROM Purchase p JOIN p.user u JOIN p.screening s JOIN s.movie m ";
+
+    @Override
+    @EntityGraph(attributePaths = {"screening"})
+    Optional<Purchase> findById(Long id);
+
+    @Query(RESPONSE_DTO_QUERY + "ORDER BY p.id")
+    List<PurchaseResponseDto> findAllDtos();
+
+    @Query(RESPONSE_DTO_QUERY + "WHERE p.id = :id")
+    Optional<PurchaseResponseDto> findDtoById(@Param("id") Long id);
+
+    @Query(RESPONSE_DTO_QUERY + "WHERE u.id = :userId ORDER BY p.id")
+    List<PurchaseResponseDto> findDtosByUserId(@Param("userId") Long userId);
+
+    @Query(RESPONSE_DTO_QUERY + "WHERE s.id = :screeningId ORDER BY p.id")
+    List<PurchaseResponseDto> findDtosByScreeningId(@Param("screeningId") Long screeningId);
+
+    @Query(RESPONSE_DTO_QUERY + "WHERE p.reservationStatus = :status ORDER BY p.id")
+    List<PurchaseResponseDto> findDtosByReservationStatus(@Param("status") ReservationStatus status);
+
+    boolean existsByUserIdAndScreeningMovieIdAndReservationStatus(Long userId, Long movieId, ReservationStatus status);
+
+    @Query("SELECT DISTINCT s.movie.id, p.user.id FROM Purchase p " +
+            "JOIN p.screening s WHERE p.reservationStatus = 'PAID'")
+    List<Object[]> findPaidMovieUserPairs();
+
+    @Query("SELECT DISTINCT s.movie.id, p.user.id FROM Purchase p JOIN p.screening s " +
+            "WHERE p.reservationStatus = 'PAID' AND s.movie.id IN :movieIds AND p.user.id IN :userIds")
+    List<Object[]> findPaidMovieUserPairsAmong(@Param("movieIds") Collection<Long> movieIds,
+                                               @Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT DISTINCT s.start, s.movie.id, p.user.id FROM Purchase p JOIN p.screening s " +
+            "WHERE p.reservationStatus = 'PAID' AND s.movie.id = :movieId")
+    List<Object[]> findPaidPurchaseKeysByMovieId(@Param("movieId") Long movieId);
+
+    @Query("SELECT DISTINCT s.start, s.movie.id, p.user.id FROM Purchase p JOIN p.screening s " +
+            "WHERE p.reservationStatus = 'PAID' AND s.room.id = :roomId")
+    List<Object[]> findPaidPurchaseKeysByRoomId(@Param("roomId") Long roomId);
+
+    @Query("SELECT DISTINCT s.start, s.movie.id, p.user.id FROM Purchase p JOIN p.screening s " +
+            "WHERE p.reservationStatus = 'PAID' AND p.user.id = :userId")
+    List<Object[]> findPaidPurchaseKeysByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT DISTINCT s.start, s.movie.id, p.user.id FROM Purchase p JOIN p.screening s " +
+            "WHERE p.reservationStatus = 'PAID' AND s.id = :screeningId")
+    List<Object[]> findPaidPurchaseKeysByScreeningId(@Param("screeningId") Long screeningId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Purchase p WHERE p.screening.id IN " +
+            "(SELECT s.id FROM Screening s WHERE s.movie.id = :movieId)")
+    int deleteByMovieId(@Param("movieId") Long movieId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Purchase p WHERE p.screening.id IN " +
+            "(SELECT s.id FROM Screening s WHERE s.room.id = :roomId)")
+    int deleteByRoomId(@Param("roomId") Long roomId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Purchase p WHERE p.screening.id = :screeningId")
+    int deleteByScreeningId(@Param("screeningId") Long screeningId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Purchase p WHERE p.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT s.start, s.id, s.movie.id, s.room.id, p.boughtSeats, s.price, p.user.id FROM Purchase p " +
+            "JOIN p.screening s WHERE p.reservationStatus = 'PAID'")
+    List<Object[]> findPaidSales();
+
+    @Query("SELECT s.start, s.id, s.movie.id, s.room.id, p.boughtSeats, s.price, p.user.id FROM Purchase p " +
+            "JOIN p.screening s WHERE p.reservationStatus = 'PAID' AND s.start >= :start AND s.start < :end")
+    List<Object[]> findPaidSalesBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT DISTINCT p.user.id FROM Purchase p JOIN p.screening s " +
+            "WHERE p.reservationStatus = 'PAID' AND s.start >= :start AND s.start < :end")
+    List<Long> findPaidUserIdsBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT s.movie.id, p.boughtSeats, s.start FROM Purchase p " +
             "JOIN p.screening s WHERE p.reservationStatus = 'PAID' " +
-            "AND s.start BETWEEN :startDate AND :endDate")
-    Double calculateRevenueBetween(@Param("startDate") LocalDateTime startDate,
-                                   @Param("endDate") LocalDateTime endDate);
+            "AND s.start >= :startDate")
+    List<Object[]> findPaidSeatsPerMovieSince(@Param("startDate") LocalDateTime startDate);
+
+    @Query("SELECT s.movie.id, p.boughtSeats, s.start FROM Purchase p " +
+            "JOIN p.screening s WHERE p.reservationStatus = 'PAID' " +
+            "AND s.movie.id IN :movieIds AND s.start >= :startDate")
+    List<Object[]> findPaidSeatsOfMoviesSince(@Param("movieIds") Collection<Long> movieIds,
+                                              @Param("startDate") LocalDateTime startDate);
+
+    @Query("SELECT c.id, p.boughtSeats, s.start FROM Purchase p " +
+            "JOIN p.screening s JOIN s.movie m JOIN m.categories c " +
+            "WHERE p.reservationStatus = 'PAID' AND s.start >= :startDate")
+    List<Object[]> findPaidSeatsPerCategorySince(@Param("startDate") LocalDateTime startDate);
 
     @Query("SELECT SUM(p.boughtSeats * s.price) FROM Purchase p " +
             "JOIN p.screening s WHERE p.reservationStatus = 'PAID' " +
             "AND s.start >= :startDate")
     Double calculateRevenueSince(@Param("startDate") LocalDateTime startDate);
 
-    List<Purchase> findAllByScreeningStartAfter(LocalDateTime localDateTime);
+    @Query("SELECT COUNT(p) > 0 FROM Purchase p JOIN p.screening s " +
+            "WHERE p.user.id = :userId AND p.reservationStatus = 'PAID' " +
+            "AND s.start >= :start AND s.start < :end")
+    boolean existsPaidByUserIdBetween(@Param("userId") Long userId,
+                                      @Param("start") LocalDateTime start,
+                                      @Param("end") LocalDateTime end);
 
     @Query("SELECT COALESCE(SUM(p.boughtSeats), 0) FROM Purchase p " +
-            "JOIN p.screening s WHERE p.reservationStatus = 'PAID' " +
-            "AND s.start BETWEEN :startDate AND :endDate")
-    long calculateTotalSeatsForPeriod(@Param("startDate") LocalDateTime startDate,
-                                      @Param("endDate") LocalDateTime endDate);
+            "WHERE p.screening.id = :screeningId")
+    long sumBoughtSeatsByScreeningId(@Param("screeningId") Long screeningId);
 
+    @Query("SELECT COALESCE(SUM(p.boughtSeats), 0) FROM Purchase p " +
+            "WHERE p.screening.id = :screeningId AND p.reservationStatus = 'PAID'")
+    long sumPaidSeatsByScreeningId(@Param("screeningId") Long screeningId);
 
-    @Query("SELECT COUNT(DISTINCT s) FROM Purchase p " +
-            "JOIN p.screening s WHERE p.reservationStatus = 'PAID' " +
-            "AND s.start BETWEEN :startDate AND :endDate")
-    long calculateTotalScreeningsForPeriod(@Param("startDate") LocalDateTime startDate,
-                                           @Param("endDate") LocalDateTime endDate);
+    @Query("SELECT m.id, m.title, SUM(p.boughtSeats * s.price) FROM Purchase p " +
+            "JOIN p.screening s JOIN s.movie m WHERE p.reservationStatus = 'PAID' " +
+            "AND s.start > :startDate " +
+            "GROUP BY m.id, m.title ORDER BY SUM(p.boughtSeats * s.price) DESC, m.id")
+    List<Object[]> findTopEarningMoviesSince(@Param("startDate") LocalDateTime startDate, Limit limit);
+
+    @Query("SELECT c.id, c.categoryName, SUM(p.boughtSeats) FROM Purchase p " +
+            "JOIN p.screening s JOIN s.movie m JOIN m.categories c " +
+            "WHERE p.reservationStatus = 'PAID' AND s.start > :startDate " +
+            "GROUP BY c.id, c.categoryName ORDER BY SUM(p.boughtSeats) DESC, c.id")
+    List<Object[]> findTopSellingCategoriesSince(@Param("startDate") LocalDateTime startDate, Limit limit);
 }
@@ -11,17 +11,4 @@ public record PurchaseResponseDto(
         LocalDateTime screeningTime,
         int boughtSeats,
         ReservationStatus status
-) {
-    public static PurchaseResponseDto fromEntity(Purchase purchase) {
-        return new PurchaseResponseDto(
-                purchase.getId(),
-                purchase.getUser().getId(),
-                purchase.getScreening().getScreeningId(),
-                purchase.getUser().getFirstName() + " " + purchase.getUser().getLastName(),
-                purchase.getScreening().getMovie().getTitle(),
-                purchase.getScreening().getStart(),
-                purchase.getBoughtSeats(),
-                purchase.getReservationStatus()
-        );
-    }
-}
+) {}
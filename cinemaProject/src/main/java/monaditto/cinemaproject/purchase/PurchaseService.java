@@ -1,15 +1,24 @@
 package monaditto.cinemaproject.purchase;
 
+import monaditto.cinemaproject.archive.ArchivedPurchaseRepository;
 import monaditto.cinemaproject.category.CategoryRepository;
 import monaditto.cinemaproject.screening.Screening;
 import monaditto.cinemaproject.screening.ScreeningRepository;
+import monaditto.cinemaproject.similarity.SimilarMoviesIndex;
 import monaditto.cinemaproject.user.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.IntSupplier;
 import java.util.function.Predicate;
 
 @Service
@@ -19,6 +28,9 @@ public class PurchaseService {
     @Autowired
     private PurchaseRepository purchaseRepository;
 
+    @Autowired
+    private ArchivedPurchaseRepository archivedPurchaseRepository;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -28,24 +40,35 @@ public class PurchaseService {
     @Autowired
     private CategoryRepository categoryRepository;
 
-    public List<Purchase> findAll() {
-        return purchaseRepository.findAll();
+    @Autowired
+    private SimilarMoviesIndex similarMoviesIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public List<PurchaseResponseDto> findAll() {
+        return purchaseRepository.findAllDtos();
     }
 
-    public Purchase findById(Long id) {
-        return purchaseRepository.findById(id).orElse(null);
+    @Transactional(readOnly = true)
+    public PurchaseResponseDto findById(Long id) {
+        return purchaseRepository.findDtoById(id).orElse(null);
     }
 
-    public List<Purchase> findByUser(Long userId) {
-        return purchaseRepository.findByUserId(userId);
+    @Transactional(readOnly = true)
+    public List<PurchaseResponseDto> findByUser(Long userId) {
+        return purchaseRepository.findDtosByUserId(userId);
     }
 
-    public List<Purchase> findByScreening(Long screeningId) {
-        return purchaseRepository.findByScreeningId(screeningId);
+    @Transactional(readOnly = true)
+    public List<PurchaseResponseDto> findByScreening(Long screeningId) {
+        return purchaseRepository.findDtosByScreeningId(screeningId);
     }
 
-    public List<Purchase> findByStatus(ReservationStatus status) {
-        return purchaseRepository.findByReservationStatus(status);
+    @Transactional(readOnly = true)
+    public List<PurchaseResponseDto> findByStatus(ReservationStatus status) {
+        return purchaseRepository.findDtosByReservationStatus(status);
     }
 
     public Long getMostPurchasedCategoryIdForUser(Long userId) {
@@ -58,6 +81,12 @@ public class PurchaseService {
         return (Long) result.get(0)[0];
     }
 
+    public List<Object[]> getPaidMoviePurchasers() {
+        List<Object[]> pairs = new ArrayList<>(archivedPurchaseRepository.findPaidMovieUserPairs());
+        pairs.addAll(purchaseRepository.findPaidMovieUserPairs());
+        return pairs;
+    }
+
     public Purchase create(PurchaseDto purchaseDto) {
         var user = userRepository.findById(purchaseDto.userId());
         if(user.isEmpty()) {
@@ -78,6 +107,7 @@ public class PurchaseService {
 
         var purchase = new Purchase(user.get(), screening.get(), purchaseDto.boughtSeats(), ReservationStatus.UNPAID);
         purchaseRepository.save(purchase);
+        eventPublisher.publishEvent(PurchaseStatusChangedEvent.of(purchase, null, ReservationStatus.UNPAID));
         return purchase;
     }
 
@@ -89,6 +119,27 @@ public class PurchaseService {
 
         var purchase = purchaseResult.get();
         purchaseRepository.delete(purchase);
+        eventPublisher.publishEvent(PurchaseStatusChangedEvent.of(purchase, purchase.getReservationStatus(), null));
+    }
+
+    public int deletePurchasesOfMovie(Long movieId) {
+        return deletePurchases(purchaseRepository.findPaidPurchaseKeysByMovieId(movieId),
+                () -> purchaseRepository.deleteByMovieId(movieId));
+    }
+
+    public int deletePurchasesOfRoom(Long roomId) {
+        return deletePurchases(purchaseRepository.findPaidPurchaseKeysByRoomId(roomId),
+                () -> purchaseRepository.deleteByRoomId(roomId));
+    }
+
+    public int deletePurchasesOfScreening(Long screeningId) {
+        return deletePurchases(purchaseRepository.findPaidPurchaseKeysByScreeningId(screeningId),
+                () -> purchaseRepository.deleteByScreeningId(screeningId));
+    }
+
+    public int deletePurchasesOfUser(Long userId) {
+        return deletePurchases(purchaseRepository.findPaidPurchaseKeysByUserId(userId),
+                () -> purchaseRepository.deleteByUserId(userId));
     }
 
     public void confirmPayment(Long purchaseId) {
@@ -115,23 +166,66 @@ public class PurchaseService {
             Predicate<ReservationStatus> invalidCondition,
             String errorMessage
     ) {
-        var purchase = findById(purchaseId);
-        if (purchase == null) {
-            throw new IllegalArgumentException("Purchase not found");
-        }
+        var purchase = purchaseRepository.findById(purchaseId)
+                .orElseThrow(() -> new IllegalArgumentException("Purchase not found"));
         if (invalidCondition.test(purchase.getReservationStatus())) {
             throw new IllegalStateException(errorMessage);
         }
+        ReservationStatus oldStatus = purchase.getReservationStatus();
         purchase.setReservationStatus(newStatus);
         purchaseRepository.save(purchase);
+        eventPublisher.publishEvent(PurchaseStatusChangedEvent.of(purchase, oldStatus, newStatus));
+    }
+
+    private int deletePurchases(List<Object[]> paidPurchaseKeys, IntSupplier delete) {
+        int deleted = delete.getAsInt();
+        if (!paidPurchaseKeys.isEmpty()) {
+            eventPublisher.publishEvent(PurchasesDeletedEvent.of(paidPurchaseKeys));
+        }
+        return deleted;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onPurchaseStatusChanged(PurchaseStatusChangedEvent event) {
+        if (event.becamePaid()) {
+            similarMoviesIndex.addPurchaser(event.movieId(), event.userId());
+        } else if (event.stoppedBeingPaid()
+                && !purchaseRepository.existsByUserIdAndScreeningMovieIdAndReservationStatus(
+                        event.userId(), event.movieId(), ReservationStatus.PAID)
+                && !archivedPurchaseRepository.existsPaidByUserIdAndMovieId(event.userId(), event.movieId())) {
+            similarMoviesIndex.removePurchaser(event.movieId(), event.userId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onPurchasesDeleted(PurchasesDeletedEvent event) {
+        Set<Long> movieIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (PurchasesDeletedEvent.MoviePurchaser moviePurchaser : event.moviePurchasers()) {
+            movieIds.add(moviePurchaser.movieId());
+            userIds.add(moviePurchaser.userId());
+        }
+
+        List<Object[]> remainingPairs = new ArrayList<>(
+                archivedPurchaseRepository.findPaidMovieUserPairsAmong(movieIds, userIds));
+        remainingPairs.addAll(purchaseRepository.findPaidMovieUserPairsAmong(movieIds, userIds));
+        Set<PurchasesDeletedEvent.MoviePurchaser> remaining = new HashSet<>();
+        for (Object[] pair : remainingPairs) {
+            remaining.add(new PurchasesDeletedEvent.MoviePurchaser((Long) pair[0], (Long) pair[1]));
+        }
+
+        for (PurchasesDeletedEvent.MoviePurchaser moviePurchaser : event.moviePurchasers()) {
+            if (!remaining.contains(moviePurchaser)) {
+                similarMoviesIndex.removePurchaser(moviePurchaser.movieId(), moviePurchaser.userId());
+            }
+        }
     }
 
     private void validateSeatAvailability(Screening screening, int requestedSeats) {
-        int availableSeats = screening.getRoom().getMaxSeats() - purchaseRepository
-                .findByScreeningId(screening.getScreeningId())
-                .stream()
-                .mapToInt(Purchase::getBoughtSeats)
-                .sum();
+        long availableSeats = screening.getRoom().getMaxSeats()
+                - purchaseRepository.sumBoughtSeatsByScreeningId(screening.getScreeningId());
 
         if (requestedSeats > availableSeats) {
             throw new IllegalStateException("Not enough seats available");
@@ -0,0 +1,46 @@
+package monaditto.cinemaproject.purchase;
+
+import monaditto.cinemaproject.screening.Screening;
+
+import java.time.LocalDateTime;
+
+public record PurchaseStatusChangedEvent(
+        Long purchaseId,
+        Long userId,
+        Long screeningId,
+        Long movieId,
+        Long roomId,
+        LocalDateTime screeningStart,
+        double price,
+        int boughtSeats,
+        ReservationStatus oldStatus,
+        ReservationStatus newStatus,
+        LocalDateTime occurredAt
+) {
+    public static PurchaseStatusChangedEvent of(Purchase purchase,
+                                                ReservationStatus oldStatus,
+                                                ReservationStatus newStatus) {
+        Screening screening = purchase.getScreening();
+        return new PurchaseStatusChangedEvent(
+                purchase.getId(),
+                purchase.getUser().getId(),
+                screening.getScreeningId(),
+                screening.getMovie().getId(),
+                screening.getRoom().getMovieRoomId(),
+                screening.getStart(),
+                screening.getPrice(),
+                purchase.getBoughtSeats(),
+                oldStatus,
+                newStatus,
+                LocalDateTime.now()
+        );
+    }
+
+    public boolean becamePaid() {
+        return newStatus == ReservationStatus.PAID && oldStatus != ReservationStatus.PAID;
+    }
+
+    public boolean stoppedBeingPaid() {
+        return oldStatus == ReservationStatus.PAID && newStatus != ReservationStatus.PAID;
+    }
+}
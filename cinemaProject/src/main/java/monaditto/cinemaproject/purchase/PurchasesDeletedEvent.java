@@ -0,0 +1,28 @@
+package monaditto.cinemaproject.purchase;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+public record PurchasesDeletedEvent(
+        Set<LocalDate> screeningDays,
+        Set<MoviePurchaser> moviePurchasers
+) {
+    public record MoviePurchaser(Long movieId, Long userId) {}
+
+    /**
+     * @param paidPurchaseKeys rows of screening start, movie id and user id of the deleted paid purchases
+     */
+    public static PurchasesDeletedEvent of(List<Object[]> paidPurchaseKeys) {
+        Set<LocalDate> days = new TreeSet<>();
+        Set<MoviePurchaser> moviePurchasers = new HashSet<>();
+        for (Object[] key : paidPurchaseKeys) {
+            days.add(((LocalDateTime) key[0]).toLocalDate());
+            moviePurchasers.add(new MoviePurchaser((Long) key[1], (Long) key[2]));
+        }
+        return new PurchasesDeletedEvent(days, moviePurchasers);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package monaditto.cinemaproject.querystats;
+
+public record EndpointQueryStats(
+        String endpoint,
+        long requests,
+        long statements,
+        long rows,
+        long totalMillis,
+        int maxStatements,
+        long suspectedNPlusOneRequests,
+        String lastSuspectedShape,
+        double statementsPerRequest
+) {}
@@ -0,0 +1,119 @@
+package monaditto.cinemaproject.querystats;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Wraps the connections of the target data source so that every statement executed while a {@link QueryRecorder}
+ * is bound to the current thread is timed and its fetched or updated rows are counted. Outside of a request the
+ * calls go straight through to the driver.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private static final Set<String> PREPARE_METHODS = Set.of("prepareStatement", "prepareCall");
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                String sql = PREPARE_METHODS.contains(method.getName()) ? (String) args[0] : null;
+                return wrap(statement, sql);
+            }
+            return result;
+        });
+    }
+
+    private static Statement wrap(Statement statement, String preparedSql) {
+        Class<? extends Statement> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return proxy(type, statement, (target, method, args) -> {
+            QueryRecorder recorder = QueryRecorder.current();
+            String name = method.getName();
+            if (recorder == null) {
+                return invoke(target, method, args);
+            }
+            if (EXECUTE_METHODS.contains(name)) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                long start = System.nanoTime();
+                Object result = invoke(target, method, args);
+                recorder.recordStatement(sql, System.nanoTime() - start);
+                recordUpdatedRows(recorder, result);
+                return result instanceof ResultSet resultSet ? wrap(resultSet, recorder) : result;
+            }
+            Object result = invoke(target, method, args);
+            return result instanceof ResultSet resultSet && name.equals("getResultSet")
+                    ? wrap(resultSet, recorder)
+                    : result;
+        });
+    }
+
+    private static ResultSet wrap(ResultSet resultSet, QueryRecorder recorder) {
+        return proxy(ResultSet.class, resultSet, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                recorder.recordRows(1);
+            }
+            return result;
+        });
+    }
+
+    private static void recordUpdatedRows(QueryRecorder recorder, Object result) {
+        if (result instanceof int[] counts) {
+            recorder.recordRows(Arrays.stream(counts).filter(count -> count > 0).sum());
+        } else if (result instanceof long[] counts) {
+            recorder.recordRows(Arrays.stream(counts).filter(count -> count > 0).sum());
+        } else if (result instanceof Number count) {
+            recorder.recordRows(Math.max(0, count.longValue()));
+        }
+    }
+
+    private interface Handler<T extends Wrapper> {
+        Object handle(T target, Method method, Object[] args) throws Throwable;
+    }
+
+    private static <T extends Wrapper> T proxy(Class<? extends T> type, T target, Handler<T> handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> switch (method.getName()) {
+            case "unwrap" -> type.equals(args[0]) ? proxy : target.unwrap((Class<?>) args[0]);
+            case "isWrapperFor" -> type.equals(args[0]) || target.isWrapperFor((Class<?>) args[0]);
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> handler.handle(target, method, args);
+        };
+        return type.cast(Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, invocationHandler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package monaditto.cinemaproject.querystats;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Collects the JDBC statements executed while a recorder is bound to the current thread. Statements are grouped
+ * by shape, i.e. their SQL with literals and {@code IN} lists collapsed, so the same query issued once per row of an
+ * earlier result shows up as one shape with a high count.
+ * <p>
+ * Recorders nest: a recorder started while another one is bound also counts into the outer one, which is what lets
+ * a test wrap a whole request that {@link QueryStatsFilter} records on its own.
+ * <p>
+ * The binding is thread-local. Work handed to another thread is only counted if it goes through an executor
+ * wrapped with {@link #propagating(Executor)}; background jobs that outlive the request (movie imports,
+ * recommendation refreshes, the archive and replication schedulers) are deliberately left unattributed.
+ */
+public class QueryRecorder {
+
+    private static final ThreadLocal<QueryRecorder> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final QueryRecorder parent;
+
+    private final Map<String, Integer> shapes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger statements = new AtomicInteger();
+
+    private final AtomicLong rows = new AtomicLong();
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private QueryRecorder(QueryRecorder parent) {
+        this.parent = parent;
+    }
+
+    static QueryRecorder current() {
+        return CURRENT.get();
+    }
+
+    static QueryRecorder start() {
+        QueryRecorder recorder = new QueryRecorder(CURRENT.get());
+        CURRENT.set(recorder);
+        return recorder;
+    }
+
+    void stop() {
+        if (parent != null) {
+            CURRENT.set(parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Wraps {@code executor} so that tasks run under the recorder bound to the submitting thread, if any.
+     */
+    public static Executor propagating(Executor executor) {
+        return command -> {
+            QueryRecorder recorder = CURRENT.get();
+            if (recorder == null) {
+                executor.execute(command);
+                return;
+            }
+            executor.execute(() -> {
+                QueryRecorder previous = CURRENT.get();
+                CURRENT.set(recorder);
+                try {
+                    command.run();
+                } finally {
+                    if (previous != null) {
+                        CURRENT.set(previous);
+                    } else {
+                        CURRENT.remove();
+                    }
+                }
+            });
+        };
+    }
+
+    void recordStatement(String sql, long elapsedNanos) {
+        String shape = shapeOf(sql);
+        for (QueryRecorder recorder = this; recorder != null; recorder = recorder.parent) {
+            recorder.statements.incrementAndGet();
+            recorder.nanos.addAndGet(elapsedNanos);
+            recorder.shapes.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    void recordRows(long count) {
+        for (QueryRecorder recorder = this; recorder != null; recorder = recorder.parent) {
+            recorder.rows.addAndGet(count);
+        }
+    }
+
+    int statements() {
+        return statements.get();
+    }
+
+    long rows() {
+        return rows.get();
+    }
+
+    long millis() {
+        return nanos.get() / 1_000_000;
+    }
+
+    Map<String, Integer> shapes() {
+        return Map.copyOf(shapes);
+    }
+
+    List<Map.Entry<String, Integer>> repeatedShapes(int threshold) {
+        return shapes.entrySet().stream()
+                .filter(shape -> shape.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .map(shape -> Map.entry(shape.getKey(), shape.getValue()))
+                .toList();
+    }
+
+    static String shapeOf(String sql) {
+        if (sql == null) {
+            return "<batch>";
+        }
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim().toLowerCase();
+    }
+}
@@ -0,0 +1,71 @@
+package monaditto.cinemaproject.querystats;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binds a {@link QueryRecorder} to the request thread, then reports what {@link QueryCountingDataSource} saw:
+ * per-endpoint totals go to the {@link QueryStatsRegistry} and any statement shape repeated at least
+ * {@code query-stats.n-plus-one-threshold} times is logged as a suspected N+1. With
+ * {@code query-stats.response-header} on, the counts are also returned in the {@value #HEADER} header; the body is
+ * buffered for that so statements issued while serializing it are included.
+ */
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "X-Query-Stats";
+
+    private final QueryStatsProperties properties;
+
+    private final QueryStatsRegistry registry;
+
+    public QueryStatsFilter(QueryStatsProperties properties, QueryStatsRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper bufferedResponse = properties.responseHeader()
+                ? new ContentCachingResponseWrapper(response)
+                : null;
+        QueryRecorder recorder = QueryRecorder.start();
+        try {
+            filterChain.doFilter(request, bufferedResponse != null ? bufferedResponse : response);
+        } finally {
+            recorder.stop();
+            report(request, recorder);
+            if (bufferedResponse != null) {
+                bufferedResponse.setHeader(HEADER, "statements=" + recorder.statements()
+                        + "; rows=" + recorder.rows()
+                        + "; time-ms=" + recorder.millis()
+                        + "; suspected-n-plus-one=" + recorder.repeatedShapes(properties.nPlusOneThreshold()).size());
+                bufferedResponse.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryRecorder recorder) {
+        if (recorder.statements() == 0) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "<unmapped>");
+
+        List<Map.Entry<String, Integer>> repeated = recorder.repeatedShapes(properties.nPlusOneThreshold());
+        for (Map.Entry<String, Integer> shape : repeated) {
+            System.err.println("Suspected N+1 in " + endpoint + ": " + shape.getValue()
+                    + " executions of " + shape.getKey());
+        }
+        registry.record(endpoint, recorder, repeated.isEmpty() ? null : repeated.get(0).getKey());
+    }
+}
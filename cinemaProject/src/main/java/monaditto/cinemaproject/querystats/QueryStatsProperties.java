@@ -0,0 +1,11 @@
+package monaditto.cinemaproject.querystats;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "query-stats")
+public record QueryStatsProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10") int nPlusOneThreshold,
+        @DefaultValue("false") boolean responseHeader
+) {}
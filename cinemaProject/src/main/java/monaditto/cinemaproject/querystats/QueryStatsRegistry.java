@@ -0,0 +1,63 @@
+package monaditto.cinemaproject.querystats;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class QueryStatsRegistry {
+
+    private static final class Totals {
+
+        private long requests;
+
+        private long statements;
+
+        private long rows;
+
+        private long millis;
+
+        private int maxStatements;
+
+        private long suspectedNPlusOneRequests;
+
+        private String lastSuspectedShape;
+
+        synchronized void add(QueryRecorder recorder, String suspectedShape) {
+            requests++;
+            statements += recorder.statements();
+            rows += recorder.rows();
+            millis += recorder.millis();
+            maxStatements = Math.max(maxStatements, recorder.statements());
+            if (suspectedShape != null) {
+                suspectedNPlusOneRequests++;
+                lastSuspectedShape = suspectedShape;
+            }
+        }
+
+        synchronized EndpointQueryStats toStats(String endpoint) {
+            return new EndpointQueryStats(endpoint, requests, statements, rows, millis, maxStatements,
+                    suspectedNPlusOneRequests, lastSuspectedShape, (double) statements / requests);
+        }
+    }
+
+    private final Map<String, Totals> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, QueryRecorder recorder, String suspectedShape) {
+        endpoints.computeIfAbsent(endpoint, key -> new Totals()).add(recorder, suspectedShape);
+    }
+
+    public List<EndpointQueryStats> stats() {
+        return endpoints.entrySet().stream()
+                .map(entry -> entry.getValue().toStats(entry.getKey()))
+                .sorted(Comparator.comparingLong(EndpointQueryStats::statements).reversed())
+                .toList();
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+}
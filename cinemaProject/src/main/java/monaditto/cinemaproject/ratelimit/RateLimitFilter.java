@@ -0,0 +1,110 @@
+package monaditto.cinemaproject.ratelimit;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private record BucketKey(RateLimitProperties.Rule rule, String client) {}
+
+    private final RateLimitProperties properties;
+
+    private final List<RateLimitProperties.Rule> rules;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final ConcurrentHashMap<BucketKey, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService evictionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rate-limit-eviction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public RateLimitFilter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.rules = properties.rules();
+        long idleMillis = properties.idleTimeout().toMillis();
+        evictionExecutor.scheduleWithFixedDelay(this::evictIdleBuckets, idleMillis, idleMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled() || rules.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimitProperties.Rule rule = findRule(request);
+        if (rule != null) {
+            long now = System.nanoTime();
+            TokenBucket bucket = buckets.computeIfAbsent(new BucketKey(rule, clientOf(request)),
+                    key -> new TokenBucket(rule.capacity(), rule.refillPerSecond(), now));
+            long waitNanos = bucket.tryConsume(now);
+            if (waitNanos > 0) {
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(waitNanos)));
+                response.getWriter().write("Too many requests");
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        evictionExecutor.shutdownNow();
+    }
+
+    static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+
+    private RateLimitProperties.Rule findRule(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        for (RateLimitProperties.Rule rule : rules) {
+            if ((rule.method() == null || rule.method().equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(rule.path(), path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void evictIdleBuckets() {
+        long now = System.nanoTime();
+        long idleNanos = properties.idleTimeout().toNanos();
+        buckets.values().removeIf(bucket -> bucket.isIdleSince(now, idleNanos));
+    }
+}
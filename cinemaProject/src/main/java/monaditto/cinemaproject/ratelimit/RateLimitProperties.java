@@ -0,0 +1,38 @@
+package monaditto.cinemaproject.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10m") Duration idleTimeout,
+        @DefaultValue List<Rule> rules
+) {
+    public RateLimitProperties {
+        if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("rate-limit.idle-timeout must be positive");
+        }
+    }
+
+    public record Rule(
+            String method,
+            String path,
+            int capacity,
+            double refillPerSecond
+    ) {
+        public Rule {
+            if (capacity < 1) {
+                throw new IllegalArgumentException("Rate limit rule " + method + " " + path
+                        + ": capacity must be at least 1");
+            }
+            if (!(refillPerSecond > 0) || Double.isInfinite(refillPerSecond)) {
+                throw new IllegalArgumentException("Rate limit rule " + method + " " + path
+                        + ": refill-per-second must be a positive number");
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package monaditto.cinemaproject.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single "theoretical arrival time" (GCRA):
+ * the bucket is full once that time lies in the past, and each taken token
+ * pushes it one refill interval further.
+ */
+class TokenBucket {
+
+    private final long refillIntervalNanos;
+
+    private final long burstNanos;
+
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        this.refillIntervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstNanos = refillIntervalNanos * (capacity - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise the nanoseconds until one becomes available
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long arrival = Math.max(current, nowNanos);
+            long wait = arrival - burstNanos - nowNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, arrival + refillIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    boolean isIdleSince(long nowNanos, long idleNanos) {
+        return nowNanos - theoreticalArrival.get() > idleNanos;
+    }
+}
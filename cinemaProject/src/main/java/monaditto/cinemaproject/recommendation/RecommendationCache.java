@@ -0,0 +1,202 @@
+package monaditto.cinemaproject.recommendation;
+
+import jakarta.annotation.PreDestroy;
+import monaditto.cinemaproject.cache.CacheStats;
+import monaditto.cinemaproject.cache.MonitoredCache;
+import monaditto.cinemaproject.movie.MovieChangedEvent;
+import monaditto.cinemaproject.movie.MovieService;
+import monaditto.cinemaproject.movie.MovieWithAverageRatingDto;
+import monaditto.cinemaproject.opinion.OpinionChangedEvent;
+import monaditto.cinemaproject.purchase.PurchaseStatusChangedEvent;
+import monaditto.cinemaproject.purchase.PurchasesDeletedEvent;
+import monaditto.cinemaproject.screening.ScreeningChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class RecommendationCache implements MonitoredCache {
+
+    private record Entry(List<MovieWithAverageRatingDto> recommendations, long version, long computedAtNanos) {}
+
+    private final MovieService movieService;
+
+    private final int maxSize;
+
+    private final long expireAfterNanos;
+
+    private final long refreshAfterNanos;
+
+    private final Map<Long, Entry> entries;
+
+    private final Map<Long, Long> invalidatedAt = new ConcurrentHashMap<>();
+
+    private final Set<Long> refreshesInFlight = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong versions = new AtomicLong();
+
+    private volatile long invalidatedAllAt = 0;
+
+    private final ThreadPoolExecutor refreshExecutor;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong staleHits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public RecommendationCache(MovieService movieService,
+                               @Value("${recommendations.cache.max-size:10000}") int maxSize,
+                               @Value("${recommendations.cache.expire-after-minutes:60}") long expireAfterMinutes,
+                               @Value("${recommendations.cache.refresh-after-minutes:10}") long refreshAfterMinutes,
+                               @Value("${recommendations.cache.refresh-threads:2}") int refreshThreads) {
+        this.movieService = movieService;
+        this.maxSize = maxSize;
+        this.expireAfterNanos = Duration.ofMinutes(expireAfterMinutes).toNanos();
+        this.refreshAfterNanos = Duration.ofMinutes(refreshAfterMinutes).toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > RecommendationCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.refreshExecutor = new ThreadPoolExecutor(
+                refreshThreads, refreshThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxSize));
+    }
+
+    public List<MovieWithAverageRatingDto> getRecommendedMovies(Long userId) {
+        Entry entry = getEntry(userId);
+        long now = System.nanoTime();
+
+        if (entry == null || now - entry.computedAtNanos() > expireAfterNanos) {
+            misses.incrementAndGet();
+            return compute(userId).recommendations();
+        }
+
+        if (isStale(userId, entry, now)) {
+            staleHits.incrementAndGet();
+            scheduleRefresh(userId);
+        } else {
+            hits.incrementAndGet();
+        }
+        return entry.recommendations();
+    }
+
+    public void invalidate(Long userId) {
+        boolean cached;
+        synchronized (entries) {
+            cached = entries.containsKey(userId);
+        }
+        if (cached || refreshesInFlight.contains(userId)) {
+            invalidatedAt.put(userId, versions.incrementAndGet());
+            scheduleRefresh(userId);
+        }
+    }
+
+    public void invalidateAll() {
+        invalidatedAllAt = versions.incrementAndGet();
+        invalidatedAt.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPurchaseStatusChanged(PurchaseStatusChangedEvent event) {
+        if (event.becamePaid() || event.stoppedBeingPaid()) {
+            invalidate(event.userId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPurchasesDeleted(PurchasesDeletedEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOpinionChanged(OpinionChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScreeningChanged(ScreeningChangedEvent event) {
+        invalidateAll();
+    }
+
+    @Override
+    public CacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return CacheStats.of("recommendations", size, maxSize,
+                hits.get() + staleHits.get(), misses.get(), evictions.get());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private Entry getEntry(Long userId) {
+        synchronized (entries) {
+            return entries.get(userId);
+        }
+    }
+
+    private boolean isStale(Long userId, Entry entry, long now) {
+        long invalidated = Math.max(invalidatedAllAt, invalidatedAt.getOrDefault(userId, 0L));
+        return entry.version() < invalidated || now - entry.computedAtNanos() > refreshAfterNanos;
+    }
+
+    private void scheduleRefresh(Long userId) {
+        if (!refreshesInFlight.add(userId)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    compute(userId);
+                } catch (RuntimeException e) {
+                    System.err.println("Failed to refresh recommendations for user " + userId + ": " + e.getMessage());
+                } finally {
+                    refreshesInFlight.remove(userId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshesInFlight.remove(userId);
+        }
+    }
+
+    private Entry compute(Long userId) {
+        long version = versions.incrementAndGet();
+        Entry entry = new Entry(List.copyOf(movieService.getRecommendedMovies(userId)), version, System.nanoTime());
+        synchronized (entries) {
+            Entry current = entries.get(userId);
+            if (current == null || current.version() < version) {
+                entries.put(userId, entry);
+            }
+        }
+        invalidatedAt.computeIfPresent(userId, (id, invalidated) -> invalidated < version ? null : invalidated);
+        return entry;
+    }
+}
@@ -2,8 +2,10 @@ package monaditto.cinemaproject.role;
 
 import jakarta.transaction.Transactional;
 import monaditto.cinemaproject.user.User;
+import monaditto.cinemaproject.user.UserChangedEvent;
 import monaditto.cinemaproject.user.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -16,10 +18,14 @@ public class RoleService {
 
     private final UserRepository userRepository;
 
+    private final ApplicationEventPublisher eventPublisher;
+
     @Autowired
-    public RoleService(RoleRepository roleRepository, UserRepository userRepository) {
+    public RoleService(RoleRepository roleRepository, UserRepository userRepository,
+                       ApplicationEventPublisher eventPublisher) {
         this.roleRepository = roleRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<RoleDto> getAllRoles() {
@@ -49,6 +55,7 @@ public class RoleService {
         user.setRoles(roles);
         userRepository.save(user);
         userRepository.flush();
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
     }
 
     public void addRoleToUser(Long userId, Long roleId) {
@@ -66,6 +73,7 @@ public class RoleService {
             newRoles.add(role);
             user.setRoles(newRoles);
             userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(userId));
         }
     }
 
@@ -84,6 +92,7 @@ public class RoleService {
             newRoles.remove(role);
             user.setRoles(newRoles);
             userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(userId));
         }
     }
 
@@ -0,0 +1,9 @@
+package monaditto.cinemaproject.screening;
+
+import java.time.LocalDateTime;
+
+public record ScreeningChangedEvent(
+        Long screeningId,
+        LocalDateTime previousStart,
+        LocalDateTime start
+) {}
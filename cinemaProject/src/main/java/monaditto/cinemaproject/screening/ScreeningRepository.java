@@ -1,12 +1,14 @@
 package monaditto.cinemaproject.screening;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface ScreeningRepository extends JpaRepository<Screening, Long> {
 
@@ -14,6 +16,26 @@ public interface ScreeningRepository extends JpaRepository<Screening, Long> {
 
     public List<Screening> findByStartAfter(LocalDateTime date);
 
+    @Query("SELECT new monaditto.cinemaproject.screening.ScreeningDto(s.id, s.movie.id, s.room.id, s.start, s.price) " +
+            "FROM Screening s")
+    List<ScreeningDto> findAllDtos();
+
+    @Query("SELECT new monaditto.cinemaproject.screening.ScreeningDto(s.id, s.movie.id, s.room.id, s.start, s.price) " +
+            "FROM Screening s WHERE s.id = :id")
+    Optional<ScreeningDto> findDtoById(@Param("id") Long id);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Screening s WHERE s.movie.id = :movieId")
+    int deleteByMovieId(@Param("movieId") Long movieId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Screening s WHERE s.room.id = :roomId")
+    int deleteByRoomId(@Param("roomId") Long roomId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Screening s WHERE s.id = :id")
+    int deleteScreeningById(@Param("id") Long id);
+
     @Query("""
         SELECT s FROM Screening s
         WHERE s.room.id = :roomId
@@ -25,4 +47,17 @@ public interface ScreeningRepository extends JpaRepository<Screening, Long> {
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end
     );
+
+    @Query("""
+        SELECT r.id, r.movieRoomName, r.maxSeats, s.start, COALESCE(SUM(p.boughtSeats), 0)
+        FROM Screening s
+        JOIN s.room r
+        LEFT JOIN Purchase p ON p.screening = s AND p.reservationStatus = 'PAID'
+        WHERE s.start >= :start AND s.start < :end
+        GROUP BY s.id, r.id, r.movieRoomName, r.maxSeats, s.start
+    """)
+    List<Object[]> findScreeningOccupancyBetween(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
 }
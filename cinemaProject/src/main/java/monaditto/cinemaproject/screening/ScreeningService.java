@@ -1,13 +1,15 @@
 package monaditto.cinemaproject.screening;
 
-import jakarta.transaction.Transactional;
 import monaditto.cinemaproject.movie.Movie;
 import monaditto.cinemaproject.movie.MovieDto;
 import monaditto.cinemaproject.movie.MovieRepository;
 import monaditto.cinemaproject.movieRoom.MovieRoom;
 import monaditto.cinemaproject.movieRoom.MovieRoomRepository;
+import monaditto.cinemaproject.purchase.PurchaseService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -27,6 +29,12 @@ public class ScreeningService {
     @Autowired
     private MovieRoomRepository movieRoomRepository;
 
+    @Autowired
+    private PurchaseService purchaseService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     private boolean isConflict(Movie movie, MovieRoom movieRoom, LocalDateTime start) {
         int duration = movie.getDuration();
         LocalDateTime end = start.plusMinutes(duration);
@@ -66,29 +74,34 @@ public class ScreeningService {
         movieRoom.addScreening(newScreening);
 
         screeningRepository.save(newScreening);
+        eventPublisher.publishEvent(new ScreeningChangedEvent(newScreening.getScreeningId(), null, newScreening.getStart()));
 
         return ScreeningDto.screeningToScreeningDto(newScreening);
     }
 
+    @Transactional(readOnly = true)
     public List<ScreeningDto> getAllScreenings() {
-        return screeningRepository.findAll().stream()
-                .map(ScreeningDto::screeningToScreeningDto)
-                .toList();
+        return screeningRepository.findAllDtos();
     }
 
+    @Transactional(readOnly = true)
     public Optional<ScreeningDto> getScreeningById(Long id) {
-        return screeningRepository.findById(id)
-                .map(ScreeningDto::screeningToScreeningDto);
+        return screeningRepository.findDtoById(id);
     }
 
     public boolean deleteScreening(Long id) {
-        if (screeningRepository.existsById(id)) {
-            screeningRepository.deleteById(id);
+        Optional<Screening> screening = screeningRepository.findById(id);
+        if (screening.isPresent()) {
+            LocalDateTime start = screening.get().getStart();
+            purchaseService.deletePurchasesOfScreening(id);
+            screeningRepository.deleteScreeningById(id);
+            eventPublisher.publishEvent(new ScreeningChangedEvent(id, start, null));
             return true;
         }
         return false;
     }
 
+    @Transactional(readOnly = true)
     public List<ScreeningDto> getScreeningsByDate(LocalDate date) {
         return screeningRepository
                 .findByStartBetween(date.atStartOfDay(), date.atTime(23, 59, 59)).stream()
@@ -96,6 +109,7 @@ public class ScreeningService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<ScreeningDto> getUpcomingScreeningsAfter(LocalDateTime dateTime) {
         return screeningRepository.findByStartAfter(dateTime).stream()
                 .map(ScreeningDto::screeningToScreeningDto)
@@ -109,12 +123,15 @@ public class ScreeningService {
         Movie movie = getMovie(screeningDto.movieId());
         MovieRoom movieRoom = getMovieRoom(screeningDto.movieRoomId());
 
+        LocalDateTime previousStart = screening.getStart();
+
         screening.setMovie(movie);
         screening.setRoom(movieRoom);
         screening.setPrice(screeningDto.price());
         screening.setStart(screeningDto.start());
 
         screeningRepository.save(screening);
+        eventPublisher.publishEvent(new ScreeningChangedEvent(id, previousStart, screening.getStart()));
 
         return ScreeningDto.screeningToScreeningDto(screening);
     }
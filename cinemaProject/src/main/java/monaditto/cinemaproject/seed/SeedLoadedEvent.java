@@ -0,0 +1,6 @@
+package monaditto.cinemaproject.seed;
+
+public record SeedLoadedEvent(
+        int version,
+        int rows
+) {}
@@ -0,0 +1,40 @@
+package monaditto.cinemaproject.seed;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record SeedSnapshot(
+        int version,
+        LocalDateTime createdAt,
+        List<Room> rooms,
+        List<Category> categories,
+        List<Role> roles,
+        List<User> users,
+        List<Movie> movies,
+        List<Screening> screenings,
+        List<Opinion> opinions,
+        List<Purchase> purchases,
+        List<Screening> archivedScreenings,
+        List<Purchase> archivedPurchases
+) {
+
+    public static final int FORMAT_VERSION = 2;
+
+    public record Room(Long id, String name, int maxSeats) {}
+
+    public record Category(Long id, String name) {}
+
+    public record Role(Long id, String name) {}
+
+    public record User(Long id, String email, String firstName, String lastName, String password, List<Long> roleIds) {}
+
+    public record Movie(Long id, String title, String description, int duration, String posterUrl,
+                        LocalDate releaseDate, List<Long> categoryIds) {}
+
+    public record Screening(Long id, Long movieId, Long roomId, long startOffsetMinutes, double price) {}
+
+    public record Opinion(Long userId, Long movieId, double rating, String comment) {}
+
+    public record Purchase(Long id, Long userId, Long screeningId, int boughtSeats, String reservationStatus) {}
+}
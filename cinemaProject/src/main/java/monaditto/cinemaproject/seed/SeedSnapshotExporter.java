@@ -0,0 +1,122 @@
+package monaditto.cinemaproject.seed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import monaditto.cinemaproject.archive.ArchivedPurchase;
+import monaditto.cinemaproject.archive.ArchivedScreening;
+import monaditto.cinemaproject.category.Category;
+import monaditto.cinemaproject.movie.Movie;
+import monaditto.cinemaproject.movieRoom.MovieRoom;
+import monaditto.cinemaproject.opinion.Opinion;
+import monaditto.cinemaproject.purchase.Purchase;
+import monaditto.cinemaproject.role.Role;
+import monaditto.cinemaproject.screening.Screening;
+import monaditto.cinemaproject.user.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+public class SeedSnapshotExporter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final Path exportPath;
+
+    @Autowired
+    public SeedSnapshotExporter(JdbcTemplate jdbcTemplate,
+                                ObjectMapper objectMapper,
+                                @Value("${seed.export-path}") Path exportPath) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.exportPath = exportPath;
+    }
+
+    public Path export() throws IOException {
+        SeedSnapshot snapshot = snapshot(LocalDateTime.now());
+
+        Path directory = exportPath.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, "seed", ".tmp");
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(temporary))) {
+            objectMapper.writeValue(outputStream, snapshot);
+        }
+        return Files.move(temporary, exportPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Transactional(readOnly = true)
+    public SeedSnapshot snapshot(LocalDateTime createdAt) {
+        Map<Long, List<Long>> userRoles = groupPairs("SELECT user_id, role_id FROM user_role ORDER BY user_id, role_id");
+        Map<Long, List<Long>> movieCategories = groupPairs(
+                "SELECT movie_id, category_id FROM movie_category ORDER BY movie_id, category_id");
+
+        List<SeedSnapshot.Room> rooms = jdbcTemplate.query(
+                "SELECT movie_room_id, movie_room_name, max_seats FROM " + MovieRoom.TABLE_NAME + " ORDER BY movie_room_id",
+                (rs, row) -> new SeedSnapshot.Room(rs.getLong(1), rs.getString(2), rs.getInt(3)));
+
+        List<SeedSnapshot.Category> categories = jdbcTemplate.query(
+                "SELECT category_id, category_name FROM " + Category.TABLE_NAME + " ORDER BY category_id",
+                (rs, row) -> new SeedSnapshot.Category(rs.getLong(1), rs.getString(2)));
+
+        List<SeedSnapshot.Role> roles = jdbcTemplate.query(
+                "SELECT role_id, name FROM " + Role.TABLE_NAME + " ORDER BY role_id",
+                (rs, row) -> new SeedSnapshot.Role(rs.getLong(1), rs.getString(2)));
+
+        List<SeedSnapshot.User> users = jdbcTemplate.query(
+                "SELECT user_id, email, first_name, last_name, password FROM " + User.TABLE_NAME + " ORDER BY user_id",
+                (rs, row) -> new SeedSnapshot.User(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                        rs.getString(5), userRoles.getOrDefault(rs.getLong(1), List.of())));
+
+        List<SeedSnapshot.Movie> movies = jdbcTemplate.query(
+                "SELECT movie_id, title, description, duration, poster_url, release_date FROM " + Movie.TABLE_NAME
+                        + " ORDER BY movie_id",
+                (rs, row) -> new SeedSnapshot.Movie(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getInt(4),
+                        rs.getString(5), rs.getDate(6).toLocalDate(), movieCategories.getOrDefault(rs.getLong(1), List.of())));
+
+        List<SeedSnapshot.Screening> screenings = screenings(Screening.TABLE_NAME, createdAt);
+
+        List<SeedSnapshot.Opinion> opinions = jdbcTemplate.query(
+                "SELECT user_id, movie_id, rating, comment FROM " + Opinion.TABLE_NAME + " ORDER BY movie_id, user_id",
+                (rs, row) -> new SeedSnapshot.Opinion(rs.getLong(1), rs.getLong(2), rs.getDouble(3), rs.getString(4)));
+
+        return new SeedSnapshot(SeedSnapshot.FORMAT_VERSION, createdAt,
+                rooms, categories, roles, users, movies, screenings, opinions, purchases(Purchase.TABLE_NAME),
+                screenings(ArchivedScreening.TABLE_NAME, createdAt), purchases(ArchivedPurchase.TABLE_NAME));
+    }
+
+    private List<SeedSnapshot.Screening> screenings(String table, LocalDateTime createdAt) {
+        return jdbcTemplate.query(
+                "SELECT screening_id, movie_id, room_id, start, price FROM " + table + " ORDER BY screening_id",
+                (rs, row) -> new SeedSnapshot.Screening(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                        Duration.between(createdAt, rs.getTimestamp(4).toLocalDateTime()).toMinutes(), rs.getDouble(5)));
+    }
+
+    private List<SeedSnapshot.Purchase> purchases(String table) {
+        return jdbcTemplate.query(
+                "SELECT purchase_id, user_id, screening_id, bought_seats, reservation_status FROM " + table
+                        + " ORDER BY purchase_id",
+                (rs, row) -> new SeedSnapshot.Purchase(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getInt(4),
+                        rs.getString(5)));
+    }
+
+    private Map<Long, List<Long>> groupPairs(String sql) {
+        Map<Long, List<Long>> groups = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            groups.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getLong(2));
+        });
+        return groups;
+    }
+}
@@ -0,0 +1,224 @@
+package monaditto.cinemaproject.seed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import monaditto.cinemaproject.archive.ArchivedPurchase;
+import monaditto.cinemaproject.archive.ArchivedScreening;
+import monaditto.cinemaproject.category.Category;
+import monaditto.cinemaproject.movie.Movie;
+import monaditto.cinemaproject.movieRoom.MovieRoom;
+import monaditto.cinemaproject.opinion.Opinion;
+import monaditto.cinemaproject.purchase.Purchase;
+import monaditto.cinemaproject.role.Role;
+import monaditto.cinemaproject.screening.Screening;
+import monaditto.cinemaproject.user.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+@Component
+public class SeedSnapshotLoader {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final ResourceLoader resourceLoader;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final List<String> locations;
+
+    @Autowired
+    public SeedSnapshotLoader(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              ResourceLoader resourceLoader,
+                              ApplicationEventPublisher eventPublisher,
+                              EntityManagerFactory entityManagerFactory,
+                              @Value("${seed.snapshot-locations}") List<String> locations) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.resourceLoader = resourceLoader;
+        this.eventPublisher = eventPublisher;
+        this.entityManagerFactory = entityManagerFactory;
+        this.locations = locations;
+    }
+
+    public boolean loadFirstAvailable() {
+        for (String location : locations) {
+            Optional<SeedSnapshot> snapshot = read(resourceLoader.getResource(location));
+            if (snapshot.isPresent()) {
+                long start = System.nanoTime();
+                int rows = load(snapshot.get());
+                System.out.println("Loaded seed snapshot v" + snapshot.get().version() + " from " + location
+                        + " (" + rows + " rows in " + (System.nanoTime() - start) / 1_000_000 + " ms)");
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int load(SeedSnapshot snapshot) {
+        LocalDateTime loadedAt = LocalDateTime.now();
+        Integer rows = transactionTemplate.execute(status -> insertAll(snapshot, loadedAt));
+
+        restartIdentity(MovieRoom.TABLE_NAME, "movie_room_id", snapshot.rooms(), SeedSnapshot.Room::id);
+        restartIdentity(Category.TABLE_NAME, "category_id", snapshot.categories(), SeedSnapshot.Category::id);
+        restartIdentity(Role.TABLE_NAME, "role_id", snapshot.roles(), SeedSnapshot.Role::id);
+        restartIdentity(User.TABLE_NAME, "user_id", snapshot.users(), SeedSnapshot.User::id);
+        restartIdentity(Movie.TABLE_NAME, "movie_id", snapshot.movies(), SeedSnapshot.Movie::id);
+        // Archiving keeps the ids, so live rows must not be handed an id that is already taken in the archive.
+        restartIdentity(Screening.TABLE_NAME, "screening_id",
+                concat(snapshot.screenings(), snapshot.archivedScreenings()), SeedSnapshot.Screening::id);
+        restartIdentity(Purchase.TABLE_NAME, "purchase_id",
+                concat(snapshot.purchases(), snapshot.archivedPurchases()), SeedSnapshot.Purchase::id);
+
+        entityManagerFactory.getCache().evictAll();
+        eventPublisher.publishEvent(new SeedLoadedEvent(snapshot.version(), rows));
+        return rows;
+    }
+
+    private Optional<SeedSnapshot> read(Resource resource) {
+        if (!resource.exists()) {
+            return Optional.empty();
+        }
+        try (InputStream inputStream = new GZIPInputStream(resource.getInputStream())) {
+            SeedSnapshot snapshot = objectMapper.readValue(inputStream, SeedSnapshot.class);
+            if (snapshot.version() != SeedSnapshot.FORMAT_VERSION) {
+                System.err.println("Skipping seed snapshot " + resource.getDescription() + ": unsupported version "
+                        + snapshot.version());
+                return Optional.empty();
+            }
+            return Optional.of(snapshot);
+        } catch (IOException e) {
+            System.err.println("Failed to read seed snapshot " + resource.getDescription() + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private int insertAll(SeedSnapshot snapshot, LocalDateTime loadedAt) {
+        int rows = 0;
+
+        rows += batchInsert("INSERT INTO " + MovieRoom.TABLE_NAME
+                        + " (movie_room_id, movie_room_name, max_seats) VALUES (?, ?, ?)",
+                snapshot.rooms(), room -> new Object[]{room.id(), room.name(), room.maxSeats()});
+
+        rows += batchInsert("INSERT INTO " + Category.TABLE_NAME + " (category_id, category_name) VALUES (?, ?)",
+                snapshot.categories(), category -> new Object[]{category.id(), category.name()});
+
+        rows += batchInsert("INSERT INTO " + Role.TABLE_NAME + " (role_id, name) VALUES (?, ?)",
+                snapshot.roles(), role -> new Object[]{role.id(), role.name()});
+
+        rows += batchInsert("INSERT INTO " + User.TABLE_NAME
+                        + " (user_id, email, first_name, last_name, password) VALUES (?, ?, ?, ?, ?)",
+                snapshot.users(), user -> new Object[]{
+                        user.id(), user.email(), user.firstName(), user.lastName(), user.password()});
+
+        List<Object[]> userRoles = new ArrayList<>();
+        snapshot.users().forEach(user -> user.roleIds().forEach(roleId -> userRoles.add(new Object[]{user.id(), roleId})));
+        rows += batchInsert("INSERT INTO user_role (user_id, role_id) VALUES (?, ?)", userRoles, Function.identity());
+
+        rows += batchInsert("INSERT INTO " + Movie.TABLE_NAME
+                        + " (movie_id, title, description, duration, poster_url, release_date) VALUES (?, ?, ?, ?, ?, ?)",
+                snapshot.movies(), movie -> new Object[]{
+                        movie.id(), movie.title(), movie.description(), movie.duration(), movie.posterUrl(),
+                        Date.valueOf(movie.releaseDate())});
+
+        List<Object[]> movieCategories = new ArrayList<>();
+        snapshot.movies().forEach(movie -> movie.categoryIds().forEach(categoryId -> movieCategories.add(new Object[]{movie.id(), categoryId})));
+        rows += batchInsert("INSERT INTO movie_category (movie_id, category_id) VALUES (?, ?)",
+                movieCategories, Function.identity());
+
+        rows += batchInsert("INSERT INTO " + Screening.TABLE_NAME
+                        + " (screening_id, movie_id, room_id, start, price) VALUES (?, ?, ?, ?, ?)",
+                snapshot.screenings(), screening -> new Object[]{
+                        screening.id(), screening.movieId(), screening.roomId(),
+                        Timestamp.valueOf(loadedAt.plusMinutes(screening.startOffsetMinutes())), screening.price()});
+
+        rows += batchInsert("INSERT INTO " + Opinion.TABLE_NAME
+                        + " (user_id, movie_id, rating, comment) VALUES (?, ?, ?, ?)",
+                snapshot.opinions(), opinion -> new Object[]{
+                        opinion.userId(), opinion.movieId(), opinion.rating(), opinion.comment()});
+
+        rows += batchInsert("INSERT INTO " + Purchase.TABLE_NAME
+                        + " (purchase_id, user_id, screening_id, bought_seats, reservation_status) VALUES (?, ?, ?, ?, ?)",
+                snapshot.purchases(), purchase -> new Object[]{
+                        purchase.id(), purchase.userId(), purchase.screeningId(), purchase.boughtSeats(),
+                        purchase.reservationStatus()});
+
+        rows += batchInsert("INSERT INTO " + ArchivedScreening.TABLE_NAME
+                        + " (screening_id, movie_id, room_id, start, price, archived_at) VALUES (?, ?, ?, ?, ?, ?)",
+                snapshot.archivedScreenings(), screening -> new Object[]{
+                        screening.id(), screening.movieId(), screening.roomId(),
+                        Timestamp.valueOf(loadedAt.plusMinutes(screening.startOffsetMinutes())), screening.price(),
+                        Timestamp.valueOf(loadedAt)});
+
+        rows += batchInsert("INSERT INTO " + ArchivedPurchase.TABLE_NAME
+                        + " (purchase_id, user_id, screening_id, bought_seats, reservation_status, archived_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)",
+                snapshot.archivedPurchases(), purchase -> new Object[]{
+                        purchase.id(), purchase.userId(), purchase.screeningId(), purchase.boughtSeats(),
+                        purchase.reservationStatus(), Timestamp.valueOf(loadedAt)});
+
+        return rows;
+    }
+
+    private <T> int batchInsert(String sql, List<T> items, Function<T, Object[]> toArguments) {
+        if (items.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(sql, items.stream().map(toArguments).toList());
+        return items.size();
+    }
+
+    /**
+     * Restarts the identity columns of all seeded tables at 1. The generated seed refers to rows by hard-coded ids,
+     * and identity values handed out by a rolled back attempt are not returned, so this has to run before every
+     * attempt. Must be called outside a transaction: H2 commits on DDL.
+     */
+    public void restartIdentities() {
+        restartIdentity(MovieRoom.TABLE_NAME, "movie_room_id", 1);
+        restartIdentity(Category.TABLE_NAME, "category_id", 1);
+        restartIdentity(Role.TABLE_NAME, "role_id", 1);
+        restartIdentity(User.TABLE_NAME, "user_id", 1);
+        restartIdentity(Movie.TABLE_NAME, "movie_id", 1);
+        restartIdentity(Screening.TABLE_NAME, "screening_id", 1);
+    }
+
+    private <T> void restartIdentity(String table, String column, List<T> items, Function<T, Long> id) {
+        restartIdentity(table, column, items.stream().map(id).mapToLong(Long::longValue).max().orElse(0) + 1);
+    }
+
+    private static <T> List<T> concat(List<T> first, List<T> second) {
+        List<T> items = new ArrayList<>(first);
+        items.addAll(second);
+        return items;
+    }
+
+    private void restartIdentity(String table, String column, long next) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " RESTART WITH " + next);
+    }
+}
@@ -0,0 +1,45 @@
+package monaditto.cinemaproject.similarity;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
+
+@Component
+public class MinHasher {
+
+    public static final int SIGNATURE_SIZE = 128;
+
+    private static final long PRIME = 2_147_483_647L;
+
+    private static final long SEED = 0x5EED_F00DL;
+
+    private final long[] coefficientsA = new long[SIGNATURE_SIZE];
+
+    private final long[] coefficientsB = new long[SIGNATURE_SIZE];
+
+    public MinHasher() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            coefficientsA[i] = 1 + random.nextInt((int) (PRIME - 1));
+            coefficientsB[i] = random.nextInt((int) PRIME);
+        }
+    }
+
+    public int[] signature(Set<String> tokens) {
+        int[] signature = new int[SIGNATURE_SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        for (String token : tokens) {
+            long hash = token.hashCode() & 0x7fffffffL;
+            for (int i = 0; i < SIGNATURE_SIZE; i++) {
+                int value = (int) ((coefficientsA[i] * hash + coefficientsB[i]) % PRIME);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+}
@@ -0,0 +1,6 @@
+package monaditto.cinemaproject.similarity;
+
+public record SimilarMovie(
+        Long movieId,
+        double similarity
+) {}
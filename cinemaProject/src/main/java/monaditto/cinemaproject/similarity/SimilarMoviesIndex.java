@@ -0,0 +1,145 @@
+package monaditto.cinemaproject.similarity;
+
+import monaditto.cinemaproject.category.Category;
+import monaditto.cinemaproject.movie.Movie;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+@Component
+public class SimilarMoviesIndex {
+
+    private static final int BANDS = 64;
+
+    private static final int ROWS_PER_BAND = MinHasher.SIGNATURE_SIZE / BANDS;
+
+    private static final int MIN_WORD_LENGTH = 4;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "with", "from", "that", "this", "their", "they", "them", "into", "when", "where",
+            "while", "after", "before", "about", "have", "must", "will", "what", "which", "other"
+    );
+
+    private final MinHasher minHasher;
+
+    private final Map<Long, Set<String>> contentTokens = new HashMap<>();
+
+    private final Map<Long, Set<Long>> purchasers = new HashMap<>();
+
+    private final Map<Long, long[]> bucketKeys = new HashMap<>();
+
+    private final Map<Long, Set<Long>> buckets = new HashMap<>();
+
+    @Autowired
+    public SimilarMoviesIndex(MinHasher minHasher) {
+        this.minHasher = minHasher;
+    }
+
+    public synchronized void update(Movie movie) {
+        Set<String> tokens = new HashSet<>();
+        for (Category category : movie.getCategories()) {
+            tokens.add("c:" + category.getCategoryId());
+        }
+        for (String word : movie.getDescription().toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= MIN_WORD_LENGTH && !STOP_WORDS.contains(word)) {
+                tokens.add("w:" + word);
+            }
+        }
+
+        contentTokens.put(movie.getId(), tokens);
+        reindex(movie.getId());
+    }
+
+    public synchronized void addPurchaser(Long movieId, Long userId) {
+        if (purchasers.computeIfAbsent(movieId, id -> new HashSet<>()).add(userId)
+                && contentTokens.containsKey(movieId)) {
+            reindex(movieId);
+        }
+    }
+
+    public synchronized void removePurchaser(Long movieId, Long userId) {
+        Set<Long> moviePurchasers = purchasers.get(movieId);
+        if (moviePurchasers != null && moviePurchasers.remove(userId) && contentTokens.containsKey(movieId)) {
+            reindex(movieId);
+        }
+    }
+
+    public synchronized void remove(Long movieId) {
+        removeFromBuckets(movieId);
+        contentTokens.remove(movieId);
+        purchasers.remove(movieId);
+    }
+
+    public synchronized List<SimilarMovie> findSimilar(Long movieId, int limit) {
+        long[] keys = bucketKeys.get(movieId);
+        if (keys == null) {
+            return List.of();
+        }
+
+        Set<Long> candidates = new HashSet<>();
+        for (long key : keys) {
+            candidates.addAll(buckets.getOrDefault(key, Set.of()));
+        }
+        candidates.remove(movieId);
+
+        Set<String> features = features(movieId);
+        return candidates.stream()
+                .map(candidateId -> new SimilarMovie(candidateId, jaccard(features, features(candidateId))))
+                .filter(similarMovie -> similarMovie.similarity() > 0)
+                .sorted(Comparator.comparingDouble(SimilarMovie::similarity).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private void reindex(Long movieId) {
+        removeFromBuckets(movieId);
+
+        int[] signature = minHasher.signature(features(movieId));
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            int from = band * ROWS_PER_BAND;
+            int bandHash = Arrays.hashCode(Arrays.copyOfRange(signature, from, from + ROWS_PER_BAND));
+            keys[band] = ((long) band << 32) | (bandHash & 0xffffffffL);
+            buckets.computeIfAbsent(keys[band], key -> new HashSet<>()).add(movieId);
+        }
+        bucketKeys.put(movieId, keys);
+    }
+
+    private void removeFromBuckets(Long movieId) {
+        long[] keys = bucketKeys.remove(movieId);
+        if (keys == null) {
+            return;
+        }
+        for (long key : keys) {
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(movieId);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    private Set<String> features(Long movieId) {
+        Set<String> features = new HashSet<>(contentTokens.getOrDefault(movieId, Set.of()));
+        for (Long userId : purchasers.getOrDefault(movieId, Set.of())) {
+            features.add("u:" + userId);
+        }
+        return features;
+    }
+
+    private static double jaccard(Set<String> first, Set<String> second) {
+        if (first.isEmpty() && second.isEmpty()) {
+            return 0;
+        }
+        int intersection = 0;
+        for (String token : first) {
+            if (second.contains(token)) {
+                intersection++;
+            }
+        }
+        return (double) intersection / (first.size() + second.size() - intersection);
+    }
+}
@@ -0,0 +1,9 @@
+package monaditto.cinemaproject.statistics;
+
+import java.util.List;
+
+public record CohortRetentionDto(
+        String cohort,
+        int size,
+        List<Double> retention
+) {}
@@ -0,0 +1,117 @@
+package monaditto.cinemaproject.statistics;
+
+import monaditto.cinemaproject.archive.ArchivedPurchaseRepository;
+import monaditto.cinemaproject.purchase.PurchaseRepository;
+import monaditto.cinemaproject.purchase.PurchaseStatusChangedEvent;
+import monaditto.cinemaproject.purchase.PurchasesDeletedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+@Service
+public class CohortService {
+
+    private final PurchaseRepository purchaseRepository;
+
+    private final ArchivedPurchaseRepository archivedPurchaseRepository;
+
+    private final TreeMap<YearMonth, CompressedBitmap> activeUsers = new TreeMap<>();
+
+    @Autowired
+    public CohortService(PurchaseRepository purchaseRepository,
+                         ArchivedPurchaseRepository archivedPurchaseRepository) {
+        this.purchaseRepository = purchaseRepository;
+        this.archivedPurchaseRepository = archivedPurchaseRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadActiveUsers() {
+        activeUsers.clear();
+        List<Object[]> sales = new ArrayList<>(archivedPurchaseRepository.findPaidSales());
+        sales.addAll(purchaseRepository.findPaidSales());
+        for (Object[] row : sales) {
+            markActive(YearMonth.from((LocalDateTime) row[0]), (Long) row[6]);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPurchaseStatusChanged(PurchaseStatusChangedEvent event) {
+        YearMonth month = YearMonth.from(event.screeningStart());
+        if (event.becamePaid()) {
+            synchronized (this) {
+                markActive(month, event.userId());
+            }
+        } else if (event.stoppedBeingPaid()) {
+            LocalDateTime start = month.atDay(1).atStartOfDay();
+            LocalDateTime end = month.plusMonths(1).atDay(1).atStartOfDay();
+            boolean stillActive = purchaseRepository.existsPaidByUserIdBetween(event.userId(), start, end)
+                    || archivedPurchaseRepository.existsPaidByUserIdBetween(event.userId(), start, end);
+            if (!stillActive) {
+                synchronized (this) {
+                    CompressedBitmap users = activeUsers.get(month);
+                    if (users != null) {
+                        users.remove(Math.toIntExact(event.userId()));
+                    }
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPurchasesDeleted(PurchasesDeletedEvent event) {
+        Set<YearMonth> months = new TreeSet<>();
+        event.screeningDays().forEach(day -> months.add(YearMonth.from(day)));
+
+        for (YearMonth month : months) {
+            LocalDateTime start = month.atDay(1).atStartOfDay();
+            LocalDateTime end = month.plusMonths(1).atDay(1).atStartOfDay();
+            List<Long> userIds = new ArrayList<>(archivedPurchaseRepository.findPaidUserIdsBetween(start, end));
+            userIds.addAll(purchaseRepository.findPaidUserIdsBetween(start, end));
+
+            activeUsers.remove(month);
+            for (Long userId : userIds) {
+                markActive(month, userId);
+            }
+        }
+    }
+
+    public synchronized List<CohortRetentionDto> getRetention(int cohorts, int months) {
+        YearMonth current = YearMonth.now();
+        YearMonth firstCohort = current.minusMonths(cohorts - 1);
+
+        CompressedBitmap seen = new CompressedBitmap();
+        for (CompressedBitmap users : activeUsers.headMap(firstCohort).values()) {
+            seen.orInPlace(users);
+        }
+
+        List<CohortRetentionDto> result = new ArrayList<>();
+        for (YearMonth cohortMonth = firstCohort; !cohortMonth.isAfter(current); cohortMonth = cohortMonth.plusMonths(1)) {
+            CompressedBitmap active = activeUsers.getOrDefault(cohortMonth, new CompressedBitmap());
+            CompressedBitmap cohort = active.andNot(seen);
+            seen.orInPlace(active);
+
+            int size = cohort.cardinality();
+            List<Double> retention = new ArrayList<>();
+            for (int offset = 0; offset <= months && !cohortMonth.plusMonths(offset).isAfter(current); offset++) {
+                CompressedBitmap later = activeUsers.get(cohortMonth.plusMonths(offset));
+                retention.add(size == 0 || later == null ? 0.0 : (double) cohort.andCardinality(later) / size);
+            }
+            result.add(new CohortRetentionDto(cohortMonth.toString(), size, retention));
+        }
+        return result;
+    }
+
+    private void markActive(YearMonth month, Long userId) {
+        activeUsers.computeIfAbsent(month, key -> new CompressedBitmap()).add(Math.toIntExact(userId));
+    }
+}
@@ -0,0 +1,101 @@
+package monaditto.cinemaproject.statistics;
+
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public class CountMinSketch {
+
+    private static final int DEPTH = 4;
+
+    private static final int WIDTH = 512;
+
+    private static final int MAX_CANDIDATES = 32;
+
+    private final int[] counts;
+
+    private final Set<Long> candidates;
+
+    public CountMinSketch() {
+        this(new int[DEPTH * WIDTH], new LinkedHashSet<>());
+    }
+
+    private CountMinSketch(int[] counts, Set<Long> candidates) {
+        this.counts = counts;
+        this.candidates = candidates;
+    }
+
+    public static CountMinSketch fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length < DEPTH * WIDTH * Integer.BYTES + Integer.BYTES) {
+            return new CountMinSketch();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int[] counts = new int[DEPTH * WIDTH];
+        buffer.asIntBuffer().get(counts);
+        buffer.position(counts.length * Integer.BYTES);
+        int candidateCount = buffer.getInt();
+        Set<Long> candidates = new LinkedHashSet<>();
+        for (int i = 0; i < candidateCount; i++) {
+            candidates.add(buffer.getLong());
+        }
+        return new CountMinSketch(counts, candidates);
+    }
+
+    public void add(long item, int count) {
+        for (int row = 0; row < DEPTH; row++) {
+            counts[row * WIDTH + bucket(item, row)] += count;
+        }
+        if (count > 0) {
+            candidates.add(item);
+            trimCandidates();
+        }
+    }
+
+    public long estimate(long item) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counts[row * WIDTH + bucket(item, row)]);
+        }
+        return Math.max(estimate, 0);
+    }
+
+    public void merge(CountMinSketch other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        candidates.addAll(other.candidates);
+        trimCandidates();
+    }
+
+    public List<Long> top(int limit) {
+        return candidates.stream()
+                .filter(item -> estimate(item) > 0)
+                .sorted(Comparator.comparingLong(this::estimate).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(counts.length * Integer.BYTES + Integer.BYTES + candidates.size() * Long.BYTES);
+        buffer.asIntBuffer().put(counts);
+        buffer.position(counts.length * Integer.BYTES);
+        buffer.putInt(candidates.size());
+        candidates.forEach(buffer::putLong);
+        return buffer.array();
+    }
+
+    private void trimCandidates() {
+        if (candidates.size() <= MAX_CANDIDATES) {
+            return;
+        }
+        List<Long> kept = top(MAX_CANDIDATES);
+        candidates.clear();
+        candidates.addAll(kept);
+    }
+
+    private static int bucket(long item, int row) {
+        return (int) Math.floorMod(SketchHashing.mix(item * (DEPTH + 1) + row), (long) WIDTH);
+    }
+}
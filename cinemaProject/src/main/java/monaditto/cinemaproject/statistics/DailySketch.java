@@ -0,0 +1,63 @@
+package monaditto.cinemaproject.statistics;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = DailySketch.TABLE_NAME)
+public class DailySketch {
+
+    public static final String TABLE_NAME = "daily_sketches";
+
+    @Id
+    @Column(name = "sketch_day")
+    private LocalDate day;
+
+    @Lob
+    @Column(name = "unique_buyers", nullable = false)
+    private byte[] uniqueBuyers;
+
+    @Lob
+    @Column(name = "movie_seats", nullable = false)
+    private byte[] movieSeats;
+
+    @Lob
+    @Column(name = "ticket_prices", nullable = false)
+    private byte[] ticketPrices;
+
+    @Lob
+    @Column(name = "group_sizes", nullable = false)
+    private byte[] groupSizes;
+
+    public DailySketch() {}
+
+    public DailySketch(LocalDate day, SalesSketches sketches) {
+        this.day = day;
+        store(sketches);
+    }
+
+    public void update(SalesSketches sketches) {
+        store(sketches);
+    }
+
+    private void store(SalesSketches sketches) {
+        this.uniqueBuyers = sketches.uniqueBuyers().toBytes();
+        this.movieSeats = sketches.movieSeats().toBytes();
+        this.ticketPrices = sketches.ticketPrices().toBytes();
+        this.groupSizes = sketches.groupSizes().toBytes();
+    }
+
+    public SalesSketches toSketches() {
+        return new SalesSketches(
+                HyperLogLog.fromBytes(uniqueBuyers),
+                CountMinSketch.fromBytes(movieSeats),
+                TDigest.fromBytes(ticketPrices),
+                TDigest.fromBytes(groupSizes)
+        );
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+}
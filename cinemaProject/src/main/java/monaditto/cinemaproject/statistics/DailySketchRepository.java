@@ -0,0 +1,11 @@
+package monaditto.cinemaproject.statistics;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+
+public interface DailySketchRepository extends JpaRepository<DailySketch, LocalDate> {
+    Slice<DailySketch> findByDayBetweenOrderByDay(LocalDate startDay, LocalDate endDay, Pageable pageable);
+}
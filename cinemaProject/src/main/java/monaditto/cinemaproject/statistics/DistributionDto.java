@@ -0,0 +1,24 @@
+package monaditto.cinemaproject.statistics;
+
+public record DistributionDto(
+        double count,
+        Double p25,
+        Double median,
+        Double p75,
+        Double p90,
+        Double p99
+) {
+    public static DistributionDto of(TDigest digest) {
+        if (digest.totalWeight() == 0) {
+            return new DistributionDto(0, null, null, null, null, null);
+        }
+        return new DistributionDto(
+                digest.totalWeight(),
+                digest.quantile(0.25),
+                digest.quantile(0.5),
+                digest.quantile(0.75),
+                digest.quantile(0.9),
+                digest.quantile(0.99)
+        );
+    }
+}
@@ -0,0 +1,6 @@
+package monaditto.cinemaproject.statistics;
+
+public record MovieSeatsEstimateDto(
+        Long movieId,
+        long estimatedSeats
+) {}
@@ -0,0 +1,8 @@
+package monaditto.cinemaproject.statistics;
+
+public enum RollupDimension {
+    TOTAL,
+    MOVIE,
+    ROOM,
+    CATEGORY
+}
@@ -0,0 +1,8 @@
+package monaditto.cinemaproject.statistics;
+
+public record RoomOccupancyDto(
+        Long roomId,
+        String roomName,
+        Double[][] utilization,
+        int[][] screenings
+) {}
@@ -0,0 +1,170 @@
+package monaditto.cinemaproject.statistics;
+
+import monaditto.cinemaproject.archive.ArchivedPurchaseRepository;
+import monaditto.cinemaproject.purchase.PurchaseRepository;
+import monaditto.cinemaproject.purchase.PurchaseStatusChangedEvent;
+import monaditto.cinemaproject.purchase.PurchasesDeletedEvent;
+import monaditto.cinemaproject.screening.ScreeningChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+@Component
+public class SalesColumnStore {
+
+    public static final long ANY = -1;
+
+    private static final int INITIAL_CAPACITY = 1 << 16;
+
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    public record BucketTotals(long origin, double[] revenue, long[] seats) {}
+
+    private static final class Columns {
+        final long[] timestamps;
+        final long[] screenings;
+        final long[] movies;
+        final long[] rooms;
+        final int[] seats;
+        final double[] prices;
+        volatile int size;
+
+        Columns(int capacity) {
+            timestamps = new long[capacity];
+            screenings = new long[capacity];
+            movies = new long[capacity];
+            rooms = new long[capacity];
+            seats = new int[capacity];
+            prices = new double[capacity];
+        }
+
+        Columns grow() {
+            Columns grown = new Columns(timestamps.length * 2);
+            System.arraycopy(timestamps, 0, grown.timestamps, 0, size);
+            System.arraycopy(screenings, 0, grown.screenings, 0, size);
+            System.arraycopy(movies, 0, grown.movies, 0, size);
+            System.arraycopy(rooms, 0, grown.rooms, 0, size);
+            System.arraycopy(seats, 0, grown.seats, 0, size);
+            System.arraycopy(prices, 0, grown.prices, 0, size);
+            grown.size = size;
+            return grown;
+        }
+    }
+
+    private final PurchaseRepository purchaseRepository;
+
+    private final ArchivedPurchaseRepository archivedPurchaseRepository;
+
+    private volatile Columns columns = new Columns(INITIAL_CAPACITY);
+
+    @Autowired
+    public SalesColumnStore(PurchaseRepository purchaseRepository,
+                            ArchivedPurchaseRepository archivedPurchaseRepository) {
+        this.purchaseRepository = purchaseRepository;
+        this.archivedPurchaseRepository = archivedPurchaseRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        List<Object[]> sales = new ArrayList<>(archivedPurchaseRepository.findPaidSales());
+        sales.addAll(purchaseRepository.findPaidSales());
+        Columns loaded = new Columns(Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(sales.size(), 1)) * 2));
+        for (Object[] row : sales) {
+            write(loaded, (LocalDateTime) row[0], (Long) row[1], (Long) row[2], (Long) row[3],
+                    (Integer) row[4], (Double) row[5]);
+        }
+        columns = loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPurchaseStatusChanged(PurchaseStatusChangedEvent event) {
+        if (event.becamePaid()) {
+            append(event, event.boughtSeats());
+        } else if (event.stoppedBeingPaid()) {
+            append(event, -event.boughtSeats());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScreeningChanged(ScreeningChangedEvent event) {
+        if (event.previousStart() != null) {
+            reload();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPurchasesDeleted(PurchasesDeletedEvent event) {
+        reload();
+    }
+
+    public int size() {
+        return columns.size;
+    }
+
+    public BucketTotals aggregate(LocalDateTime from, LocalDateTime to, TimeBucket bucket, long movieId, long roomId) {
+        long fromMillis = TimeBucket.toMillis(from);
+        long toMillis = TimeBucket.toMillis(to);
+        long origin = bucket.origin(fromMillis);
+        int bucketCount = bucket.bucketCount(origin, toMillis);
+
+        Columns snapshot = columns;
+        int size = snapshot.size;
+        int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> {
+                    double[] revenue = new double[bucketCount];
+                    long[] seats = new long[bucketCount];
+                    int end = Math.min(size, (chunk + 1) * CHUNK_SIZE);
+                    for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                        long timestamp = snapshot.timestamps[i];
+                        if (timestamp < fromMillis || timestamp >= toMillis
+                                || (movieId != ANY && snapshot.movies[i] != movieId)
+                                || (roomId != ANY && snapshot.rooms[i] != roomId)) {
+                            continue;
+                        }
+                        int index = bucket.bucketOf(origin, timestamp);
+                        revenue[index] += snapshot.seats[i] * snapshot.prices[i];
+                        seats[index] += snapshot.seats[i];
+                    }
+                    return new BucketTotals(origin, revenue, seats);
+                })
+                .reduce((first, second) -> {
+                    for (int i = 0; i < bucketCount; i++) {
+                        first.revenue()[i] += second.revenue()[i];
+                        first.seats()[i] += second.seats()[i];
+                    }
+                    return first;
+                })
+                .orElseGet(() -> new BucketTotals(origin, new double[bucketCount], new long[bucketCount]));
+    }
+
+    private synchronized void append(PurchaseStatusChangedEvent event, int seats) {
+        Columns current = columns;
+        if (current.size == current.timestamps.length) {
+            current = current.grow();
+            columns = current;
+        }
+        write(current, event.screeningStart(), event.screeningId(), event.movieId(), event.roomId(),
+                seats, event.price());
+    }
+
+    private static void write(Columns target, LocalDateTime start, Long screeningId, Long movieId, Long roomId,
+                              int seats, double price) {
+        int index = target.size;
+        target.timestamps[index] = TimeBucket.toMillis(start);
+        target.screenings[index] = screeningId;
+        target.movies[index] = movieId;
+        target.rooms[index] = roomId;
+        target.seats[index] = seats;
+        target.prices[index] = price;
+        target.size = index + 1;
+    }
+}
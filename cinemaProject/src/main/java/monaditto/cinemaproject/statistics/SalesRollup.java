@@ -0,0 +1,75 @@
+package monaditto.cinemaproject.statistics;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(
+        name = SalesRollup.TABLE_NAME,
+        uniqueConstraints = @UniqueConstraint(columnNames = {"sales_day", "dimension", "dimension_id"})
+)
+public class SalesRollup {
+
+    public static final String TABLE_NAME = "sales_rollups";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rollup_id")
+    private Long id;
+
+    @Column(name = "sales_day", nullable = false)
+    private LocalDate day;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RollupDimension dimension;
+
+    @Column(name = "dimension_id", nullable = false)
+    private Long dimensionId;
+
+    @Column(nullable = false)
+    private double revenue;
+
+    @Column(nullable = false)
+    private long seats;
+
+    @Column(nullable = false)
+    private long screenings;
+
+    public SalesRollup() {}
+
+    public SalesRollup(LocalDate day, RollupDimension dimension, Long dimensionId) {
+        this.day = day;
+        this.dimension = dimension;
+        this.dimensionId = dimensionId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public RollupDimension getDimension() {
+        return dimension;
+    }
+
+    public Long getDimensionId() {
+        return dimensionId;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public long getSeats() {
+        return seats;
+    }
+
+    public long getScreenings() {
+        return screenings;
+    }
+}
@@ -0,0 +1,85 @@
+package monaditto.cinemaproject.statistics;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, Long> {
+    @Query("SELECT DISTINCT r.day FROM SalesRollup r " +
+            "WHERE r.dimension = :dimension AND r.dimensionId = :dimensionId")
+    List<LocalDate> findDaysByDimension(@Param("dimension") RollupDimension dimension,
+                                       @Param("dimensionId") Long dimensionId);
+
+    @Modifying
+    @Query("UPDATE SalesRollup r SET r.revenue = r.revenue + :revenue, r.seats = r.seats + :seats, " +
+            "r.screenings = r.screenings + :screenings " +
+            "WHERE r.day = :day AND r.dimension = :dimension AND r.dimensionId = :dimensionId")
+    int increment(@Param("day") LocalDate day,
+                  @Param("dimension") RollupDimension dimension,
+                  @Param("dimensionId") Long dimensionId,
+                  @Param("revenue") double revenue,
+                  @Param("seats") long seats,
+                  @Param("screenings") long screenings);
+
+    @Query("SELECT COALESCE(SUM(r.revenue), 0) FROM SalesRollup r " +
+            "WHERE r.dimension = 'TOTAL' AND r.day BETWEEN :startDay AND :endDay")
+    double sumRevenueBetween(@Param("startDay") LocalDate startDay,
+                             @Param("endDay") LocalDate endDay);
+
+    @Query("SELECT COALESCE(SUM(r.seats), 0), COALESCE(SUM(r.screenings), 0) FROM SalesRollup r " +
+            "WHERE r.dimension = 'TOTAL' AND r.day BETWEEN :startDay AND :endDay")
+    List<Object[]> sumSeatsAndScreeningsBetween(@Param("startDay") LocalDate startDay,
+                                                @Param("endDay") LocalDate endDay);
+
+    @Query("SELECT r.day, r.revenue, r.seats, r.screenings FROM SalesRollup r " +
+            "WHERE r.dimension = 'TOTAL' AND r.day BETWEEN :startDay AND :endDay")
+    List<Object[]> findDailyTotalsBetween(@Param("startDay") LocalDate startDay,
+                                          @Param("endDay") LocalDate endDay);
+
+    @Modifying
+    @Query("DELETE FROM SalesRollup r WHERE r.day >= :startDay AND r.day < :endDay")
+    void deleteBetween(@Param("startDay") LocalDate startDay,
+                       @Param("endDay") LocalDate endDay);
+
+    @Modifying
+    @Query(value = "INSERT INTO sales_rollups (sales_day, dimension, dimension_id, revenue, seats, screenings) " +
+            "SELECT CAST(s.start AS DATE), 'TOTAL', 0, SUM(p.bought_seats * s.price), SUM(p.bought_seats), " +
+            "COUNT(DISTINCT s.screening_id) " +
+            "FROM all_purchases p JOIN all_screenings s ON p.screening_id = s.screening_id " +
+            "WHERE p.reservation_status = 'PAID' AND s.start >= :start AND s.start < :end " +
+            "GROUP BY CAST(s.start AS DATE)", nativeQuery = true)
+    void insertTotalRollups(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Modifying
+    @Query(value = "INSERT INTO sales_rollups (sales_day, dimension, dimension_id, revenue, seats, screenings) " +
+            "SELECT CAST(s.start AS DATE), 'MOVIE', s.movie_id, SUM(p.bought_seats * s.price), SUM(p.bought_seats), " +
+            "COUNT(DISTINCT s.screening_id) " +
+            "FROM all_purchases p JOIN all_screenings s ON p.screening_id = s.screening_id " +
+            "WHERE p.reservation_status = 'PAID' AND s.start >= :start AND s.start < :end " +
+            "GROUP BY CAST(s.start AS DATE), s.movie_id", nativeQuery = true)
+    void insertMovieRollups(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Modifying
+    @Query(value = "INSERT INTO sales_rollups (sales_day, dimension, dimension_id, revenue, seats, screenings) " +
+            "SELECT CAST(s.start AS DATE), 'ROOM', s.room_id, SUM(p.bought_seats * s.price), SUM(p.bought_seats), " +
+            "COUNT(DISTINCT s.screening_id) " +
+            "FROM all_purchases p JOIN all_screenings s ON p.screening_id = s.screening_id " +
+            "WHERE p.reservation_status = 'PAID' AND s.start >= :start AND s.start < :end " +
+            "GROUP BY CAST(s.start AS DATE), s.room_id", nativeQuery = true)
+    void insertRoomRollups(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Modifying
+    @Query(value = "INSERT INTO sales_rollups (sales_day, dimension, dimension_id, revenue, seats, screenings) " +
+            "SELECT CAST(s.start AS DATE), 'CATEGORY', mc.category_id, SUM(p.bought_seats * s.price), " +
+            "SUM(p.bought_seats), COUNT(DISTINCT s.screening_id) " +
+            "FROM all_purchases p JOIN all_screenings s ON p.screening_id = s.screening_id " +
+            "JOIN movie_category mc ON s.movie_id = mc.movie_id " +
+            "WHERE p.reservation_status = 'PAID' AND s.start >= :start AND s.start < :end " +
+            "GROUP BY CAST(s.start AS DATE), mc.category_id", nativeQuery = true)
+    void insertCategoryRollups(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+}
@@ -0,0 +1,157 @@
+package monaditto.cinemaproject.statistics;
+
+import monaditto.cinemaproject.category.CategoryRepository;
+import monaditto.cinemaproject.movie.MovieChangedEvent;
+import monaditto.cinemaproject.purchase.PurchaseRepository;
+import monaditto.cinemaproject.purchase.PurchaseStatusChangedEvent;
+import monaditto.cinemaproject.purchase.PurchasesDeletedEvent;
+import monaditto.cinemaproject.screening.ScreeningChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Service
+@Transactional
+public class SalesRollupService {
+
+    private static final Long TOTAL_ID = 0L;
+
+    private final SalesRollupRepository salesRollupRepository;
+
+    private final PurchaseRepository purchaseRepository;
+
+    private final CategoryRepository categoryRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public SalesRollupService(SalesRollupRepository salesRollupRepository,
+                              PurchaseRepository purchaseRepository,
+                              CategoryRepository categoryRepository,
+                              JdbcTemplate jdbcTemplate) {
+        this.salesRollupRepository = salesRollupRepository;
+        this.purchaseRepository = purchaseRepository;
+        this.categoryRepository = categoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (salesRollupRepository.count() == 0) {
+            backfill();
+        }
+    }
+
+    public void backfill() {
+        salesRollupRepository.deleteAllInBatch();
+        rebuild(LocalDateTime.of(1970, 1, 1, 0, 0), LocalDateTime.of(9999, 1, 1, 0, 0));
+    }
+
+    public void rebuildDay(LocalDate day) {
+        rebuild(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+    }
+
+    @EventListener
+    public void onPurchaseStatusChanged(PurchaseStatusChangedEvent event) {
+        int sign;
+        if (event.becamePaid()) {
+            sign = 1;
+        } else if (event.stoppedBeingPaid()) {
+            sign = -1;
+        } else {
+            return;
+        }
+
+        long paidSeats = purchaseRepository.sumPaidSeatsByScreeningId(event.screeningId());
+        long screenings = 0;
+        if (sign > 0 && paidSeats == event.boughtSeats()) {
+            screenings = 1;
+        } else if (sign < 0 && paidSeats == 0) {
+            screenings = -1;
+        }
+
+        double revenue = sign * event.boughtSeats() * event.price();
+        long seats = (long) sign * event.boughtSeats();
+        LocalDate day = event.screeningStart().toLocalDate();
+
+        add(day, RollupDimension.TOTAL, TOTAL_ID, revenue, seats, screenings);
+        add(day, RollupDimension.MOVIE, event.movieId(), revenue, seats, screenings);
+        add(day, RollupDimension.ROOM, event.roomId(), revenue, seats, screenings);
+        for (Long categoryId : categoryRepository.findCategoryIdsByMovieId(event.movieId())) {
+            add(day, RollupDimension.CATEGORY, categoryId, revenue, seats, screenings);
+        }
+    }
+
+    @EventListener
+    public void onScreeningChanged(ScreeningChangedEvent event) {
+        Set<LocalDate> days = new TreeSet<>();
+        if (event.previousStart() != null) {
+            days.add(event.previousStart().toLocalDate());
+        }
+        if (event.start() != null) {
+            days.add(event.start().toLocalDate());
+        }
+        rebuildDays(days);
+    }
+
+    @EventListener
+    public void onMovieChanged(MovieChangedEvent event) {
+        rebuildDays(salesRollupRepository.findDaysByDimension(RollupDimension.MOVIE, event.movieId()));
+    }
+
+    /**
+     * Rebuilds the affected days once the delete has committed, so a bulk delete does not hold its locks while the
+     * rollups are recomputed; a failure here leaves the days stale until the next rebuild instead of undoing the
+     * delete.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onPurchasesDeleted(PurchasesDeletedEvent event) {
+        rebuildDays(event.screeningDays());
+    }
+
+    private void rebuildDays(Iterable<LocalDate> days) {
+        for (LocalDate day : days) {
+            rebuildDay(day);
+        }
+    }
+
+    private void rebuild(LocalDateTime start, LocalDateTime end) {
+        salesRollupRepository.flush();
+        salesRollupRepository.deleteBetween(start.toLocalDate(), end.toLocalDate());
+        salesRollupRepository.insertTotalRollups(start, end);
+        salesRollupRepository.insertMovieRollups(start, end);
+        salesRollupRepository.insertRoomRollups(start, end);
+        salesRollupRepository.insertCategoryRollups(start, end);
+    }
+
+    /**
+     * Adds the deltas to a rollup row with a single atomic {@code UPDATE}. When the row does not exist yet it is
+     * inserted; if a concurrent transaction inserted it first, the unique key rejects ours and the update is retried.
+     * The insert goes through JDBC because a failed JPA statement would mark the whole transaction rollback-only.
+     */
+    private void add(LocalDate day, RollupDimension dimension, Long dimensionId,
+                     double revenue, long seats, long screenings) {
+        if (salesRollupRepository.increment(day, dimension, dimensionId, revenue, seats, screenings) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO sales_rollups (sales_day, dimension, dimension_id, revenue, seats, " +
+                            "screenings) VALUES (?, ?, ?, ?, ?, ?)",
+                    day, dimension.name(), dimensionId, revenue, seats, screenings);
+        } catch (DuplicateKeyException e) {
+            salesRollupRepository.increment(day, dimension, dimensionId, revenue, seats, screenings);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package monaditto.cinemaproject.statistics;
+
+public record SalesSketches(
+        HyperLogLog uniqueBuyers,
+        CountMinSketch movieSeats,
+        TDigest ticketPrices,
+        TDigest groupSizes
+) {
+    public static SalesSketches empty() {
+        return new SalesSketches(new HyperLogLog(), new CountMinSketch(), new TDigest(), new TDigest());
+    }
+
+    public void addSale(long userId, long movieId, int seats, double price) {
+        uniqueBuyers.add(userId);
+        movieSeats.add(movieId, seats);
+        ticketPrices.add(price, seats);
+        groupSizes.add(seats, 1);
+    }
+
+    public void merge(SalesSketches other) {
+        uniqueBuyers.merge(other.uniqueBuyers);
+        movieSeats.merge(other.movieSeats);
+        ticketPrices.merge(other.ticketPrices);
+        groupSizes.merge(other.groupSizes);
+    }
+}
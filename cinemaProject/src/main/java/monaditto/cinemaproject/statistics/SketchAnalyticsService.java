@@ -0,0 +1,189 @@
+package monaditto.cinemaproject.statistics;
+
+import monaditto.cinemaproject.archive.ArchivedPurchaseRepository;
+import monaditto.cinemaproject.purchase.PurchaseRepository;
+import monaditto.cinemaproject.purchase.PurchaseStatusChangedEvent;
+import monaditto.cinemaproject.purchase.PurchasesDeletedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+public class SketchAnalyticsService {
+
+    private static final int CACHED_DAYS = 62;
+
+    private static final int DAYS_PER_PAGE = 31;
+
+    private final DailySketchRepository dailySketchRepository;
+
+    private final PurchaseRepository purchaseRepository;
+
+    private final ArchivedPurchaseRepository archivedPurchaseRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<LocalDate, DailySketch> recentDays = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<LocalDate, DailySketch> eldest) {
+            return size() > CACHED_DAYS;
+        }
+    };
+
+    @Autowired
+    public SketchAnalyticsService(DailySketchRepository dailySketchRepository,
+                                  PurchaseRepository purchaseRepository,
+                                  ArchivedPurchaseRepository archivedPurchaseRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.dailySketchRepository = dailySketchRepository;
+        this.purchaseRepository = purchaseRepository;
+        this.archivedPurchaseRepository = archivedPurchaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void backfillOnStartup() {
+        if (dailySketchRepository.count() > 0) {
+            return;
+        }
+
+        Map<LocalDate, SalesSketches> sketches = new TreeMap<>();
+        List<Object[]> sales = new ArrayList<>(archivedPurchaseRepository.findPaidSales());
+        sales.addAll(purchaseRepository.findPaidSales());
+        for (Object[] row : sales) {
+            LocalDate day = ((LocalDateTime) row[0]).toLocalDate();
+            sketches.computeIfAbsent(day, key -> SalesSketches.empty())
+                    .addSale((Long) row[6], (Long) row[2], (Integer) row[4], (Double) row[5]);
+        }
+
+        List<DailySketch> dailySketches = new ArrayList<>();
+        sketches.forEach((day, daySketches) -> dailySketches.add(new DailySketch(day, daySketches)));
+        dailySketchRepository.saveAll(dailySketches);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPurchaseStatusChanged(PurchaseStatusChangedEvent event) {
+        if (!event.becamePaid() && !event.stoppedBeingPaid()) {
+            return;
+        }
+
+        // Runs after the purchase transaction committed, so the write needs a transaction of its own; it is
+        // started inside the lock so that two updates of the same day cannot commit out of order.
+        LocalDate day = event.screeningStart().toLocalDate();
+        try {
+            recentDays.put(day, transactionTemplate.execute(status -> updateSketch(day, event)));
+        } catch (RuntimeException e) {
+            recentDays.remove(day);
+            throw e;
+        }
+    }
+
+    private DailySketch updateSketch(LocalDate day, PurchaseStatusChangedEvent event) {
+        DailySketch dailySketch = recentDays.get(day);
+        if (dailySketch == null) {
+            dailySketch = dailySketchRepository.findById(day)
+                    .orElseGet(() -> new DailySketch(day, SalesSketches.empty()));
+        }
+
+        SalesSketches sketches = dailySketch.toSketches();
+        if (event.becamePaid()) {
+            sketches.addSale(event.userId(), event.movieId(), event.boughtSeats(), event.price());
+        } else {
+            sketches.movieSeats().add(event.movieId(), -event.boughtSeats());
+        }
+        dailySketch.update(sketches);
+        return dailySketchRepository.save(dailySketch);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPurchasesDeleted(PurchasesDeletedEvent event) {
+        for (LocalDate day : event.screeningDays()) {
+            try {
+                DailySketch rebuilt = transactionTemplate.execute(status -> rebuildSketch(day));
+                if (rebuilt != null) {
+                    recentDays.put(day, rebuilt);
+                } else {
+                    recentDays.remove(day);
+                }
+            } catch (RuntimeException e) {
+                recentDays.remove(day);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Recomputes the sketches of a day from the remaining paid purchases; sketches cannot subtract, so this is the
+     * only way to drop deleted sales from the unique buyer and distribution estimates. Returns {@code null} and
+     * deletes the stored row when nothing is left.
+     */
+    private DailySketch rebuildSketch(LocalDate day) {
+        LocalDateTime start = day.atStartOfDay();
+        LocalDateTime end = day.plusDays(1).atStartOfDay();
+        List<Object[]> sales = new ArrayList<>(archivedPurchaseRepository.findPaidSalesBetween(start, end));
+        sales.addAll(purchaseRepository.findPaidSalesBetween(start, end));
+        if (sales.isEmpty()) {
+            dailySketchRepository.deleteById(day);
+            return null;
+        }
+
+        SalesSketches sketches = SalesSketches.empty();
+        for (Object[] row : sales) {
+            sketches.addSale((Long) row[6], (Long) row[2], (Integer) row[4], (Double) row[5]);
+        }
+        DailySketch dailySketch = dailySketchRepository.findById(day)
+                .orElseGet(() -> new DailySketch(day, SalesSketches.empty()));
+        dailySketch.update(sketches);
+        return dailySketchRepository.save(dailySketch);
+    }
+
+    public long getUniqueBuyers(LocalDate from, LocalDate to) {
+        return merge(from, to).uniqueBuyers().estimate();
+    }
+
+    public List<MovieSeatsEstimateDto> getTopMovieEstimates(LocalDate from, LocalDate to, int limit) {
+        CountMinSketch movieSeats = merge(from, to).movieSeats();
+        return movieSeats.top(limit).stream()
+                .map(movieId -> new MovieSeatsEstimateDto(movieId, movieSeats.estimate(movieId)))
+                .toList();
+    }
+
+    public TicketDistributionsDto getTicketDistributions(LocalDate from, LocalDate to) {
+        SalesSketches sketches = merge(from, to);
+        return new TicketDistributionsDto(
+                DistributionDto.of(sketches.ticketPrices()),
+                DistributionDto.of(sketches.groupSizes())
+        );
+    }
+
+    private SalesSketches merge(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Range start must not be after its end");
+        }
+
+        SalesSketches merged = SalesSketches.empty();
+        Pageable page = PageRequest.of(0, DAYS_PER_PAGE);
+        Slice<DailySketch> slice;
+        do {
+            slice = dailySketchRepository.findByDayBetweenOrderByDay(from, to, page);
+            for (DailySketch dailySketch : slice) {
+                merged.merge(dailySketch.toSketches());
+            }
+            page = slice.nextPageable();
+        } while (slice.hasNext());
+        return merged;
+    }
+}
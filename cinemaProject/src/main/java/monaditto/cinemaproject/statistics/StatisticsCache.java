@@ -0,0 +1,155 @@
+package monaditto.cinemaproject.statistics;
+
+import monaditto.cinemaproject.cache.CacheStats;
+import monaditto.cinemaproject.cache.MonitoredCache;
+import monaditto.cinemaproject.movie.MovieChangedEvent;
+import monaditto.cinemaproject.purchase.PurchaseStatusChangedEvent;
+import monaditto.cinemaproject.purchase.PurchasesDeletedEvent;
+import monaditto.cinemaproject.screening.ScreeningChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class StatisticsCache implements MonitoredCache {
+
+    public enum Metric {
+        REVENUE,
+        AVERAGE_ATTENDANCE,
+        MOST_POPULAR_MOVIE,
+        MOST_POPULAR_CATEGORY
+    }
+
+    private record Key(Metric metric, PeriodType period) {}
+
+    private record Entry(Object value, LocalDateTime from, LocalDateTime to, long computedAtNanos) {
+
+        boolean covers(LocalDateTime time) {
+            return !time.isBefore(from) && time.isBefore(to);
+        }
+    }
+
+    private final long openPeriodTtlNanos;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public StatisticsCache(@Value("${statistics.cache.open-period-ttl-seconds:30}") long openPeriodTtlSeconds) {
+        this.openPeriodTtlNanos = Duration.ofSeconds(openPeriodTtlSeconds).toNanos();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Metric metric, PeriodType period, LocalDateTime from, LocalDateTime to, Supplier<T> loader) {
+        Key key = new Key(metric, period);
+        Entry entry = entries.get(key);
+        if (entry != null && isFresh(period, entry, from)) {
+            hits.incrementAndGet();
+            return (T) entry.value();
+        }
+        misses.incrementAndGet();
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            try {
+                return (T) running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            T value = loader.get();
+            if (inFlight.remove(key, future)) {
+                entries.put(key, new Entry(value, from, to, System.nanoTime()));
+            }
+            future.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void invalidate(LocalDateTime time) {
+        entries.forEach((key, entry) -> {
+            if (entry.covers(time) && entries.remove(key, entry)) {
+                evictions.incrementAndGet();
+            }
+        });
+        inFlight.clear();
+    }
+
+    public void invalidateAll() {
+        evictions.addAndGet(entries.size());
+        entries.clear();
+        inFlight.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPurchaseStatusChanged(PurchaseStatusChangedEvent event) {
+        if (event.becamePaid() || event.stoppedBeingPaid()) {
+            invalidate(event.screeningStart());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScreeningChanged(ScreeningChangedEvent event) {
+        if (event.previousStart() != null) {
+            invalidate(event.previousStart());
+        }
+        if (event.start() != null) {
+            invalidate(event.start());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPurchasesDeleted(PurchasesDeletedEvent event) {
+        event.screeningDays().forEach(day -> invalidate(day.atStartOfDay()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        invalidateAll();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return CacheStats.of("statistics", entries.size(),
+                (long) Metric.values().length * PeriodType.values().length,
+                hits.get(), misses.get(), evictions.get());
+    }
+
+    private boolean isFresh(PeriodType period, Entry entry, LocalDateTime from) {
+        if (isClosed(period)) {
+            return entry.from().equals(from);
+        }
+        return System.nanoTime() - entry.computedAtNanos() < openPeriodTtlNanos;
+    }
+
+    private static boolean isClosed(PeriodType period) {
+        return switch (period) {
+            case LAST_WEEK, LAST_MONTH, LAST_YEAR -> true;
+            default -> false;
+        };
+    }
+}
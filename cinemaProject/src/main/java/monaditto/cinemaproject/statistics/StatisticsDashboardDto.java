@@ -0,0 +1,12 @@
+package monaditto.cinemaproject.statistics;
+
+import monaditto.cinemaproject.category.CategoryDto;
+
+import java.util.Map;
+
+public record StatisticsDashboardDto(
+        Map<PeriodType, Double> revenue,
+        Map<PeriodType, Double> averageAttendance,
+        Map<PeriodType, MovieWithEarningsDto> mostPopularMovies,
+        Map<PeriodType, CategoryDto> mostPopularCategories
+) {}
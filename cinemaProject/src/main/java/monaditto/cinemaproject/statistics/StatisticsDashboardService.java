@@ -0,0 +1,74 @@
+package monaditto.cinemaproject.statistics;
+
+import jakarta.annotation.PreDestroy;
+import monaditto.cinemaproject.category.CategoryDto;
+import monaditto.cinemaproject.querystats.QueryRecorder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+@Service
+public class StatisticsDashboardService {
+
+    private static final List<PeriodType> CALENDAR_PERIODS = List.of(
+            PeriodType.THIS_WEEK, PeriodType.LAST_WEEK,
+            PeriodType.THIS_MONTH, PeriodType.LAST_MONTH,
+            PeriodType.THIS_YEAR, PeriodType.LAST_YEAR
+    );
+
+    private static final List<PeriodType> ROLLING_PERIODS = List.of(
+            PeriodType.WEEK, PeriodType.MONTH, PeriodType.YEAR
+    );
+
+    private final StatisticsService statisticsService;
+
+    private final ThreadPoolExecutor queryExecutor;
+
+    @Autowired
+    public StatisticsDashboardService(StatisticsService statisticsService,
+                                      @Value("${statistics.dashboard.threads:4}") int threads) {
+        this.statisticsService = statisticsService;
+        this.queryExecutor = new ThreadPoolExecutor(
+                threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * ROLLING_PERIODS.size() * 2),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public StatisticsDashboardDto getDashboard() {
+        Executor executor = QueryRecorder.propagating(queryExecutor);
+        Map<PeriodType, CompletableFuture<MovieWithEarningsDto>> movieFutures = new EnumMap<>(PeriodType.class);
+        Map<PeriodType, CompletableFuture<CategoryDto>> categoryFutures = new EnumMap<>(PeriodType.class);
+        for (PeriodType period : ROLLING_PERIODS) {
+            movieFutures.put(period, CompletableFuture.supplyAsync(
+                    () -> statisticsService.getMostPopularMovieForPeriod(period), executor));
+            categoryFutures.put(period, CompletableFuture.supplyAsync(
+                    () -> statisticsService.getMostPopularCategoryForPeriod(period), executor));
+        }
+
+        Map<PeriodType, Double> revenue = new EnumMap<>(PeriodType.class);
+        Map<PeriodType, Double> averageAttendance = new EnumMap<>(PeriodType.class);
+        statisticsService.getSalesForPeriods(CALENDAR_PERIODS).forEach((period, sales) -> {
+            revenue.put(period, sales.revenue());
+            averageAttendance.put(period, sales.averageAttendance());
+        });
+
+        Map<PeriodType, MovieWithEarningsDto> mostPopularMovies = new EnumMap<>(PeriodType.class);
+        Map<PeriodType, CategoryDto> mostPopularCategories = new EnumMap<>(PeriodType.class);
+        for (PeriodType period : ROLLING_PERIODS) {
+            mostPopularMovies.put(period, movieFutures.get(period).join());
+            mostPopularCategories.put(period, categoryFutures.get(period).join());
+        }
+
+        return new StatisticsDashboardDto(revenue, averageAttendance, mostPopularMovies, mostPopularCategories);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        queryExecutor.shutdownNow();
+    }
+}
@@ -1,21 +1,23 @@
 package monaditto.cinemaproject.statistics;
 
-import monaditto.cinemaproject.category.Category;
 import monaditto.cinemaproject.category.CategoryDto;
-import monaditto.cinemaproject.movie.Movie;
-import monaditto.cinemaproject.purchase.Purchase;
 import monaditto.cinemaproject.purchase.PurchaseRepository;
-import monaditto.cinemaproject.purchase.ReservationStatus;
+import monaditto.cinemaproject.screening.ScreeningRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,6 +25,41 @@ public class StatisticsService {
     @Autowired
     private PurchaseRepository purchaseRepository;
 
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+
+    @Autowired
+    private SalesColumnStore salesColumnStore;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    @Autowired
+    private StatisticsCache statisticsCache;
+
+    private static final int MAX_SERIES_BUCKETS = 10_000;
+
+    private record DayRange(LocalDate startDay, LocalDate endDay) {
+
+        LocalDateTime from() {
+            return startDay.atStartOfDay();
+        }
+
+        LocalDateTime to() {
+            return endDay.plusDays(1).atStartOfDay();
+        }
+
+        boolean contains(LocalDate day) {
+            return !day.isBefore(startDay) && !day.isAfter(endDay);
+        }
+    }
+
+    private record DailyTotal(LocalDate day, double revenue, long seats, long screenings) {
+    }
+
+    record PeriodSales(double revenue, double averageAttendance) {
+    }
+
     private LocalDateTime getStartDateForPeriod(PeriodType periodType) {
         LocalDateTime now = LocalDateTime.now();
         switch (periodType) {
@@ -37,124 +74,203 @@ public class StatisticsService {
         }
     }
 
-    public double getRevenueForPeriod(PeriodType periodType) {
-        LocalDateTime startDate;
-        LocalDateTime endDate = LocalDateTime.now();
+    private DayRange getDayRangeForPeriod(PeriodType periodType) {
+        LocalDate today = LocalDate.now();
+        LocalDate startDay;
 
         switch (periodType) {
             case LAST_WEEK:
-                startDate = LocalDate.now().minusWeeks(1).with(DayOfWeek.MONDAY).atStartOfDay();
-                endDate = LocalDate.now().minusWeeks(1).with(DayOfWeek.SUNDAY).atTime(23, 59, 59);
-                break;
+                startDay = today.minusWeeks(1).with(DayOfWeek.MONDAY);
+                return new DayRange(startDay, startDay.plusDays(6));
             case LAST_MONTH:
-                startDate = LocalDate.now().minusMonths(1).withDayOfMonth(1).atStartOfDay();
-                endDate = LocalDate.now().minusMonths(1).withDayOfMonth(LocalDate.now().minusMonths(1).lengthOfMonth()).atTime(23, 59, 59);
-                break;
+                startDay = today.minusMonths(1).withDayOfMonth(1);
+                return new DayRange(startDay, startDay.plusMonths(1).minusDays(1));
             case LAST_YEAR:
-                startDate = LocalDate.of(LocalDate.now().getYear() - 1, 1, 1).atStartOfDay();
-                endDate = LocalDate.of(LocalDate.now().getYear() - 1, 12, 31).atTime(23, 59, 59);
-                break;
+                startDay = LocalDate.of(today.getYear() - 1, 1, 1);
+                return new DayRange(startDay, startDay.plusYears(1).minusDays(1));
             case THIS_WEEK:
-                startDate = LocalDate.now().with(DayOfWeek.MONDAY).atStartOfDay();
-                endDate = startDate.plusDays(7);
-                break;
+                startDay = today.with(DayOfWeek.MONDAY);
+                return new DayRange(startDay, startDay.plusDays(6));
             case THIS_MONTH:
-                startDate = LocalDate.now().withDayOfMonth(1).atStartOfDay();
-                endDate = startDate.plusMonths(1);
-                break;
+                startDay = today.withDayOfMonth(1);
+                return new DayRange(startDay, startDay.plusMonths(1).minusDays(1));
             case THIS_YEAR:
-                startDate = LocalDate.now().withDayOfYear(1).atStartOfDay();
-                endDate = startDate.plusYears(1);
-                break;
+                startDay = today.withDayOfYear(1);
+                return new DayRange(startDay, startDay.plusYears(1).minusDays(1));
             default:
                 throw new IllegalArgumentException("Nieznany typ okresu: " + periodType);
         }
+    }
 
-        Double revenue = purchaseRepository.calculateRevenueBetween(startDate, endDate);
-        return revenue != null ? revenue : 0.0;
+    @Transactional(readOnly = true)
+    public double getRevenueForPeriod(PeriodType periodType) {
+        DayRange range = getDayRangeForPeriod(periodType);
+        return statisticsCache.get(StatisticsCache.Metric.REVENUE, periodType, range.from(), range.to(),
+                () -> salesRollupRepository.sumRevenueBetween(range.startDay(), range.endDay()));
     }
 
 
+    @Transactional(readOnly = true)
     public MovieWithEarningsDto getMostPopularMovieForPeriod(PeriodType period) {
         LocalDateTime date = getStartDateForPeriod(period);
-        List<Purchase> purchases = purchaseRepository.findAllByScreeningStartAfter(date);
-
-        Map<Movie, Double> movieEarnings = purchases.stream()
-                .filter(p -> p.getReservationStatus().equals(ReservationStatus.PAID))
-                .collect(Collectors.groupingBy(
-                        p -> p.getScreening().getMovie(),
-                        Collectors.summingDouble(p -> p.getBoughtSeats() * p.getScreening().getPrice())
-                ));
-
-        return movieEarnings.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(entry -> {
-                    Movie movie = entry.getKey();
-                    return new MovieWithEarningsDto(
-                            movie.getId(),
-                            movie.getTitle(),
-                            entry.getValue()
-                    );
-                }).orElse(null);
+
+        return statisticsCache.get(StatisticsCache.Metric.MOST_POPULAR_MOVIE, period, date, LocalDateTime.MAX,
+                () -> purchaseRepository.findTopEarningMoviesSince(date, Limit.of(1)).stream()
+                        .findFirst()
+                        .map(row -> new MovieWithEarningsDto((Long) row[0], (String) row[1], (Double) row[2]))
+                        .orElse(null));
     }
 
+    @Transactional(readOnly = true)
     public CategoryDto getMostPopularCategoryForPeriod(PeriodType period) {
         LocalDateTime date = getStartDateForPeriod(period);
-        List<Purchase> purchases = purchaseRepository.findAllByScreeningStartAfter(date);
 
-        Map<Category, Long> categoryPopularity = purchases.stream()
-                .filter(p -> p.getReservationStatus().equals(ReservationStatus.PAID))
-                .flatMap(p -> p.getScreening().getMovie().getCategories().stream()
-                    .map(category -> new AbstractMap.SimpleEntry<>(category, p.getBoughtSeats())))
-                .collect(Collectors.groupingBy(
-                        Map.Entry::getKey,
-                        Collectors.summingLong(Map.Entry::getValue)
-                ));
-
-        return categoryPopularity.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(entry -> new CategoryDto(entry.getKey().getCategoryId(), entry.getKey().getCategoryName()))
-                .orElse(null);
+        return statisticsCache.get(StatisticsCache.Metric.MOST_POPULAR_CATEGORY, period, date, LocalDateTime.MAX,
+                () -> purchaseRepository.findTopSellingCategoriesSince(date, Limit.of(1)).stream()
+                        .findFirst()
+                        .map(row -> new CategoryDto((Long) row[0], (String) row[1]))
+                        .orElse(null));
     }
 
+    @Transactional(readOnly = true)
     public double getAverageAttendanceForPeriod(PeriodType periodType) {
-        LocalDateTime startDate;
-        LocalDateTime endDate = LocalDateTime.now();
+        DayRange range = getDayRangeForPeriod(periodType);
+        return statisticsCache.get(StatisticsCache.Metric.AVERAGE_ATTENDANCE, periodType, range.from(), range.to(),
+                () -> calculateAverageAttendance(range));
+    }
 
-        switch (periodType) {
-            case LAST_WEEK:
-                startDate = LocalDate.now().minusWeeks(1).with(DayOfWeek.MONDAY).atStartOfDay();
-                endDate = LocalDate.now().minusWeeks(1).with(DayOfWeek.SUNDAY).atTime(23, 59, 59);
-                break;
-            case LAST_MONTH:
-                startDate = LocalDate.now().minusMonths(1).withDayOfMonth(1).atStartOfDay();
-                endDate = LocalDate.now().minusMonths(1).withDayOfMonth(LocalDate.now().minusMonths(1).lengthOfMonth()).atTime(23, 59, 59);
-                break;
-            case LAST_YEAR:
-                startDate = LocalDate.of(LocalDate.now().getYear() - 1, 1, 1).atStartOfDay();
-                endDate = LocalDate.of(LocalDate.now().getYear() - 1, 12, 31).atTime(23, 59, 59);
-                break;
-            case THIS_WEEK:
-                startDate = LocalDate.now().with(DayOfWeek.MONDAY).atStartOfDay();
-                endDate = startDate.plusDays(7);
-                break;
-            case THIS_MONTH:
-                startDate = LocalDate.now().withDayOfMonth(1).atStartOfDay();
-                endDate = startDate.plusMonths(1);
-                break;
-            case THIS_YEAR:
-                startDate = LocalDate.now().withDayOfYear(1).atStartOfDay();
-                endDate = startDate.plusYears(1);
-                break;
-            default:
-                throw new IllegalArgumentException("Nieznany typ okresu: " + periodType);
-        }
+    private double calculateAverageAttendance(DayRange range) {
+        Object[] totals = salesRollupRepository.sumSeatsAndScreeningsBetween(range.startDay(), range.endDay()).get(0);
 
-        long totalSeats = purchaseRepository.calculateTotalSeatsForPeriod(startDate, endDate);
-        long totalScreenings = purchaseRepository.calculateTotalScreeningsForPeriod(startDate, endDate);
+        return averageAttendance(((Number) totals[0]).longValue(), ((Number) totals[1]).longValue());
+    }
 
+    private static double averageAttendance(long totalSeats, long totalScreenings) {
         if (totalScreenings == 0) return 0.0;
 
         return (double) totalSeats / totalScreenings;
     }
+
+    /**
+     * Revenue and average attendance of several calendar periods at once. Periods missing from the cache are
+     * computed from the daily totals covering all requested periods, which are read with a single query.
+     */
+    @Transactional(readOnly = true)
+    public Map<PeriodType, PeriodSales> getSalesForPeriods(List<PeriodType> periodTypes) {
+        Map<PeriodType, DayRange> ranges = new EnumMap<>(PeriodType.class);
+        for (PeriodType periodType : periodTypes) {
+            ranges.put(periodType, getDayRangeForPeriod(periodType));
+        }
+        LocalDate startDay = ranges.values().stream()
+                .map(DayRange::startDay)
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDate endDay = ranges.values().stream()
+                .map(DayRange::endDay)
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+
+        AtomicReference<List<DailyTotal>> loaded = new AtomicReference<>();
+        Supplier<List<DailyTotal>> dailyTotals = () -> loaded.updateAndGet(
+                totals -> totals != null ? totals : findDailyTotals(startDay, endDay));
+
+        Map<PeriodType, PeriodSales> sales = new EnumMap<>(PeriodType.class);
+        ranges.forEach((periodType, range) -> {
+            double revenue = statisticsCache.get(StatisticsCache.Metric.REVENUE, periodType, range.from(), range.to(),
+                    () -> dailyTotals.get().stream()
+                            .filter(total -> range.contains(total.day()))
+                            .mapToDouble(DailyTotal::revenue)
+                            .sum());
+            double attendance = statisticsCache.get(StatisticsCache.Metric.AVERAGE_ATTENDANCE, periodType,
+                    range.from(), range.to(), () -> {
+                        long seats = 0;
+                        long screenings = 0;
+                        for (DailyTotal total : dailyTotals.get()) {
+                            if (range.contains(total.day())) {
+                                seats += total.seats();
+                                screenings += total.screenings();
+                            }
+                        }
+                        return averageAttendance(seats, screenings);
+                    });
+            sales.put(periodType, new PeriodSales(revenue, attendance));
+        });
+        return sales;
+    }
+
+    private List<DailyTotal> findDailyTotals(LocalDate startDay, LocalDate endDay) {
+        return salesRollupRepository.findDailyTotalsBetween(startDay, endDay).stream()
+                .map(row -> new DailyTotal((LocalDate) row[0], (Double) row[1], (Long) row[2], (Long) row[3]))
+                .toList();
+    }
+
+    public List<TimeSeriesPointDto> getSalesSeries(LocalDateTime from, LocalDateTime to, TimeBucket bucket,
+                                                   Long movieId, Long roomId) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Range start must be before its end");
+        }
+        long origin = bucket.origin(TimeBucket.toMillis(from));
+        if (bucket.bucketCount(origin, TimeBucket.toMillis(to)) > MAX_SERIES_BUCKETS) {
+            throw new IllegalArgumentException("Too many buckets, choose a coarser bucket or a shorter range");
+        }
+
+        SalesColumnStore.BucketTotals totals = salesColumnStore.aggregate(from, to, bucket,
+                movieId != null ? movieId : SalesColumnStore.ANY,
+                roomId != null ? roomId : SalesColumnStore.ANY);
+
+        List<TimeSeriesPointDto> points = new ArrayList<>(totals.revenue().length);
+        for (int i = 0; i < totals.revenue().length; i++) {
+            points.add(new TimeSeriesPointDto(bucket.label(totals.origin(), i), totals.revenue()[i], totals.seats()[i]));
+        }
+        return points;
+    }
+
+    @Transactional(readOnly = true)
+    public OccupancyHeatmapDto getOccupancyHeatmap(LocalDate from, LocalDate to, int slotHours) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Range start must not be after its end");
+        }
+        if (slotHours <= 0 || 24 % slotHours != 0) {
+            throw new IllegalArgumentException("Slot length must divide 24 hours");
+        }
+
+        Map<Long, List<Object[]>> rowsByRoom = screeningRepository
+                .findScreeningOccupancyBetween(from.atStartOfDay(), to.plusDays(1).atStartOfDay()).stream()
+                .collect(Collectors.groupingBy(row -> (Long) row[0]));
+
+        List<RoomOccupancyDto> rooms = rowsByRoom.values().parallelStream()
+                .map(rows -> getRoomOccupancy(rows, slotHours))
+                .sorted(Comparator.comparing(RoomOccupancyDto::roomName))
+                .toList();
+
+        return new OccupancyHeatmapDto(from, to, slotHours, rooms);
+    }
+
+    private RoomOccupancyDto getRoomOccupancy(List<Object[]> rows, int slotHours) {
+        int slots = 24 / slotHours;
+        long[][] soldSeats = new long[7][slots];
+        long[][] capacity = new long[7][slots];
+        int[][] screenings = new int[7][slots];
+
+        for (Object[] row : rows) {
+            LocalDateTime start = (LocalDateTime) row[3];
+            int day = start.getDayOfWeek().getValue() - 1;
+            int slot = start.getHour() / slotHours;
+            soldSeats[day][slot] += ((Number) row[4]).longValue();
+            capacity[day][slot] += (Integer) row[2];
+            screenings[day][slot]++;
+        }
+
+        Double[][] utilization = new Double[7][slots];
+        for (int day = 0; day < 7; day++) {
+            for (int slot = 0; slot < slots; slot++) {
+                if (capacity[day][slot] > 0) {
+                    utilization[day][slot] = (double) soldSeats[day][slot] / capacity[day][slot];
+                }
+            }
+        }
+
+        Object[] first = rows.get(0);
+        return new RoomOccupancyDto((Long) first[0], (String) first[1], utilization, screenings);
+    }
 }
@@ -0,0 +1,178 @@
+package monaditto.cinemaproject.statistics;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class TDigest {
+
+    private static final double COMPRESSION = 100;
+
+    private static final int BUFFER_SIZE = 500;
+
+    private double[] means = new double[0];
+
+    private double[] weights = new double[0];
+
+    private final double[] bufferedValues = new double[BUFFER_SIZE];
+
+    private final double[] bufferedWeights = new double[BUFFER_SIZE];
+
+    private int buffered = 0;
+
+    private double totalWeight = 0;
+
+    private double min = Double.POSITIVE_INFINITY;
+
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public static TDigest fromBytes(byte[] bytes) {
+        TDigest digest = new TDigest();
+        if (bytes == null || bytes.length < 2 * Double.BYTES + Integer.BYTES) {
+            return digest;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        digest.min = buffer.getDouble();
+        digest.max = buffer.getDouble();
+        int centroids = buffer.getInt();
+        digest.means = new double[centroids];
+        digest.weights = new double[centroids];
+        for (int i = 0; i < centroids; i++) {
+            digest.means[i] = buffer.getDouble();
+            digest.weights[i] = buffer.getDouble();
+            digest.totalWeight += digest.weights[i];
+        }
+        return digest;
+    }
+
+    public void add(double value, double weight) {
+        if (weight <= 0) {
+            return;
+        }
+        if (buffered == BUFFER_SIZE) {
+            compress();
+        }
+        bufferedValues[buffered] = value;
+        bufferedWeights[buffered] = weight;
+        buffered++;
+        totalWeight += weight;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public void merge(TDigest other) {
+        other.compress();
+        for (int i = 0; i < other.means.length; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        if (other.totalWeight > 0) {
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+    }
+
+    public double totalWeight() {
+        return totalWeight;
+    }
+
+    public double quantile(double q) {
+        compress();
+        int n = means.length;
+        if (n == 0) {
+            return Double.NaN;
+        }
+        if (n == 1) {
+            return means[0];
+        }
+
+        double index = q * totalWeight;
+        if (index < weights[0] / 2) {
+            return min + (means[0] - min) * index / (weights[0] / 2);
+        }
+
+        double weightSoFar = weights[0] / 2;
+        for (int i = 0; i < n - 1; i++) {
+            double step = (weights[i] + weights[i + 1]) / 2;
+            if (weightSoFar + step > index) {
+                double fraction = (index - weightSoFar) / step;
+                return means[i] + fraction * (means[i + 1] - means[i]);
+            }
+            weightSoFar += step;
+        }
+
+        double lastHalf = weights[n - 1] / 2;
+        double fraction = Math.min(1, (index - weightSoFar) / lastHalf);
+        return means[n - 1] + fraction * (max - means[n - 1]);
+    }
+
+    public byte[] toBytes() {
+        compress();
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Double.BYTES + Integer.BYTES + means.length * 2 * Double.BYTES);
+        buffer.putDouble(min);
+        buffer.putDouble(max);
+        buffer.putInt(means.length);
+        for (int i = 0; i < means.length; i++) {
+            buffer.putDouble(means[i]);
+            buffer.putDouble(weights[i]);
+        }
+        return buffer.array();
+    }
+
+    private void compress() {
+        if (buffered == 0) {
+            return;
+        }
+
+        int n = means.length + buffered;
+        double[] allMeans = Arrays.copyOf(means, n);
+        double[] allWeights = Arrays.copyOf(weights, n);
+        System.arraycopy(bufferedValues, 0, allMeans, means.length, buffered);
+        System.arraycopy(bufferedWeights, 0, allWeights, means.length, buffered);
+        buffered = 0;
+
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (first, second) -> Double.compare(allMeans[first], allMeans[second]));
+
+        double[] mergedMeans = new double[n];
+        double[] mergedWeights = new double[n];
+        int merged = 0;
+        double weightSoFar = 0;
+        double currentMean = allMeans[order[0]];
+        double currentWeight = allWeights[order[0]];
+        double limit = totalWeight * quantileLimit(0);
+
+        for (int i = 1; i < n; i++) {
+            double mean = allMeans[order[i]];
+            double weight = allWeights[order[i]];
+            if (weightSoFar + currentWeight + weight <= limit) {
+                currentWeight += weight;
+                currentMean += (mean - currentMean) * weight / currentWeight;
+            } else {
+                mergedMeans[merged] = currentMean;
+                mergedWeights[merged] = currentWeight;
+                merged++;
+                weightSoFar += currentWeight;
+                limit = totalWeight * quantileLimit(weightSoFar / totalWeight);
+                currentMean = mean;
+                currentWeight = weight;
+            }
+        }
+        mergedMeans[merged] = currentMean;
+        mergedWeights[merged] = currentWeight;
+        merged++;
+
+        means = Arrays.copyOf(mergedMeans, merged);
+        weights = Arrays.copyOf(mergedWeights, merged);
+    }
+
+    private static double quantileLimit(double q) {
+        double k = COMPRESSION / (2 * Math.PI) * Math.asin(2 * q - 1) + 1;
+        double maxK = COMPRESSION / 4;
+        if (k >= maxK) {
+            return 1;
+        }
+        return (Math.sin(k * 2 * Math.PI / COMPRESSION) + 1) / 2;
+    }
+}
@@ -0,0 +1,6 @@
+package monaditto.cinemaproject.statistics;
+
+public record TicketDistributionsDto(
+        DistributionDto ticketPrices,
+        DistributionDto groupSizes
+) {}
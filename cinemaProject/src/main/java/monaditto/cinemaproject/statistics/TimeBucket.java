@@ -0,0 +1,66 @@
+package monaditto.cinemaproject.statistics;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+public enum TimeBucket {
+    HOUR,
+    DAY,
+    WEEK,
+    HOUR_OF_DAY,
+    DAY_OF_WEEK;
+
+    private static final long HOUR_MILLIS = 3_600_000L;
+    private static final long DAY_MILLIS = 24 * HOUR_MILLIS;
+    private static final long WEEK_MILLIS = 7 * DAY_MILLIS;
+    private static final long FIRST_MONDAY_MILLIS = 4 * DAY_MILLIS;
+
+    public static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    public static LocalDateTime fromMillis(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    public long origin(long fromMillis) {
+        return switch (this) {
+            case HOUR -> Math.floorDiv(fromMillis, HOUR_MILLIS) * HOUR_MILLIS;
+            case DAY -> Math.floorDiv(fromMillis, DAY_MILLIS) * DAY_MILLIS;
+            case WEEK -> Math.floorDiv(fromMillis - FIRST_MONDAY_MILLIS, WEEK_MILLIS) * WEEK_MILLIS + FIRST_MONDAY_MILLIS;
+            case HOUR_OF_DAY, DAY_OF_WEEK -> 0;
+        };
+    }
+
+    public int bucketCount(long origin, long toMillis) {
+        return switch (this) {
+            case HOUR -> (int) Math.floorDiv(toMillis - origin - 1, HOUR_MILLIS) + 1;
+            case DAY -> (int) Math.floorDiv(toMillis - origin - 1, DAY_MILLIS) + 1;
+            case WEEK -> (int) Math.floorDiv(toMillis - origin - 1, WEEK_MILLIS) + 1;
+            case HOUR_OF_DAY -> 24;
+            case DAY_OF_WEEK -> 7;
+        };
+    }
+
+    public int bucketOf(long origin, long millis) {
+        return switch (this) {
+            case HOUR -> (int) ((millis - origin) / HOUR_MILLIS);
+            case DAY -> (int) ((millis - origin) / DAY_MILLIS);
+            case WEEK -> (int) ((millis - origin) / WEEK_MILLIS);
+            case HOUR_OF_DAY -> (int) Math.floorMod(Math.floorDiv(millis, HOUR_MILLIS), 24L);
+            case DAY_OF_WEEK -> (int) Math.floorMod(Math.floorDiv(millis - FIRST_MONDAY_MILLIS, DAY_MILLIS), 7L);
+        };
+    }
+
+    public String label(long origin, int bucket) {
+        return switch (this) {
+            case HOUR -> fromMillis(origin + bucket * HOUR_MILLIS).toString();
+            case DAY -> fromMillis(origin + bucket * DAY_MILLIS).toLocalDate().toString();
+            case WEEK -> fromMillis(origin + bucket * WEEK_MILLIS).toLocalDate().toString();
+            case HOUR_OF_DAY -> String.valueOf(bucket);
+            case DAY_OF_WEEK -> DayOfWeek.of(bucket + 1).name();
+        };
+    }
+}
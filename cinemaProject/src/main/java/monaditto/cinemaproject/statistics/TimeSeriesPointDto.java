@@ -0,0 +1,7 @@
+package monaditto.cinemaproject.statistics;
+
+public record TimeSeriesPointDto(
+        String bucket,
+        double revenue,
+        long seats
+) {}
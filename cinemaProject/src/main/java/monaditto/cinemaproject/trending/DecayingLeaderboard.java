@@ -0,0 +1,93 @@
+package monaditto.cinemaproject.trending;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Exponentially decayed scores kept in forward-decay form: every hit is stored as
+ * log2(weight) + (time - epoch) / halfLife, so decaying all entries by the same factor
+ * never changes their order and an update only touches the entry that received the hit.
+ */
+public class DecayingLeaderboard {
+
+    private record Entry(long id, double logScore) {}
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingDouble(Entry::logScore).reversed()
+            .thenComparingLong(Entry::id);
+
+    private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(ORDER);
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    private final long epochMillis;
+
+    private final double halfLifeMillis;
+
+    private final int snapshotSize;
+
+    private volatile List<Entry> topSnapshot = List.of();
+
+    public DecayingLeaderboard(long epochMillis, double halfLifeMillis, int snapshotSize) {
+        this.epochMillis = epochMillis;
+        this.halfLifeMillis = halfLifeMillis;
+        this.snapshotSize = snapshotSize;
+    }
+
+    public synchronized void add(long id, double weight, long timestampMillis) {
+        if (weight <= 0) {
+            return;
+        }
+        double logHit = log2(weight) + (timestampMillis - epochMillis) / halfLifeMillis;
+
+        Entry previous = entries.get(id);
+        double logScore = logHit;
+        if (previous != null) {
+            ranking.remove(previous);
+            logScore = logSumExp2(previous.logScore(), logHit);
+        }
+
+        Entry updated = new Entry(id, logScore);
+        entries.put(id, updated);
+        ranking.add(updated);
+
+        if (previous != null || topSnapshot.size() < snapshotSize || ORDER.compare(updated, topSnapshot.get(topSnapshot.size() - 1)) < 0) {
+            topSnapshot = ranking.stream().limit(snapshotSize).toList();
+        }
+    }
+
+    public synchronized void remove(long id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            ranking.remove(previous);
+            topSnapshot = ranking.stream().limit(snapshotSize).toList();
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        ranking.clear();
+        topSnapshot = List.of();
+    }
+
+    public List<RankedItem> top(int limit, long nowMillis) {
+        double logNow = (nowMillis - epochMillis) / halfLifeMillis;
+        List<Entry> snapshot = topSnapshot;
+        List<RankedItem> result = new ArrayList<>(Math.min(limit, snapshot.size()));
+        for (int i = 0; i < snapshot.size() && i < limit; i++) {
+            Entry entry = snapshot.get(i);
+            result.add(new RankedItem(entry.id(), Math.pow(2, entry.logScore() - logNow)));
+        }
+        return result;
+    }
+
+    private static double log2(double value) {
+        return Math.log(value) / Math.log(2);
+    }
+
+    private static double logSumExp2(double first, double second) {
+        double max = Math.max(first, second);
+        double min = Math.min(first, second);
+        return max + log2(1 + Math.pow(2, min - max));
+    }
+}
@@ -0,0 +1,6 @@
+package monaditto.cinemaproject.trending;
+
+public record RankedItem(
+        long id,
+        double score
+) {}
@@ -0,0 +1,121 @@
+package monaditto.cinemaproject.trending;
+
+import monaditto.cinemaproject.category.CategoryRepository;
+import monaditto.cinemaproject.purchase.PurchaseRepository;
+import monaditto.cinemaproject.purchase.PurchaseStatusChangedEvent;
+import monaditto.cinemaproject.purchase.PurchasesDeletedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class TrendingService {
+
+    private static final int LEADERBOARD_SIZE = 20;
+
+    private static final int SEED_HALF_LIVES = 8;
+
+    private final CategoryRepository categoryRepository;
+
+    private final PurchaseRepository purchaseRepository;
+
+    private final double halfLifeHours;
+
+    private final DecayingLeaderboard movieLeaderboard;
+
+    private final DecayingLeaderboard categoryLeaderboard;
+
+    @Autowired
+    public TrendingService(CategoryRepository categoryRepository,
+                           PurchaseRepository purchaseRepository,
+                           @Value("${trending.half-life-hours:24}") double halfLifeHours) {
+        this.categoryRepository = categoryRepository;
+        this.purchaseRepository = purchaseRepository;
+        this.halfLifeHours = halfLifeHours;
+
+        long epochMillis = System.currentTimeMillis();
+        double halfLifeMillis = halfLifeHours * 3_600_000;
+        this.movieLeaderboard = new DecayingLeaderboard(epochMillis, halfLifeMillis, LEADERBOARD_SIZE);
+        this.categoryLeaderboard = new DecayingLeaderboard(epochMillis, halfLifeMillis, LEADERBOARD_SIZE);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void seedFromPaidPurchases() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = seedWindowStart(now);
+        addSeats(movieLeaderboard, purchaseRepository.findPaidSeatsPerMovieSince(since), now);
+        addSeats(categoryLeaderboard, purchaseRepository.findPaidSeatsPerCategorySince(since), now);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPurchaseStatusChanged(PurchaseStatusChangedEvent event) {
+        if (!event.becamePaid()) {
+            return;
+        }
+
+        long timestamp = toMillis(event.occurredAt());
+        movieLeaderboard.add(event.movieId(), event.boughtSeats(), timestamp);
+        for (Long categoryId : categoryRepository.findCategoryIdsByMovieId(event.movieId())) {
+            categoryLeaderboard.add(categoryId, event.boughtSeats(), timestamp);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPurchasesDeleted(PurchasesDeletedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = seedWindowStart(now);
+
+        Set<Long> movieIds = new HashSet<>();
+        event.moviePurchasers().forEach(moviePurchaser -> movieIds.add(moviePurchaser.movieId()));
+        movieIds.forEach(movieLeaderboard::remove);
+        addSeats(movieLeaderboard, purchaseRepository.findPaidSeatsOfMoviesSince(movieIds, since), now);
+
+        // The category links of a deleted movie are gone by now, so the affected categories cannot be looked up;
+        // there are few of them, so their scores are recomputed whole.
+        categoryLeaderboard.clear();
+        addSeats(categoryLeaderboard, purchaseRepository.findPaidSeatsPerCategorySince(since), now);
+    }
+
+    public void removeMovie(Long movieId) {
+        movieLeaderboard.remove(movieId);
+    }
+
+    public void removeCategory(Long categoryId) {
+        categoryLeaderboard.remove(categoryId);
+    }
+
+    public List<RankedItem> getTrendingMovies(int limit) {
+        return movieLeaderboard.top(limit, System.currentTimeMillis());
+    }
+
+    public List<RankedItem> getTrendingCategories(int limit) {
+        return categoryLeaderboard.top(limit, System.currentTimeMillis());
+    }
+
+    private LocalDateTime seedWindowStart(LocalDateTime now) {
+        return now.minusMinutes((long) (halfLifeHours * 60 * SEED_HALF_LIVES));
+    }
+
+    private static void addSeats(DecayingLeaderboard leaderboard, List<Object[]> rows, LocalDateTime now) {
+        for (Object[] row : rows) {
+            leaderboard.add((Long) row[0], (Integer) row[1], toMillis(min((LocalDateTime) row[2], now)));
+        }
+    }
+
+    private static LocalDateTime min(LocalDateTime first, LocalDateTime second) {
+        return first.isBefore(second) ? first : second;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
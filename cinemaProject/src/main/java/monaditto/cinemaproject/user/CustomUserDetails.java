@@ -10,17 +10,27 @@ import java.util.List;
 
 public class CustomUserDetails implements UserDetails {
 
+    private Long userId;
     private String email;
     private String password;
 
     private List<RoleDto> roles;
 
-    public CustomUserDetails(String email, String password, List<RoleDto> roles) {
+    public CustomUserDetails(Long userId, String email, String password, List<RoleDto> roles) {
+        this.userId = userId;
         this.email = email;
         this.password = password;
         this.roles = roles;
     }
 
+    public Long getUserId() {
+        return userId;
+    }
+
+    public List<RoleDto> getRoles() {
+        return roles;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return roles.stream().map(
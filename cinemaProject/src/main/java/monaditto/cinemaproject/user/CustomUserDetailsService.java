@@ -1,34 +1,56 @@
 package monaditto.cinemaproject.user;
 
 import monaditto.cinemaproject.role.RoleDto;
-import monaditto.cinemaproject.role.RoleService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
-    private final UserService userService;
-    private final RoleService roleService;
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+    private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public CustomUserDetailsService(UserService userService, RoleService roleService) {
-        this.userService = userService;
-        this.roleService = roleService;
+    public CustomUserDetailsService(UserRepository userRepository, UserDetailsCache userDetailsCache,
+                                    ApplicationEventPublisher eventPublisher) {
+        this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        UserDto user = userService.findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException(
-                        "User with email " + username + " not found!"
-                ));
+        return userDetailsCache.get(username, () -> {
+            User user = userRepository.findByEmail(username)
+                    .orElseThrow(() -> new UsernameNotFoundException(
+                            "User with email " + username + " not found!"
+                    ));
 
-        List<RoleDto> roles = roleService.getUserRoles(user.id());
-        return new CustomUserDetails(user.email(), user.password(), roles);
+            List<RoleDto> roles = user.getRoles().stream()
+                    .map(RoleDto::roleToRoleDto)
+                    .toList();
+            return new CustomUserDetails(user.getId(), user.getEmail(), user.getPassword(), roles);
+        });
+    }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        CustomUserDetails customUserDetails = (CustomUserDetails) userDetails;
+        userRepository.findById(customUserDetails.getUserId()).ifPresent(user -> {
+            user.setPassword(newPassword);
+            eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
+        });
+        return new CustomUserDetails(customUserDetails.getUserId(), customUserDetails.getUsername(),
+                newPassword, customUserDetails.getRoles());
     }
 }
@@ -0,0 +1,5 @@
+package monaditto.cinemaproject.user;
+
+public record UserChangedEvent(
+        Long userId
+) {}
@@ -0,0 +1,102 @@
+package monaditto.cinemaproject.user;
+
+import monaditto.cinemaproject.cache.CacheStats;
+import monaditto.cinemaproject.cache.MonitoredCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class UserDetailsCache implements MonitoredCache {
+
+    private record Entry(CustomUserDetails userDetails, long loadedAtNanos) {}
+
+    private final int maxSize;
+
+    private final long expireAfterNanos;
+
+    private final Map<String, Entry> entries;
+
+    /**
+     * Bumped on every eviction, guarded by {@code entries}. A load that started before an eviction may have read the
+     * user as it was before the change, so its result is only cached if the generation is still the one it saw.
+     */
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public UserDetailsCache(@Value("${security.user-cache.max-size:1000}") int maxSize,
+                            @Value("${security.user-cache.expire-after-minutes:5}") long expireAfterMinutes) {
+        this.maxSize = maxSize;
+        this.expireAfterNanos = Duration.ofMinutes(expireAfterMinutes).toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > UserDetailsCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public CustomUserDetails get(String email, Supplier<CustomUserDetails> loader) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(email);
+        }
+        if (entry != null && System.nanoTime() - entry.loadedAtNanos() < expireAfterNanos) {
+            hits.incrementAndGet();
+            return entry.userDetails();
+        }
+
+        misses.incrementAndGet();
+        long loadGeneration;
+        synchronized (entries) {
+            loadGeneration = generation;
+        }
+        CustomUserDetails userDetails = loader.get();
+        synchronized (entries) {
+            if (generation == loadGeneration) {
+                entries.put(email, new Entry(userDetails, System.nanoTime()));
+            }
+        }
+        return userDetails;
+    }
+
+    public void evictUser(Long userId) {
+        synchronized (entries) {
+            generation++;
+            if (entries.values().removeIf(entry -> entry.userDetails().getUserId().equals(userId))) {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evictUser(event.userId());
+    }
+
+    @Override
+    public CacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return CacheStats.of("user-details", size, maxSize, hits.get(), misses.get(), evictions.get());
+    }
+}
@@ -7,6 +7,10 @@ public record UserDto(
         String lastName,
         String password
 ) {
+    public UserDto(Long id, String email, String firstName, String lastName) {
+        this(id, email, firstName, lastName, null);
+    }
+
     public static UserDto userToUserDto(User user) {
         if (user == null) {
             return null;
@@ -1,12 +1,35 @@
 package monaditto.cinemaproject.user;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
+
+    @Query("SELECT new monaditto.cinemaproject.user.UserDto(u.id, u.email, u.firstName, u.lastName) FROM User u")
+    List<UserDto> findAllDtos();
+
+    @Query("SELECT new monaditto.cinemaproject.user.UserDto(u.id, u.email, u.firstName, u.lastName) " +
+            "FROM User u WHERE u.id = :id")
+    Optional<UserDto> findDtoById(@Param("id") Long id);
+
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_role"))
+    @Query(value = "DELETE FROM user_role WHERE user_id = :userId", nativeQuery = true)
+    int deleteRoleLinks(@Param("userId") Long userId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM User u WHERE u.id = :id")
+    int deleteUserById(@Param("id") Long id);
 }
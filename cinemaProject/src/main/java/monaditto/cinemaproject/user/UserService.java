@@ -2,9 +2,12 @@ package monaditto.cinemaproject.user;
 
 import jakarta.transaction.Transactional;
 import monaditto.cinemaproject.crypto.PasswordHasher;
+import monaditto.cinemaproject.opinion.OpinionRepository;
+import monaditto.cinemaproject.purchase.PurchaseService;
 import monaditto.cinemaproject.role.Role;
 import monaditto.cinemaproject.role.RoleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -18,21 +21,33 @@ public class UserService {
 
     private final RoleRepository roleRepository;
 
+    private final OpinionRepository opinionRepository;
+
+    private final PurchaseService purchaseService;
+
     private final PasswordHasher passwordHasher;
 
     private final UserValidator userValidator;
 
+    private final ApplicationEventPublisher eventPublisher;
+
     @Autowired
     public UserService(
             UserRepository userRepository,
             RoleRepository roleRepository,
+            OpinionRepository opinionRepository,
+            PurchaseService purchaseService,
             PasswordHasher passwordHasher,
-            UserValidator userValidator) {
+            UserValidator userValidator,
+            ApplicationEventPublisher eventPublisher) {
 
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
+        this.opinionRepository = opinionRepository;
+        this.purchaseService = purchaseService;
         this.passwordHasher = passwordHasher;
         this.userValidator = userValidator;
+        this.eventPublisher = eventPublisher;
     }
 
     public Optional<UserDto> findByEmail(String email){
@@ -49,15 +64,12 @@ public class UserService {
         if (user.isEmpty()){
             return false;
         }else{
-            String hashedPassword = passwordHasher.hashPassword(password);
-            return hashedPassword.equals(user.get().getPassword());
+            return passwordHasher.matches(password, user.get().getPassword());
         }
     }
 
     public List<UserDto> getUsers() {
-        return userRepository.findAll().stream()
-                .map(UserDto::userToUserDto)
-                .toList();
+        return userRepository.findAllDtos();
     }
 
     public CreateUserStatus editUser(Long id, UserDto userDto) {
@@ -82,6 +94,7 @@ public class UserService {
         }
 
         userRepository.save(existingUser);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
         return CreateUserStatus.SUCCESS;
     }
 
@@ -111,21 +124,18 @@ public class UserService {
     }
 
     public void deleteUser(User user) {
-        userRepository.delete(user);
+        deleteUserById(user.getId());
     }
 
     public void deleteUserById(Long id) {
-        userRepository.deleteById(id);
+        purchaseService.deletePurchasesOfUser(id);
+        opinionRepository.deleteByUserId(id);
+        userRepository.deleteRoleLinks(id);
+        userRepository.deleteUserById(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
     }
 
     public Optional<UserDto> findById(Long userId) {
-        Optional<User> optionalUser = userRepository.findById(userId);
-        if (optionalUser.isEmpty()) {
-            return Optional.empty();
-        }
-        User user = optionalUser.get();
-
-        UserDto userDto = UserDto.userToUserDto(user);
-        return Optional.of(userDto);
+        return userRepository.findDtoById(userId);
     }
 }
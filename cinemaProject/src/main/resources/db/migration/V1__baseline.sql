@@ -0,0 +1,91 @@
+CREATE TABLE movie_rooms (
+    movie_room_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    movie_room_name VARCHAR(255) NOT NULL UNIQUE,
+    max_seats INTEGER NOT NULL
+);
+
+CREATE TABLE categories (
+    category_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    category_name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE roles (
+    role_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE users (
+    user_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE user_role (
+    user_id BIGINT NOT NULL REFERENCES users (user_id),
+    role_id BIGINT NOT NULL REFERENCES roles (role_id),
+    PRIMARY KEY (role_id, user_id)
+);
+
+CREATE TABLE movies (
+    movie_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(511) NOT NULL,
+    duration INTEGER NOT NULL,
+    poster_url VARCHAR(255) NOT NULL,
+    release_date DATE NOT NULL
+);
+
+CREATE TABLE movie_category (
+    movie_id BIGINT NOT NULL REFERENCES movies (movie_id),
+    category_id BIGINT NOT NULL REFERENCES categories (category_id),
+    PRIMARY KEY (category_id, movie_id)
+);
+
+CREATE TABLE screenings (
+    screening_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    movie_id BIGINT NOT NULL REFERENCES movies (movie_id),
+    room_id BIGINT NOT NULL REFERENCES movie_rooms (movie_room_id),
+    start TIMESTAMP(6) NOT NULL,
+    price FLOAT(53) NOT NULL
+);
+
+CREATE INDEX idx_screenings_start_movie ON screenings (start, movie_id);
+
+CREATE TABLE purchases (
+    purchase_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users (user_id),
+    screening_id BIGINT NOT NULL REFERENCES screenings (screening_id),
+    bought_seats INTEGER NOT NULL,
+    reservation_status ENUM('CANCELLED', 'EXPIRED', 'PAID', 'UNPAID') NOT NULL
+);
+
+CREATE INDEX idx_purchases_screening_status ON purchases (screening_id, reservation_status);
+
+CREATE TABLE opinions (
+    user_id BIGINT NOT NULL REFERENCES users (user_id),
+    movie_id BIGINT NOT NULL REFERENCES movies (movie_id),
+    rating FLOAT(53) NOT NULL,
+    comment VARCHAR(255) NOT NULL,
+    PRIMARY KEY (movie_id, user_id)
+);
+
+CREATE TABLE sales_rollups (
+    rollup_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    sales_day DATE NOT NULL,
+    dimension ENUM('CATEGORY', 'MOVIE', 'ROOM', 'TOTAL') NOT NULL,
+    dimension_id BIGINT NOT NULL,
+    revenue FLOAT(53) NOT NULL,
+    seats BIGINT NOT NULL,
+    screenings BIGINT NOT NULL,
+    UNIQUE (sales_day, dimension, dimension_id)
+);
+
+CREATE TABLE daily_sketches (
+    sketch_day DATE PRIMARY KEY,
+    unique_buyers BLOB NOT NULL,
+    movie_seats BLOB NOT NULL,
+    ticket_prices BLOB NOT NULL,
+    group_sizes BLOB NOT NULL
+);
@@ -0,0 +1,23 @@
+-- purchases: per-screening seat sums, per-user history and the PAID-only sales scans
+DROP INDEX idx_purchases_screening_status;
+CREATE INDEX idx_purchases_screening_status_seats ON purchases (screening_id, reservation_status, bought_seats);
+CREATE INDEX idx_purchases_user_status_screening ON purchases (user_id, reservation_status, screening_id);
+CREATE INDEX idx_purchases_status_screening ON purchases (reservation_status, screening_id, user_id, bought_seats);
+
+-- screenings: date-range scans, room conflict checks and per-movie lookups
+DROP INDEX idx_screenings_start_movie;
+CREATE INDEX idx_screenings_start_covering ON screenings (start, movie_id, room_id, price);
+CREATE INDEX idx_screenings_room_start ON screenings (room_id, start);
+CREATE INDEX idx_screenings_movie_start ON screenings (movie_id, start);
+
+-- opinions: the primary key leads with movie_id, so users need their own index
+CREATE INDEX idx_opinions_user_movie ON opinions (user_id, movie_id);
+CREATE INDEX idx_opinions_movie_rating ON opinions (movie_id, rating);
+
+-- join tables: primary keys only cover the category -> movie and role -> user direction
+CREATE INDEX idx_movie_category_movie ON movie_category (movie_id, category_id);
+CREATE INDEX idx_user_role_user ON user_role (user_id, role_id);
+
+CREATE INDEX idx_movies_release_date ON movies (release_date);
+CREATE INDEX idx_roles_name ON roles (name);
+CREATE INDEX idx_sales_rollups_dimension_day ON sales_rollups (dimension, dimension_id, sales_day);
@@ -0,0 +1,35 @@
+-- finished screenings and their purchases are moved here by ArchiveService;
+-- no foreign keys so that history outlives deleted movies, rooms and users
+CREATE TABLE screenings_archive (
+    screening_id BIGINT PRIMARY KEY,
+    movie_id BIGINT NOT NULL,
+    room_id BIGINT NOT NULL,
+    start TIMESTAMP(6) NOT NULL,
+    price FLOAT(53) NOT NULL,
+    archived_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_screenings_archive_start ON screenings_archive (start, movie_id, room_id, price);
+
+CREATE TABLE purchases_archive (
+    purchase_id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    screening_id BIGINT NOT NULL,
+    bought_seats INTEGER NOT NULL,
+    reservation_status ENUM('CANCELLED', 'EXPIRED', 'PAID', 'UNPAID') NOT NULL,
+    archived_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_purchases_archive_user ON purchases_archive (user_id, reservation_status, screening_id);
+CREATE INDEX idx_purchases_archive_status_screening ON purchases_archive (reservation_status, screening_id, user_id, bought_seats);
+
+-- full history, used when sales rollups are rebuilt
+CREATE VIEW all_screenings AS
+    SELECT screening_id, movie_id, room_id, start, price FROM screenings
+    UNION ALL
+    SELECT screening_id, movie_id, room_id, start, price FROM screenings_archive;
+
+CREATE VIEW all_purchases AS
+    SELECT purchase_id, user_id, screening_id, bought_seats, reservation_status FROM purchases
+    UNION ALL
+    SELECT purchase_id, user_id, screening_id, bought_seats, reservation_status FROM purchases_archive;
@@ -0,0 +1,39 @@
+package monaditto.cinemaproject;
+
+import monaditto.cinemaproject.jwt.JwtService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+
+/**
+ * Base class for tests that run against the full application on an in-memory database. The fixture in
+ * {@code fixtures/cinema.sql} is loaded once per test class and removed again afterwards, so every subclass shares
+ * one Spring context and starts from the same data.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql(scripts = "/fixtures/cinema.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(scripts = "/fixtures/cleanup.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS)
+public abstract class CinemaIntegrationTest {
+
+    protected static final Long ADMIN_ID = 1L;
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    protected MockHttpServletRequestBuilder asAdmin(MockHttpServletRequestBuilder request) {
+        String token = jwtService.issueAccessToken(ADMIN_ID, "admin@test.test", List.of("admin", "user"));
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+}
@@ -0,0 +1,35 @@
+package monaditto.cinemaproject;
+
+import monaditto.cinemaproject.crypto.PasswordHasher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class SecurityConfigTest extends CinemaIntegrationTest {
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void basicCredentialsDoNotAuthenticate() throws Exception {
+        jdbcTemplate.update("UPDATE users SET password = ? WHERE user_id = ?",
+                passwordHasher.hashPassword("secret"), ADMIN_ID);
+
+        String credentials = Base64.getEncoder().encodeToString("admin@test.test:secret".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(get("/api/movieRooms").header(HttpHeaders.AUTHORIZATION, "Basic " + credentials))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(asAdmin(get("/api/movieRooms")))
+                .andExpect(status().isOk());
+    }
+}
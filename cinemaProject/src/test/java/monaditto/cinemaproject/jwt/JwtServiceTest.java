@@ -0,0 +1,48 @@
+package monaditto.cinemaproject.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private static String secretOfLength(int bytes) {
+        return Base64.getEncoder().encodeToString(new byte[bytes]);
+    }
+
+    @Test
+    void missingSecretFailsStartup() {
+        assertThatThrownBy(() -> new JwtService("", 15, 7))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("JWT_SECRET");
+    }
+
+    @Test
+    void shortSecretFailsStartup() {
+        assertThatThrownBy(() -> new JwtService(secretOfLength(16), 15, 7))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("too short");
+    }
+
+    @Test
+    void malformedSecretFailsStartup() {
+        assertThatThrownBy(() -> new JwtService("not base64 at all!", 15, 7))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("base64");
+    }
+
+    @Test
+    void issuedTokensParseWithTheSameSecret() {
+        JwtService jwtService = new JwtService(secretOfLength(32), 15, 7);
+
+        String token = jwtService.issueAccessToken(7L, "user@test.test", List.of("user"));
+
+        assertThat(jwtService.parse(token, JwtService.TokenType.ACCESS))
+                .hasValueSatisfying(principal -> assertThat(principal.userId()).isEqualTo(7L));
+        assertThat(jwtService.parse(token, JwtService.TokenType.REFRESH)).isEmpty();
+    }
+}
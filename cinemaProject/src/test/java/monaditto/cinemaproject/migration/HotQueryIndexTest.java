@@ -0,0 +1,75 @@
+package monaditto.cinemaproject.migration;
+
+import monaditto.cinemaproject.CinemaIntegrationTest;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the hot queries the V2 indexes were added for are planned without a full table scan. The statements
+ * mirror the repository queries; H2's {@code EXPLAIN} names the index it picked for each table, or reports a
+ * {@code tableScan}. The test does not pin the index name, since H2 may prefer an equivalent one such as the index it
+ * creates for a foreign key.
+ */
+class HotQueryIndexTest extends CinemaIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                Arguments.of("paid seats of a screening",
+                        "SELECT COALESCE(SUM(p.bought_seats), 0) FROM purchases p "
+                                + "WHERE p.screening_id = 1 AND p.reservation_status = 'PAID'"),
+                Arguments.of("purchases of a user",
+                        "SELECT p.purchase_id FROM purchases p WHERE p.user_id = 2 AND p.reservation_status = 'PAID'"),
+                Arguments.of("purchases by status",
+                        "SELECT p.screening_id, p.user_id, p.bought_seats FROM purchases p "
+                                + "WHERE p.reservation_status = 'UNPAID'"),
+                Arguments.of("screenings in a date range",
+                        "SELECT s.movie_id, s.room_id, s.price FROM screenings s "
+                                + "WHERE s.start >= TIMESTAMP '2026-01-01 00:00:00' "
+                                + "AND s.start < TIMESTAMP '2026-02-01 00:00:00'"),
+                Arguments.of("room conflict check",
+                        "SELECT s.screening_id FROM screenings s WHERE s.room_id = 1 "
+                                + "AND s.start > TIMESTAMP '2026-01-01 00:00:00' "
+                                + "AND s.start < TIMESTAMP '2026-01-02 00:00:00'"),
+                Arguments.of("upcoming screenings of a movie",
+                        "SELECT s.screening_id FROM screenings s WHERE s.movie_id = 1 "
+                                + "AND s.start > TIMESTAMP '2026-01-01 00:00:00'"),
+                Arguments.of("opinions of a user",
+                        "SELECT o.movie_id, o.rating FROM opinions o WHERE o.user_id = 2"),
+                Arguments.of("average rating of a movie",
+                        "SELECT AVG(o.rating) FROM opinions o WHERE o.movie_id = 1"),
+                Arguments.of("categories of a movie",
+                        "SELECT mc.category_id FROM movie_category mc WHERE mc.movie_id = 1"),
+                Arguments.of("roles of a user",
+                        "SELECT ur.role_id FROM user_role ur WHERE ur.user_id = 1"),
+                Arguments.of("upcoming releases",
+                        "SELECT m.movie_id FROM movies m WHERE m.release_date > DATE '2026-01-01'"),
+                Arguments.of("role by name",
+                        "SELECT r.role_id FROM roles r WHERE r.name = 'admin'"),
+                Arguments.of("rollup days of a movie",
+                        "SELECT r.sales_day FROM sales_rollups r WHERE r.dimension = 'MOVIE' AND r.dimension_id = 1"),
+                Arguments.of("top earning movies",
+                        "SELECT s.movie_id, SUM(p.bought_seats * s.price) FROM screenings s "
+                                + "JOIN purchases p ON p.screening_id = s.screening_id "
+                                + "WHERE p.reservation_status = 'PAID' AND s.start > TIMESTAMP '2026-01-01 00:00:00' "
+                                + "GROUP BY s.movie_id")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQueryUsesAnIndex(String query, String sql) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+
+        assertThat(plan).as(query).doesNotContain("tableScan");
+    }
+}
@@ -0,0 +1,88 @@
+package monaditto.cinemaproject.moviedbapi;
+
+import monaditto.cinemaproject.category.CategoryDto;
+import monaditto.cinemaproject.movie.CreateMovieStatus;
+import monaditto.cinemaproject.movie.MovieDto;
+import monaditto.cinemaproject.movie.MovieService;
+import monaditto.cinemaproject.movie.MovieWithCategoriesDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class MovieImportServiceTest {
+
+    private static final List<APIQuery> QUERIES = List.of(new APIQuery("Drive", 2011));
+
+    private final MovieAPIService movieAPIService = mock(MovieAPIService.class);
+
+    private final MovieService movieService = mock(MovieService.class);
+
+    @Test
+    void finishedJobsAreKeptDuringTheRetentionWindow() {
+        when(movieAPIService.fetchMovies(any(), any())).thenReturn(List.of());
+        MovieImportService movieImportService = new MovieImportService(movieAPIService, movieService, 60);
+
+        movieImportService.importMovies(QUERIES);
+
+        assertThat(movieImportService.getJob(1L))
+                .hasValueSatisfying(job -> assertThat(job.status()).isEqualTo(MovieImportStatus.COMPLETED));
+    }
+
+    @Test
+    void finishedJobsExpireAfterTheRetentionWindow() {
+        when(movieAPIService.fetchMovies(any(), any())).thenReturn(List.of());
+        MovieImportService movieImportService = new MovieImportService(movieAPIService, movieService, 0);
+
+        movieImportService.importMovies(QUERIES);
+        movieImportService.importMovies(QUERIES);
+
+        assertThat(movieImportService.getJob(1L)).isEmpty();
+        assertThat(movieImportService.getJob(2L)).isEmpty();
+    }
+
+    @Test
+    void runningJobsNeverExpire() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(movieAPIService.fetchMovies(any(), any())).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+        MovieImportService movieImportService = new MovieImportService(movieAPIService, movieService, 0);
+        try {
+            Long jobId = movieImportService.startImport(QUERIES).id();
+
+            assertThat(movieImportService.getJob(jobId)).isPresent();
+        } finally {
+            release.countDown();
+            movieImportService.shutdown();
+        }
+    }
+
+    @Test
+    void fetchedMoviesAreStoredWithoutCallingTheApiAgain() {
+        MovieDto drive = new MovieDto("Drive", "A driver", 100, "http://posters/drive.jpg", LocalDate.of(2011, 9, 16));
+        MovieDto alien = new MovieDto("Alien", "A ship", 117, "http://posters/alien.jpg", LocalDate.of(1979, 5, 25));
+        MovieWithCategoriesDto fetchedDrive = new MovieWithCategoriesDto(drive, List.of(new CategoryDto(null, "Drama")));
+        MovieWithCategoriesDto fetchedAlien = new MovieWithCategoriesDto(alien, List.of());
+        when(movieService.createMovieByNames(eq(drive), anyList())).thenReturn(CreateMovieStatus.SUCCESS);
+        when(movieService.createMovieByNames(eq(alien), anyList())).thenReturn(CreateMovieStatus.INVALID_URL);
+        MovieImportService movieImportService = new MovieImportService(movieAPIService, movieService, 60);
+
+        List<MovieWithCategoriesDto> imported = movieImportService.importFetchedMovies(
+                Arrays.asList(fetchedDrive, null, fetchedAlien));
+
+        assertThat(imported).containsExactly(fetchedDrive);
+        verifyNoInteractions(movieAPIService);
+    }
+}
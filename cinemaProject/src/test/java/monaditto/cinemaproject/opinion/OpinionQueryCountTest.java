@@ -0,0 +1,27 @@
+package monaditto.cinemaproject.opinion;
+
+import monaditto.cinemaproject.CinemaIntegrationTest;
+import org.junit.jupiter.api.Test;
+
+import static monaditto.cinemaproject.querystats.QueryCountAssertions.assertMaxQueries;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class OpinionQueryCountTest extends CinemaIntegrationTest {
+
+    @Test
+    void listingOpinionsRunsOneStatement() throws Throwable {
+        assertMaxQueries(1, () -> mockMvc.perform(asAdmin(get("/api/opinions")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(12))));
+    }
+
+    @Test
+    void listingOpinionsOfAMovieRunsOneStatement() throws Throwable {
+        assertMaxQueries(1, () -> mockMvc.perform(asAdmin(get("/api/opinions/movie/3")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3))));
+    }
+}
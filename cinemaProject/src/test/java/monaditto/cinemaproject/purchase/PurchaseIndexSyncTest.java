@@ -0,0 +1,92 @@
+package monaditto.cinemaproject.purchase;
+
+import monaditto.cinemaproject.CinemaIntegrationTest;
+import monaditto.cinemaproject.similarity.SimilarMoviesIndex;
+import monaditto.cinemaproject.user.UserRepository;
+import monaditto.cinemaproject.user.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class PurchaseIndexSyncTest extends CinemaIntegrationTest {
+
+    @Autowired
+    private PurchaseService purchaseService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoSpyBean
+    private SimilarMoviesIndex similarMoviesIndex;
+
+    @Test
+    void deletingAScreeningKeepsPurchasersWithAnotherPaidScreening() {
+        Long purchaseId = purchaseService.create(new PurchaseDto(3L, 8L, 1)).getId();
+        purchaseService.confirmPayment(purchaseId);
+        clearInvocations(similarMoviesIndex);
+
+        purchaseService.deletePurchasesOfScreening(3L);
+
+        verify(similarMoviesIndex).removePurchaser(3L, 2L);
+        verify(similarMoviesIndex, never()).removePurchaser(3L, 3L);
+    }
+
+    @Test
+    void deletingAUserRemovesOnlyTheirMoviePurchasers() {
+        clearInvocations(similarMoviesIndex);
+
+        userService.deleteUser(userRepository.findById(4L).orElseThrow());
+
+        verify(similarMoviesIndex).removePurchaser(2L, 4L);
+        verify(similarMoviesIndex).removePurchaser(4L, 4L);
+        verify(similarMoviesIndex, never()).removePurchaser(anyLong(), eq(2L));
+        verify(similarMoviesIndex, never()).removePurchaser(anyLong(), eq(3L));
+        verify(similarMoviesIndex, never()).removePurchaser(anyLong(), eq(5L));
+    }
+
+    @Test
+    void cancellingKeepsPurchasersWithAnArchivedPaidPurchase() {
+        jdbcTemplate.update("INSERT INTO screenings_archive (screening_id, movie_id, room_id, start, price, archived_at) " +
+                "VALUES (90, 2, 2, DATEADD('DAY', -400, LOCALTIMESTAMP), 25.0, LOCALTIMESTAMP)");
+        jdbcTemplate.update("INSERT INTO purchases_archive (purchase_id, user_id, screening_id, bought_seats, " +
+                "reservation_status, archived_at) VALUES (90, 2, 90, 1, 'PAID', LOCALTIMESTAMP)");
+        Long purchaseId = purchaseService.create(new PurchaseDto(2L, 7L, 1)).getId();
+        purchaseService.confirmPayment(purchaseId);
+        clearInvocations(similarMoviesIndex);
+
+        purchaseService.cancelPurchase(purchaseId);
+
+        verify(similarMoviesIndex, never()).removePurchaser(2L, 2L);
+    }
+
+    @Test
+    void rolledBackPaymentsDoNotReachTheIndex() {
+        clearInvocations(similarMoviesIndex);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Long purchaseId = purchaseService.create(new PurchaseDto(5L, 6L, 1)).getId();
+            purchaseService.confirmPayment(purchaseId);
+            status.setRollbackOnly();
+        });
+
+        verify(similarMoviesIndex, never()).addPurchaser(anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,27 @@
+package monaditto.cinemaproject.purchase;
+
+import monaditto.cinemaproject.CinemaIntegrationTest;
+import monaditto.cinemaproject.querystats.QueryCountAssertions.QueryCount;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static monaditto.cinemaproject.querystats.QueryCountAssertions.countQueries;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class PurchaseQueryCountTest extends CinemaIntegrationTest {
+
+    @Test
+    void creatingAPurchaseDoesNotLoadTheMovie() throws Throwable {
+        QueryCount count = countQueries(() -> mockMvc.perform(asAdmin(post("/api/purchases"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\": 2, \"screeningId\": 8, \"boughtSeats\": 2}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.movieTitle").value("The Matrix"))
+                .andExpect(jsonPath("$.userName").value("Anna Kowalska")));
+
+        assertThat(count.shapes().keySet()).noneMatch(shape -> shape.contains(" from movies "));
+    }
+}
@@ -0,0 +1,78 @@
+package monaditto.cinemaproject.purchase;
+
+import monaditto.cinemaproject.CinemaIntegrationTest;
+import monaditto.cinemaproject.screening.ScreeningRepository;
+import monaditto.cinemaproject.statistics.CohortRetentionDto;
+import monaditto.cinemaproject.statistics.CohortService;
+import monaditto.cinemaproject.statistics.DailySketchRepository;
+import monaditto.cinemaproject.statistics.SalesRollupRepository;
+import monaditto.cinemaproject.statistics.SalesRollupService;
+import monaditto.cinemaproject.statistics.SketchAnalyticsService;
+import monaditto.cinemaproject.trending.RankedItem;
+import monaditto.cinemaproject.trending.TrendingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PurchasesDeletedListenersTest extends CinemaIntegrationTest {
+
+    private static final Long ROOM_ID = 1L;
+
+    private static final Long SCREENING_IN_ROOM_ID = 5L;
+
+    private static final Long MOVIE_IN_ROOM_ID = 5L;
+
+    @Autowired
+    private PurchaseService purchaseService;
+
+    @Autowired
+    private CohortService cohortService;
+
+    @Autowired
+    private SketchAnalyticsService sketchAnalyticsService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private DailySketchRepository dailySketchRepository;
+
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    @Test
+    void deletingARoomDropsItsSalesFromDerivedStores() {
+        // The stores load on startup, before the fixture exists.
+        cohortService.loadActiveUsers();
+        sketchAnalyticsService.backfillOnStartup();
+        trendingService.seedFromPaidPurchases();
+        salesRollupService.backfill();
+        LocalDate day = screeningRepository.findById(SCREENING_IN_ROOM_ID).orElseThrow().getStart().toLocalDate();
+
+        assertThat(salesRollupRepository.sumRevenueBetween(day, day)).isEqualTo(30.0);
+        assertThat(cohortSizes()).isEqualTo(4);
+        assertThat(sketchAnalyticsService.getUniqueBuyers(day, day)).isEqualTo(1);
+        assertThat(trendingService.getTrendingMovies(10)).extracting(RankedItem::id).contains(MOVIE_IN_ROOM_ID);
+
+        purchaseService.deletePurchasesOfRoom(ROOM_ID);
+
+        assertThat(salesRollupRepository.sumRevenueBetween(day, day)).isZero();
+        assertThat(cohortSizes()).isEqualTo(2);
+        assertThat(sketchAnalyticsService.getUniqueBuyers(day, day)).isZero();
+        assertThat(dailySketchRepository.findById(day)).isEmpty();
+        assertThat(trendingService.getTrendingMovies(10)).extracting(RankedItem::id).doesNotContain(MOVIE_IN_ROOM_ID);
+    }
+
+    private int cohortSizes() {
+        return cohortService.getRetention(3, 0).stream().mapToInt(CohortRetentionDto::size).sum();
+    }
+}
@@ -0,0 +1,43 @@
+package monaditto.cinemaproject.querystats;
+
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Counts the JDBC statements an action executes on the calling thread, using the same {@link QueryRecorder} that
+ * backs {@code /api/query-stats}. Statements issued on other threads are only counted when they go through an
+ * executor wrapped with {@link QueryRecorder#propagating}.
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public record QueryCount(int statements, long rows, Map<String, Integer> shapes) {
+    }
+
+    public static QueryCount countQueries(Executable action) throws Throwable {
+        QueryRecorder recorder = QueryRecorder.start();
+        try {
+            action.execute();
+        } finally {
+            recorder.stop();
+        }
+        return new QueryCount(recorder.statements(), recorder.rows(), recorder.shapes());
+    }
+
+    public static QueryCount assertMaxQueries(int max, Executable action) throws Throwable {
+        QueryCount count = countQueries(action);
+        if (count.statements() > max) {
+            String shapes = count.shapes().entrySet().stream()
+                    .map(shape -> "  " + shape.getValue() + "x " + shape.getKey())
+                    .collect(Collectors.joining("\n"));
+            fail("Expected at most " + max + " statements but " + count.statements() + " were executed:\n" + shapes);
+        }
+        return count;
+    }
+}
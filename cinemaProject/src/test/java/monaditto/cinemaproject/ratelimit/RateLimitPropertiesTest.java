@@ -0,0 +1,40 @@
+package monaditto.cinemaproject.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitPropertiesTest {
+
+    @Test
+    void nonPositiveRefillRateIsRejected() {
+        assertThatThrownBy(() -> new RateLimitProperties.Rule("POST", "/api/auth/login", 10, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("refill-per-second");
+        assertThatThrownBy(() -> new RateLimitProperties.Rule("POST", "/api/auth/login", 10, Double.NaN))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void emptyBucketIsRejected() {
+        assertThatThrownBy(() -> new RateLimitProperties.Rule("POST", "/api/purchases", 0, 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("capacity");
+    }
+
+    @Test
+    void zeroIdleTimeoutIsRejected() {
+        assertThatThrownBy(() -> new RateLimitProperties(true, Duration.ZERO, List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void configuredRulesAreValid() {
+        assertThatCode(() -> new RateLimitProperties(true, Duration.ofMinutes(10), List.of(
+                new RateLimitProperties.Rule("POST", "/api/auth/login", 10, 0.5)))).doesNotThrowAnyException();
+    }
+}
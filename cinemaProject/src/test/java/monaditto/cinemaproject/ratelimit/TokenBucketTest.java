@@ -0,0 +1,71 @@
+package monaditto.cinemaproject.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private static final long START = 42 * SECOND;
+
+    @Test
+    void fullBucketAllowsABurstOfCapacity() {
+        TokenBucket bucket = new TokenBucket(5, 1, START);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryConsume(START)).isZero();
+        }
+        assertThat(bucket.tryConsume(START)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void tokensRefillAtTheConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(2, 4, START);
+        bucket.tryConsume(START);
+        bucket.tryConsume(START);
+
+        assertThat(bucket.tryConsume(START + SECOND / 8)).isEqualTo(SECOND / 8);
+        assertThat(bucket.tryConsume(START + SECOND / 4)).isZero();
+        assertThat(bucket.tryConsume(START + SECOND / 4)).isEqualTo(SECOND / 4);
+    }
+
+    @Test
+    void idleTimeDoesNotRefillBeyondCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1, START);
+
+        long later = START + 3600 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryConsume(later)).isZero();
+        }
+        assertThat(bucket.tryConsume(later)).isPositive();
+    }
+
+    @Test
+    void slowRefillRatesReportTheFullWait() {
+        TokenBucket bucket = new TokenBucket(1, 0.5, START);
+        bucket.tryConsume(START);
+
+        long wait = bucket.tryConsume(START + SECOND / 2);
+
+        assertThat(wait).isEqualTo(3 * SECOND / 2);
+        assertThat(RateLimitFilter.retryAfterSeconds(wait)).isEqualTo(2);
+    }
+
+    @Test
+    void retryAfterRoundsUpToWholeSeconds() {
+        assertThat(RateLimitFilter.retryAfterSeconds(1)).isEqualTo(1);
+        assertThat(RateLimitFilter.retryAfterSeconds(SECOND)).isEqualTo(1);
+        assertThat(RateLimitFilter.retryAfterSeconds(SECOND + 1)).isEqualTo(2);
+    }
+
+    @Test
+    void bucketIsIdleOnceItHasBeenFullForTheIdleTimeout() {
+        TokenBucket bucket = new TokenBucket(2, 1, START);
+        bucket.tryConsume(START);
+
+        assertThat(bucket.isIdleSince(START + 5 * SECOND, 10 * SECOND)).isFalse();
+        assertThat(bucket.isIdleSince(START + 12 * SECOND, 10 * SECOND)).isTrue();
+    }
+}
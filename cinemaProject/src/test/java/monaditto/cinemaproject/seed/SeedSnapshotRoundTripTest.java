@@ -0,0 +1,40 @@
+package monaditto.cinemaproject.seed;
+
+import monaditto.cinemaproject.CinemaIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeedSnapshotRoundTripTest extends CinemaIntegrationTest {
+
+    @Autowired
+    private SeedSnapshotExporter seedSnapshotExporter;
+
+    @Autowired
+    private SeedSnapshotLoader seedSnapshotLoader;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void purchasesSurviveAnExportAndReload() {
+        LocalDateTime createdAt = LocalDateTime.now();
+        SeedSnapshot exported = seedSnapshotExporter.snapshot(createdAt);
+        assertThat(exported.purchases()).hasSize(11);
+        assertThat(exported.purchases()).filteredOn(purchase -> "PAID".equals(purchase.reservationStatus())).hasSize(8);
+
+        new ResourceDatabasePopulator(new ClassPathResource("fixtures/cleanup.sql")).execute(dataSource);
+        seedSnapshotLoader.load(exported);
+
+        SeedSnapshot reloaded = seedSnapshotExporter.snapshot(createdAt);
+        assertThat(reloaded.purchases()).isEqualTo(exported.purchases());
+        assertThat(reloaded.screenings()).hasSameSizeAs(exported.screenings());
+        assertThat(reloaded.opinions()).hasSameSizeAs(exported.opinions());
+    }
+}
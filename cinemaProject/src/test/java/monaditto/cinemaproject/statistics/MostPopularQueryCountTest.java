@@ -0,0 +1,46 @@
+package monaditto.cinemaproject.statistics;
+
+import monaditto.cinemaproject.CinemaIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static monaditto.cinemaproject.querystats.QueryCountAssertions.assertMaxQueries;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MostPopularQueryCountTest extends CinemaIntegrationTest {
+
+    @Autowired
+    private StatisticsCache statisticsCache;
+
+    @BeforeEach
+    void clearCache() {
+        statisticsCache.invalidateAll();
+    }
+
+    @Test
+    void mostPopularMovieRunsOneGroupedStatement() throws Throwable {
+        assertMaxQueries(1, () -> mockMvc.perform(asAdmin(get("/api/statistics/most-popular-movie/MONTH")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("The Matrix")))
+                .andExpect(jsonPath("$.earnings", closeTo(180.0, 0.001))));
+    }
+
+    @Test
+    void mostPopularCategoryRunsOneGroupedStatement() throws Throwable {
+        assertMaxQueries(1, () -> mockMvc.perform(asAdmin(get("/api/statistics/most-popular-category/MONTH")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categoryName", is("Action"))));
+    }
+
+    @Test
+    void mostPopularMovieOfTheLastWeekRunsOneStatement() throws Throwable {
+        assertMaxQueries(1, () -> mockMvc.perform(asAdmin(get("/api/statistics/most-popular-movie/WEEK")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Up"))));
+    }
+}
@@ -0,0 +1,72 @@
+package monaditto.cinemaproject.statistics;
+
+import monaditto.cinemaproject.CinemaIntegrationTest;
+import monaditto.cinemaproject.purchase.PurchaseStatusChangedEvent;
+import monaditto.cinemaproject.purchase.ReservationStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SalesRollupServiceTest extends CinemaIntegrationTest {
+
+    private static final int THREADS = 8;
+
+    private static final int EVENTS_PER_THREAD = 25;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+
+    @Test
+    void concurrentPaymentsForTheSameDayAreAllCounted() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2099, 1, 1, 18, 0);
+        PurchaseStatusChangedEvent event = new PurchaseStatusChangedEvent(10L, 3L, 6L, 1L, 1L, start, 20.0, 2,
+                ReservationStatus.UNPAID, ReservationStatus.PAID, LocalDateTime.now());
+
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    ready.await();
+                    for (int j = 0; j < EVENTS_PER_THREAD; j++) {
+                        salesRollupService.onPurchaseStatusChanged(event);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        int events = THREADS * EVENTS_PER_THREAD;
+        LocalDate day = start.toLocalDate();
+        List<SalesRollup> rollups = salesRollupRepository.findAll().stream()
+                .filter(rollup -> rollup.getDay().equals(day) && rollup.getDimension() != RollupDimension.CATEGORY)
+                .toList();
+        assertThat(rollups).extracting(SalesRollup::getDimension)
+                .containsExactlyInAnyOrder(RollupDimension.TOTAL, RollupDimension.MOVIE, RollupDimension.ROOM);
+        for (SalesRollup rollup : rollups) {
+            assertThat(rollup.getSeats()).as(rollup.getDimension().name()).isEqualTo(2L * events);
+            assertThat(rollup.getRevenue()).as(rollup.getDimension().name()).isEqualTo(40.0 * events);
+        }
+        assertThat(salesRollupRepository.findDaysByDimension(RollupDimension.CATEGORY, 1L)).contains(day);
+    }
+}
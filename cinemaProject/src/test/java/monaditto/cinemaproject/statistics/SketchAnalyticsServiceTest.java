@@ -0,0 +1,48 @@
+package monaditto.cinemaproject.statistics;
+
+import monaditto.cinemaproject.CinemaIntegrationTest;
+import monaditto.cinemaproject.purchase.PurchaseDto;
+import monaditto.cinemaproject.purchase.PurchaseService;
+import monaditto.cinemaproject.screening.ScreeningRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SketchAnalyticsServiceTest extends CinemaIntegrationTest {
+
+    private static final Long UNPAID_PURCHASE_ID = 10L;
+
+    private static final Long SCREENING_ID = 6L;
+
+    private static final Long MOVIE_ID = 1L;
+
+    @Autowired
+    private PurchaseService purchaseService;
+
+    @Autowired
+    private SketchAnalyticsService sketchAnalyticsService;
+
+    @Autowired
+    private DailySketchRepository dailySketchRepository;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    @Test
+    void paidPurchasesArePersistedInTheDailySketch() {
+        LocalDate day = screeningRepository.findById(SCREENING_ID).orElseThrow().getStart().toLocalDate();
+        assertThat(dailySketchRepository.findById(day)).isEmpty();
+
+        purchaseService.confirmPayment(UNPAID_PURCHASE_ID);
+        Long purchaseId = purchaseService.create(new PurchaseDto(5L, SCREENING_ID, 3)).getId();
+        purchaseService.confirmPayment(purchaseId);
+
+        SalesSketches stored = dailySketchRepository.findById(day).orElseThrow().toSketches();
+        assertThat(stored.uniqueBuyers().estimate()).isEqualTo(2);
+        assertThat(stored.movieSeats().estimate(MOVIE_ID)).isEqualTo(4);
+        assertThat(sketchAnalyticsService.getUniqueBuyers(day, day)).isEqualTo(2);
+    }
+}
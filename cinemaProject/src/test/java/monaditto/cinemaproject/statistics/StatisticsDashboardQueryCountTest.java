@@ -0,0 +1,50 @@
+package monaditto.cinemaproject.statistics;
+
+import monaditto.cinemaproject.CinemaIntegrationTest;
+import monaditto.cinemaproject.querystats.QueryCountAssertions.QueryCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static monaditto.cinemaproject.querystats.QueryCountAssertions.assertMaxQueries;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class StatisticsDashboardQueryCountTest extends CinemaIntegrationTest {
+
+    @Autowired
+    private StatisticsDashboardService statisticsDashboardService;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private StatisticsCache statisticsCache;
+
+    @BeforeEach
+    void rebuildRollups() {
+        salesRollupService.backfill();
+        statisticsCache.invalidateAll();
+    }
+
+    @Test
+    void dashboardReadsAllCalendarPeriodsWithOneRollupQuery() throws Throwable {
+        StatisticsDashboardDto[] dashboard = new StatisticsDashboardDto[1];
+
+        // one rollup query plus a most popular movie and category query per rolling period
+        QueryCount count = assertMaxQueries(7, () -> dashboard[0] = statisticsDashboardService.getDashboard());
+
+        assertThat(count.statements()).isEqualTo(7);
+        assertThat(count.shapes().keySet()).filteredOn(shape -> shape.contains("sales_rollups")).hasSize(1);
+        double revenue = dashboard[0].revenue().get(PeriodType.THIS_YEAR)
+                + dashboard[0].revenue().get(PeriodType.LAST_YEAR);
+        assertThat(revenue).isCloseTo(390.0, within(0.001));
+    }
+
+    @Test
+    void cachedDashboardRunsNoQueries() throws Throwable {
+        statisticsDashboardService.getDashboard();
+
+        assertMaxQueries(0, statisticsDashboardService::getDashboard);
+    }
+}
@@ -0,0 +1,46 @@
+package monaditto.cinemaproject.user;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserDetailsCacheTest {
+
+    private static final String EMAIL = "anna@test.test";
+
+    private final UserDetailsCache cache = new UserDetailsCache(10, 5);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private CustomUserDetails load(String password) {
+        loads.incrementAndGet();
+        return new CustomUserDetails(2L, EMAIL, password, List.of());
+    }
+
+    @Test
+    void cachedEntryIsReusedUntilEvicted() {
+        cache.get(EMAIL, () -> load("old"));
+        assertThat(cache.get(EMAIL, () -> load("new")).getPassword()).isEqualTo("old");
+
+        cache.evictUser(2L);
+
+        assertThat(cache.get(EMAIL, () -> load("new")).getPassword()).isEqualTo("new");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void loadRacingAnEvictionIsNotCached() {
+        CustomUserDetails stale = cache.get(EMAIL, () -> {
+            CustomUserDetails userDetails = load("old");
+            cache.onUserChanged(new UserChangedEvent(2L));
+            return userDetails;
+        });
+        assertThat(stale.getPassword()).isEqualTo("old");
+
+        assertThat(cache.get(EMAIL, () -> load("new")).getPassword()).isEqualTo("new");
+        assertThat(loads).hasValue(2);
+    }
+}
@@ -0,0 +1,70 @@
+INSERT INTO movie_rooms (movie_room_id, movie_room_name, max_seats) VALUES
+    (1, 'ROOM 1', 50),
+    (2, 'ROOM 2', 20);
+
+INSERT INTO categories (category_id, category_name) VALUES
+    (1, 'Action'),
+    (2, 'Drama'),
+    (3, 'Comedy');
+
+INSERT INTO roles (role_id, name) VALUES
+    (1, 'admin'),
+    (2, 'user');
+
+INSERT INTO users (user_id, email, first_name, last_name, password) VALUES
+    (1, 'admin@test.test', 'Admin', 'Admin', 'x'),
+    (2, 'anna@test.test', 'Anna', 'Kowalska', 'x'),
+    (3, 'piotr@test.test', 'Piotr', 'Nowak', 'x'),
+    (4, 'ewa@test.test', 'Ewa', 'Mazur', 'x'),
+    (5, 'marta@test.test', 'Marta', 'Pawlak', 'x');
+
+INSERT INTO user_role (user_id, role_id) VALUES
+    (1, 1), (1, 2), (2, 2), (3, 2), (4, 2), (5, 2);
+
+INSERT INTO movies (movie_id, title, description, duration, poster_url, release_date) VALUES
+    (1, 'Blade Runner 2049', 'A young blade runner uncovers a secret.', 152, 'http://posters/1.jpg', DATE '2017-10-06'),
+    (2, 'Drive', 'A stunt driver moonlights as a getaway driver.', 100, 'http://posters/2.jpg', DATE '2011-09-16'),
+    (3, 'The Matrix', 'A hacker learns the truth about his reality.', 136, 'http://posters/3.jpg', DATE '1999-03-31'),
+    (4, 'La La Land', 'A jazz pianist falls for an aspiring actress.', 128, 'http://posters/4.jpg', DATE '2016-12-09'),
+    (5, 'Up', 'An old man flies his house to South America.', 96, 'http://posters/5.jpg', DATE '2009-05-29');
+
+INSERT INTO movie_category (movie_id, category_id) VALUES
+    (1, 1), (1, 2), (2, 1), (2, 2), (3, 1), (4, 2), (4, 3), (5, 3);
+
+INSERT INTO screenings (screening_id, movie_id, room_id, start, price) VALUES
+    (1, 1, 1, DATEADD('DAY', -20, LOCALTIMESTAMP), 20.0),
+    (2, 2, 2, DATEADD('DAY', -15, LOCALTIMESTAMP), 25.0),
+    (3, 3, 1, DATEADD('DAY', -10, LOCALTIMESTAMP), 30.0),
+    (4, 4, 2, DATEADD('DAY', -5, LOCALTIMESTAMP), 20.0),
+    (5, 5, 1, DATEADD('DAY', -2, LOCALTIMESTAMP), 15.0),
+    (6, 1, 1, DATEADD('DAY', 2, LOCALTIMESTAMP), 20.0),
+    (7, 2, 2, DATEADD('DAY', 3, LOCALTIMESTAMP), 25.0),
+    (8, 3, 1, DATEADD('DAY', 4, LOCALTIMESTAMP), 30.0);
+
+INSERT INTO purchases (purchase_id, user_id, screening_id, bought_seats, reservation_status) VALUES
+    (1, 2, 1, 2, 'PAID'),
+    (2, 3, 1, 1, 'PAID'),
+    (3, 4, 2, 3, 'PAID'),
+    (4, 5, 2, 1, 'PAID'),
+    (5, 2, 3, 4, 'PAID'),
+    (6, 3, 3, 2, 'PAID'),
+    (7, 4, 4, 1, 'PAID'),
+    (8, 5, 5, 2, 'PAID'),
+    (9, 2, 5, 1, 'CANCELLED'),
+    (10, 3, 6, 1, 'UNPAID'),
+    (11, 4, 7, 2, 'UNPAID');
+
+INSERT INTO opinions (user_id, movie_id, rating, comment) VALUES
+    (2, 1, 9.0, 'Great'), (3, 1, 8.0, 'Good'), (4, 1, 7.5, 'Fine'),
+    (2, 2, 8.5, 'Great'), (5, 2, 6.0, 'Fine'),
+    (3, 3, 9.5, 'Great'), (4, 3, 9.0, 'Great'), (5, 3, 8.0, 'Good'),
+    (2, 4, 7.0, 'Fine'), (4, 4, 6.5, 'Fine'),
+    (3, 5, 8.0, 'Good'), (5, 5, 9.0, 'Great');
+
+ALTER TABLE movie_rooms ALTER COLUMN movie_room_id RESTART WITH 100;
+ALTER TABLE categories ALTER COLUMN category_id RESTART WITH 100;
+ALTER TABLE roles ALTER COLUMN role_id RESTART WITH 100;
+ALTER TABLE users ALTER COLUMN user_id RESTART WITH 100;
+ALTER TABLE movies ALTER COLUMN movie_id RESTART WITH 100;
+ALTER TABLE screenings ALTER COLUMN screening_id RESTART WITH 100;
+ALTER TABLE purchases ALTER COLUMN purchase_id RESTART WITH 100;
@@ -0,0 +1,14 @@
+DELETE FROM purchases;
+DELETE FROM purchases_archive;
+DELETE FROM screenings_archive;
+DELETE FROM opinions;
+DELETE FROM screenings;
+DELETE FROM movie_category;
+DELETE FROM movies;
+DELETE FROM user_role;
+DELETE FROM users;
+DELETE FROM roles;
+DELETE FROM categories;
+DELETE FROM movie_rooms;
+DELETE FROM sales_rollups;
+DELETE FROM daily_sketches;